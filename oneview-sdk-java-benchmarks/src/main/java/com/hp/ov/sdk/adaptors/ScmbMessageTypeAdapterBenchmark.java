@@ -0,0 +1,58 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.adaptors;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hp.ov.sdk.benchmarks.Payloads;
+import com.hp.ov.sdk.messaging.scmb.ScmbMessage;
+import com.hp.ov.sdk.util.ObjectToJsonConverter;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ScmbMessageTypeAdapterBenchmark {
+
+    private ObjectToJsonConverter converter;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        this.converter = ObjectToJsonConverter.getInstance();
+        this.message = Payloads.scmbMessage(1);
+    }
+
+    @Benchmark
+    public ScmbMessage deserialize() {
+        return this.converter.jsonToResource(this.message, ScmbMessage.class);
+    }
+
+}
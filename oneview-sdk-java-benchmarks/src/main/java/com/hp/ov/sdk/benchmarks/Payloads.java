@@ -0,0 +1,125 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import com.hp.ov.sdk.dto.RefreshState;
+import com.hp.ov.sdk.dto.ResourceCollection;
+import com.hp.ov.sdk.dto.servers.serverhardware.PhysicalServerPowerState;
+import com.hp.ov.sdk.dto.servers.serverhardware.ServerHardware;
+import com.hp.ov.sdk.messaging.core.ChangeType;
+import com.hp.ov.sdk.rest.http.core.client.ApiVersion;
+import com.hp.ov.sdk.util.ObjectToJsonConverter;
+
+/**
+ * Builds the payloads used by the benchmarks. They mimic the shape and size of the
+ * responses of an appliance, so the suites can run without one.
+ */
+public final class Payloads {
+
+    public static final int API_VERSION = ApiVersion.V_300.getValue();
+    public static final String DATE = "2016-11-08T14:36:12.345Z";
+
+    private static final ObjectToJsonConverter CONVERTER = ObjectToJsonConverter.getInstance();
+
+    private Payloads() { }
+
+    public static ServerHardware serverHardware(int index) {
+        ServerHardware serverHardware = new ServerHardware();
+        String id = String.format("30373237-3132-4D32-3235-3033%08d", index);
+
+        serverHardware.setUri("/rest/server-hardware/" + id);
+        serverHardware.setType("server-hardware-5");
+        serverHardware.setCategory("server-hardware");
+        serverHardware.setName("Encl" + (index / 16) + ", bay " + (index % 16 + 1));
+        serverHardware.setETag(String.valueOf(1478000000000L + index));
+        serverHardware.setCreated(new Date(1478000000000L));
+        serverHardware.setModified(new Date(1478600000000L + index));
+        serverHardware.setState("Monitored");
+        serverHardware.setStatus("OK");
+        serverHardware.setUuid(id);
+        serverHardware.setVirtualUuid(id);
+        serverHardware.setSerialNumber("2M2" + index);
+        serverHardware.setVirtualSerialNumber("VCGVU" + index);
+        serverHardware.setModel("ProLiant BL460c Gen9");
+        serverHardware.setShortModel("BL460c Gen9");
+        serverHardware.setFormFactor("HalfHeight");
+        serverHardware.setPartNumber("727021-B21");
+        serverHardware.setAssetTag("[Unknown]");
+        serverHardware.setMpModel("iLO4");
+        serverHardware.setMpFirmwareVersion("2.40 Dec 02 2015");
+        serverHardware.setMpDnsName("ILO2M2" + index);
+        serverHardware.setMpIpAddress("172.18.6." + (index % 250));
+        serverHardware.setRomVersion("I36 12/28/2015");
+        serverHardware.setIntelligentProvisioningVersion("2.30.32");
+        serverHardware.setMemoryMb(262144);
+        serverHardware.setProcessorCount(2);
+        serverHardware.setProcessorCoreCount(14);
+        serverHardware.setProcessorSpeedMhz(2300);
+        serverHardware.setProcessorType("Intel(R) Xeon(R) CPU E5-2695 v3 @ 2.30GHz");
+        serverHardware.setPosition(index % 16 + 1);
+        serverHardware.setPowerLock(false);
+        serverHardware.setPowerState(PhysicalServerPowerState.On);
+        serverHardware.setRefreshState(RefreshState.NotRefreshing);
+        serverHardware.setLocationUri("/rest/enclosures/09SGH10" + (index / 16));
+        serverHardware.setServerGroupUri("/rest/enclosure-groups/b7c8d1f2-1d6b-4b2e-9c3c-" + (index / 16));
+        serverHardware.setServerHardwareTypeUri("/rest/server-hardware-types/AC3D2E81-DF59-4FB9-8C4E-0C4D0E2B1A52");
+        serverHardware.setServerFirmwareInventoryUri("/rest/server-hardware/" + id + "/firmware");
+        serverHardware.setRemoteSupportUri("/rest/support/server-hardware/" + id);
+        serverHardware.setScopeUris(Arrays.asList("/rest/scopes/74877630-9a22-4061-9db4-d12b6c4cfee0"));
+
+        return serverHardware;
+    }
+
+    public static ResourceCollection<ServerHardware> serverHardwareCollection(int count) {
+        ResourceCollection<ServerHardware> collection = new ResourceCollection<>();
+        List<ServerHardware> members = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            members.add(serverHardware(i));
+        }
+        collection.setMembers(members);
+        collection.setCount(count);
+        collection.setTotal(count);
+        collection.setStart(0);
+        collection.setUri("/rest/server-hardware?start=0&count=" + count);
+
+        return collection;
+    }
+
+    public static String toJson(Object resource) {
+        return CONVERTER.resourceToJson(resource, API_VERSION);
+    }
+
+    public static String scmbMessage(int index) {
+        return "{\"resourceUri\":\"/rest/server-hardware/" + index + "\""
+                + ",\"changeType\":\"" + ChangeType.Updated + "\""
+                + ",\"newState\":\"Monitored\",\"newSubState\":null"
+                + ",\"eTag\":\"" + (1478000000000L + index) + "\""
+                + ",\"timestamp\":\"" + DATE + "\""
+                + ",\"associatedTask\":\"/rest/tasks/7A6D4B31-0E2C-43B5-8E4B-" + index + "\""
+                + ",\"userInitiatedTask\":false,\"changedAttributes\":[\"powerState\",\"status\"]"
+                + ",\"data\":null"
+                + ",\"resource\":" + toJson(serverHardware(index))
+                + "}";
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.client;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hp.ov.sdk.rest.http.core.HttpMethod;
+import com.hp.ov.sdk.rest.http.core.UrlParameter;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class HttpRestClientBenchmark {
+
+    private HttpRestClient client;
+    private Request request;
+    private Request requestWithQuery;
+
+    @Setup
+    public void setUp() {
+        SDKConfiguration config = SDKConfiguration.create()
+                .withOneViewHostname("oneview.example.com")
+                .withOneViewUser("administrator", "password")
+                .build();
+
+        this.client = new HttpRestClient(config, null, null);
+
+        this.request = new Request(HttpMethod.GET, "/rest/server-hardware/30373237-3132-4D32-3235-303300000001");
+        this.request.setHostname("oneview.example.com");
+
+        this.requestWithQuery = new Request(HttpMethod.GET, "/rest/server-hardware");
+        this.requestWithQuery.setHostname("oneview.example.com");
+        this.requestWithQuery.addQuery(new UrlParameter("filter", "status='OK' AND powerState='On'"));
+        this.requestWithQuery.addQuery(new UrlParameter("sort", "name:ascending"));
+        this.requestWithQuery.addQuery(UrlParameter.getCountParameter(64));
+    }
+
+    @Benchmark
+    public URI buildURI() {
+        return this.client.buildURI(this.request);
+    }
+
+    @Benchmark
+    public URI buildURIWithQuery() {
+        return this.client.buildURI(this.requestWithQuery);
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.reflect;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.reflect.Reflection;
+import com.hp.ov.sdk.benchmarks.Payloads;
+import com.hp.ov.sdk.dto.servers.serverhardware.ServerHardware;
+import com.hp.ov.sdk.rest.client.BaseClient;
+import com.hp.ov.sdk.rest.client.server.ServerHardwareClient;
+import com.hp.ov.sdk.rest.http.core.BasicURIQuery;
+import com.hp.ov.sdk.rest.http.core.URIQuery;
+import com.hp.ov.sdk.rest.http.core.client.Request;
+
+/**
+ * Measures the cost of turning a client interface call into a {@link Request}, with and
+ * without the dynamic proxy in front of it. The requests are answered by a stub, so
+ * nothing is sent over the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ClientRequestHandlerBenchmark {
+
+    private static final String RESOURCE_ID = "30373237-3132-4D32-3235-303300000001";
+
+    private ClientRequestHandler<ServerHardwareClient> handler;
+    private ServerHardwareClient client;
+    private Method getById;
+    private Method get;
+    private URIQuery query;
+
+    @Setup
+    public void setUp() throws Exception {
+        BaseClient baseClient = new StubBaseClient(Payloads.serverHardware(1));
+
+        this.handler = new ClientRequestHandler<>(baseClient, ServerHardwareClient.class);
+        this.client = Reflection.newProxy(ServerHardwareClient.class, this.handler);
+        this.getById = ServerHardwareClient.class.getMethod("getById", String.class);
+        this.get = ServerHardwareClient.class.getMethod("get", URIQuery.class);
+
+        BasicURIQuery query = new BasicURIQuery();
+
+        query.addParameter(URIQuery.FILTER, "status='OK'");
+        query.addParameter(URIQuery.COUNT, "64");
+        this.query = query;
+    }
+
+    @Benchmark
+    public Request buildRequestWithPathParam() throws Exception {
+        return this.handler.buildRequest(this.getById, new Object[] {RESOURCE_ID});
+    }
+
+    @Benchmark
+    public Request buildRequestWithQuery() throws Exception {
+        return this.handler.buildRequest(this.get, new Object[] {this.query});
+    }
+
+    @Benchmark
+    public ServerHardware proxyDispatch() {
+        return this.client.getById(RESOURCE_ID);
+    }
+
+    private static class StubBaseClient extends BaseClient {
+
+        private final Object response;
+
+        StubBaseClient(Object response) {
+            super(null, null, null, "localhost");
+
+            this.response = response;
+        }
+
+        @Override
+        public Object executeRequest(Request request, Type returnType) {
+            return this.response;
+        }
+
+        @Override
+        public <T> T executeRequest(Request request, Class<T> returnType) {
+            return returnType.cast(this.response);
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.util;
+
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.reflect.TypeToken;
+import com.hp.ov.sdk.benchmarks.Payloads;
+import com.hp.ov.sdk.dto.ResourceCollection;
+import com.hp.ov.sdk.dto.servers.serverhardware.ServerHardware;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ObjectToJsonConverterBenchmark {
+
+    private static final Type SERVER_HARDWARE_COLLECTION = new TypeToken<ResourceCollection<ServerHardware>>() {}.getType();
+
+    @Param({"1", "64", "512"})
+    private int members;
+
+    private ObjectToJsonConverter converter;
+    private ResourceCollection<ServerHardware> collection;
+    private String collectionJson;
+
+    @Setup
+    public void setUp() {
+        this.converter = ObjectToJsonConverter.getInstance();
+        this.collection = Payloads.serverHardwareCollection(this.members);
+        this.collectionJson = Payloads.toJson(this.collection);
+    }
+
+    @Benchmark
+    public Object jsonToResourceFromString() {
+        return this.converter.jsonToResource(this.collectionJson, SERVER_HARDWARE_COLLECTION);
+    }
+
+    @Benchmark
+    public Object jsonToResourceFromReader() {
+        return this.converter.jsonToResource(new StringReader(this.collectionJson), SERVER_HARDWARE_COLLECTION);
+    }
+
+    @Benchmark
+    public String resourceToJson() {
+        return this.converter.resourceToJson(this.collection, Payloads.API_VERSION);
+    }
+
+}
@@ -20,6 +20,7 @@ import java.lang.reflect.Type;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.TimeZone;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -33,23 +34,39 @@ import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 
+/**
+ * Converts dates from and to the ISO-8601 representation used by OneView, for
+ * instance <code>2016-02-26T16:41:13.396Z</code>. The adapter holds no state, so a
+ * single instance can be shared by any number of threads.
+ *
+ * <p>Dates with exactly that shape (with a <code>Z</code>, <code>+HH</code>,
+ * <code>+HHMM</code> or <code>+HH:MM</code> offset) are parsed and formatted with
+ * plain arithmetic; any other shape falls back to {@link SimpleDateFormat}.</p>
+ */
 public class DateAdapter implements JsonSerializer<Date>, JsonDeserializer<Date> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DateAdapter.class);
 
     public static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSX";
 
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static final int DATE_TIME_LENGTH = 23;
+    private static final int MIN_FAST_YEAR = 1600;
+    private static final int MAX_FAST_YEAR = 9999;
+
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+    private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+    private static final long MIN_FAST_MILLIS = daysFromCivil(MIN_FAST_YEAR, 1, 1) * MILLIS_PER_DAY;
+    private static final long MAX_FAST_MILLIS = daysFromCivil(MAX_FAST_YEAR + 1, 1, 1) * MILLIS_PER_DAY;
+
     @Override
     public Date deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
         if (json.isJsonPrimitive()) {
             String date = json.getAsString();
 
             if (StringUtils.isNotEmpty(date)) {
-                try {
-                    return new SimpleDateFormat(DEFAULT_DATE_FORMAT).parse(date);
-                } catch (ParseException e) {
-                    LOGGER.info("Unexpected date format (value): {}", date);
-                }
+                return parse(date);
             }
         }
         return null;
@@ -57,7 +74,171 @@ public class DateAdapter implements JsonSerializer<Date>, JsonDeserializer<Date>
 
     @Override
     public JsonElement serialize(Date src, Type typeOfSrc, JsonSerializationContext context) {
-        return new JsonPrimitive(new SimpleDateFormat(DEFAULT_DATE_FORMAT).format(src));
+        return new JsonPrimitive(format(src));
+    }
+
+    static Date parse(String date) {
+        long millis = parseMillis(date);
+
+        if (millis != Long.MIN_VALUE) {
+            return new Date(millis);
+        }
+        try {
+            return new SimpleDateFormat(DEFAULT_DATE_FORMAT).parse(date);
+        } catch (ParseException e) {
+            LOGGER.info("Unexpected date format (value): {}", date);
+        }
+        return null;
+    }
+
+    /*
+     * Dates are always formatted in UTC, which keeps the fast path independent of
+     * the default time zone of the JVM and never truncates its offset.
+     */
+    static String format(Date date) {
+        long millis = date.getTime();
+
+        if ((millis < MIN_FAST_MILLIS) || (millis >= MAX_FAST_MILLIS)) {
+            SimpleDateFormat dateFormat = new SimpleDateFormat(DEFAULT_DATE_FORMAT);
+
+            dateFormat.setTimeZone(UTC);
+
+            return dateFormat.format(date);
+        }
+        long days = floorDiv(millis, MILLIS_PER_DAY);
+        int millisOfDay = (int) (millis - days * MILLIS_PER_DAY);
+        char[] chars = new char[DATE_TIME_LENGTH + 1];
+
+        writeCivilDate(chars, days);
+        chars[10] = 'T';
+        writeDigits(chars, 11, millisOfDay / 3600000, 2);
+        chars[13] = ':';
+        writeDigits(chars, 14, millisOfDay / 60000 % 60, 2);
+        chars[16] = ':';
+        writeDigits(chars, 17, millisOfDay / 1000 % 60, 2);
+        chars[19] = '.';
+        writeDigits(chars, 20, millisOfDay % 1000, 3);
+        chars[23] = 'Z';
+
+        return new String(chars);
+    }
+
+    /*
+     * Returns Long.MIN_VALUE whenever the value does not have the exact expected
+     * shape or one of its fields is out of range, leaving it to the lenient parser.
+     */
+    private static long parseMillis(String date) {
+        if ((date.length() <= DATE_TIME_LENGTH)
+                || (date.charAt(4) != '-') || (date.charAt(7) != '-') || (date.charAt(10) != 'T')
+                || (date.charAt(13) != ':') || (date.charAt(16) != ':') || (date.charAt(19) != '.')) {
+            return Long.MIN_VALUE;
+        }
+        int year = readDigits(date, 0, 4);
+        int month = readDigits(date, 5, 2);
+        int day = readDigits(date, 8, 2);
+        int hour = readDigits(date, 11, 2);
+        int minute = readDigits(date, 14, 2);
+        int second = readDigits(date, 17, 2);
+        int millis = readDigits(date, 20, 3);
+        int offset = readOffset(date, DATE_TIME_LENGTH);
+
+        if ((year < MIN_FAST_YEAR) || (month < 1) || (month > 12) || (day < 1) || (day > 31)
+                || (hour < 0) || (hour > 23) || (minute < 0) || (minute > 59)
+                || (second < 0) || (second > 59) || (millis < 0) || (offset == Integer.MIN_VALUE)) {
+            return Long.MIN_VALUE;
+        }
+        long millisOfDay = ((hour * 60L + minute) * 60L + second) * 1000L + millis;
+
+        return daysFromCivil(year, month, day) * MILLIS_PER_DAY + millisOfDay - offset * MILLIS_PER_MINUTE;
+    }
+
+    /*
+     * Reads "Z", "+HH", "+HHMM" or "+HH:MM", returning the offset in minutes or
+     * Integer.MIN_VALUE for anything else.
+     */
+    private static int readOffset(String date, int index) {
+        int length = date.length() - index;
+        char sign = date.charAt(index);
+
+        if (sign == 'Z') {
+            return (length == 1) ? 0 : Integer.MIN_VALUE;
+        }
+        if (((sign != '+') && (sign != '-')) || ((length != 3) && (length != 5) && (length != 6))) {
+            return Integer.MIN_VALUE;
+        }
+        int hours = readDigits(date, index + 1, 2);
+        int minutes = 0;
+
+        if (length == 5) {
+            minutes = readDigits(date, index + 3, 2);
+        } else if (length == 6) {
+            minutes = (date.charAt(index + 3) == ':') ? readDigits(date, index + 4, 2) : -1;
+        }
+        if ((hours < 0) || (hours > 23) || (minutes < 0) || (minutes > 59)) {
+            return Integer.MIN_VALUE;
+        }
+        int offset = hours * 60 + minutes;
+
+        return (sign == '-') ? -offset : offset;
+    }
+
+    private static int readDigits(String value, int index, int count) {
+        int result = 0;
+
+        for (int i = index; i < index + count; i++) {
+            int digit = value.charAt(i) - '0';
+
+            if ((digit < 0) || (digit > 9)) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static void writeDigits(char[] chars, int index, int value, int count) {
+        for (int i = index + count - 1; i >= index; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static long floorDiv(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+
+        return ((dividend % divisor != 0) && ((dividend < 0) != (divisor < 0))) ? quotient - 1 : quotient;
+    }
+
+    /*
+     * Conversions between days since the epoch and proleptic Gregorian dates
+     * (see "chrono-Compatible Low-Level Date Algorithms" by Howard Hinnant).
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = (month <= 2) ? year - 1 : year;
+        int era = ((y >= 0) ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + ((month > 2) ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    private static void writeCivilDate(char[] chars, long epochDays) {
+        long days = epochDays + 719468;
+        long era = ((days >= 0) ? days : days - 146096) / 146097;
+        int dayOfEra = (int) (days - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth + ((shiftedMonth < 10) ? 3 : -9);
+        int year = (int) (yearOfEra + era * 400) + ((month <= 2) ? 1 : 0);
+
+        writeDigits(chars, 0, year, 4);
+        chars[4] = '-';
+        writeDigits(chars, 5, month, 2);
+        chars[7] = '-';
+        writeDigits(chars, 8, day, 2);
     }
 
 }
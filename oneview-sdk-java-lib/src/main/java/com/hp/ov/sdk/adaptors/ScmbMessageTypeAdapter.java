@@ -0,0 +1,254 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.adaptors;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Date;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.hp.ov.sdk.messaging.core.ChangeType;
+import com.hp.ov.sdk.messaging.scmb.ScmbMessage;
+
+/**
+ * Reads a State-Changed Message Bus message in a single pass. The envelope fields are
+ * decoded as they are found, while the <code>resource</code> object is copied token by
+ * token into a compact JSON string, left to be decoded by the handler if ever needed.
+ */
+public class ScmbMessageTypeAdapter extends TypeAdapter<ScmbMessage> {
+
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (!ScmbMessage.class.equals(type.getRawType())) {
+                return null;
+            }
+            return (TypeAdapter<T>) new ScmbMessageTypeAdapter(
+                    gson.getDelegateAdapter(this, TypeToken.get(ScmbMessage.class)),
+                    gson.getAdapter(new TypeToken<List<Object>>() {}),
+                    gson.getAdapter(Object.class),
+                    gson.getAdapter(ChangeType.class),
+                    gson.getAdapter(Date.class));
+        }
+    };
+
+    private final TypeAdapter<ScmbMessage> delegate;
+    private final TypeAdapter<List<Object>> listAdapter;
+    private final TypeAdapter<Object> objectAdapter;
+    private final TypeAdapter<ChangeType> changeTypeAdapter;
+    private final TypeAdapter<Date> dateAdapter;
+
+    ScmbMessageTypeAdapter(TypeAdapter<ScmbMessage> delegate, TypeAdapter<List<Object>> listAdapter,
+            TypeAdapter<Object> objectAdapter, TypeAdapter<ChangeType> changeTypeAdapter,
+            TypeAdapter<Date> dateAdapter) {
+        this.delegate = delegate;
+        this.listAdapter = listAdapter;
+        this.objectAdapter = objectAdapter;
+        this.changeTypeAdapter = changeTypeAdapter;
+        this.dateAdapter = dateAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, ScmbMessage value) throws IOException {
+        this.delegate.write(out, value);
+    }
+
+    @Override
+    public ScmbMessage read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ScmbMessage message = new ScmbMessage();
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            String name = in.nextName();
+
+            switch (name) {
+                case "resource":
+                    message.setResource(copyToString(in));
+                    break;
+                case "associatedTask":
+                    message.setAssociatedTask(readString(in));
+                    break;
+                case "changedAttributes":
+                    message.setChangedAttributes(this.listAdapter.read(in));
+                    break;
+                case "changeType":
+                    message.setChangeType(this.changeTypeAdapter.read(in));
+                    break;
+                case "data":
+                    message.setData(this.objectAdapter.read(in));
+                    break;
+                case "eTag":
+                    message.seteTag(readString(in));
+                    break;
+                case "newState":
+                    message.setNewState(readString(in));
+                    break;
+                case "newSubState":
+                    message.setNewSubState(readString(in));
+                    break;
+                case "resourceUri":
+                    message.setResourceUri(readString(in));
+                    break;
+                case "timestamp":
+                    message.setTimestamp(this.dateAdapter.read(in));
+                    break;
+                case "userInitiatedTask":
+                    message.setUserInitiatedTask(readBoolean(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return message;
+    }
+
+    private static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static Boolean readBoolean(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return (token == JsonToken.STRING) ? Boolean.valueOf(in.nextString()) : in.nextBoolean();
+    }
+
+    static String copyToString(JsonReader in) throws IOException {
+        StringWriter buffer = new StringWriter();
+        JsonWriter out = new JsonWriter(buffer);
+
+        out.setLenient(true);
+
+        copy(in, out);
+
+        out.flush();
+
+        return buffer.toString();
+    }
+
+    /*
+     * Copies exactly one value, along with everything nested in it. The depth is
+     * tracked explicitly, so that deeply nested resources do not grow the stack.
+     */
+    private static void copy(JsonReader in, JsonWriter out) throws IOException {
+        int depth = 0;
+
+        do {
+            switch (in.peek()) {
+                case BEGIN_OBJECT:
+                    in.beginObject();
+                    out.beginObject();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    in.endObject();
+                    out.endObject();
+                    depth--;
+                    break;
+                case BEGIN_ARRAY:
+                    in.beginArray();
+                    out.beginArray();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    in.endArray();
+                    out.endArray();
+                    depth--;
+                    break;
+                case NAME:
+                    out.name(in.nextName());
+                    break;
+                case STRING:
+                    out.value(in.nextString());
+                    break;
+                case NUMBER:
+                    out.value(new RawNumber(in.nextString()));
+                    break;
+                case BOOLEAN:
+                    out.value(in.nextBoolean());
+                    break;
+                case NULL:
+                    in.nextNull();
+                    out.nullValue();
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected token: " + in.peek());
+            }
+        } while (depth > 0);
+    }
+
+    /*
+     * Keeps the number exactly as it was written in the message.
+     */
+    private static final class RawNumber extends Number {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String value;
+
+        RawNumber(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public int intValue() {
+            return (int) this.doubleValue();
+        }
+
+        @Override
+        public long longValue() {
+            return (long) this.doubleValue();
+        }
+
+        @Override
+        public float floatValue() {
+            return (float) this.doubleValue();
+        }
+
+        @Override
+        public double doubleValue() {
+            return Double.parseDouble(this.value);
+        }
+
+        @Override
+        public String toString() {
+            return this.value;
+        }
+    }
+
+}
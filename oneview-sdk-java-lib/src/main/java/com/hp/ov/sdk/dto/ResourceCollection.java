@@ -17,11 +17,13 @@
 package com.hp.ov.sdk.dto;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 
 public class ResourceCollection<T> extends BaseModelResource {
@@ -83,6 +85,16 @@ public class ResourceCollection<T> extends BaseModelResource {
         return ImmutableList.copyOf(Collections2.filter(Lists.newArrayList(this.members), predicate));
     }
 
+    /**
+     * Returns a read-only iterator over the members of this collection, without
+     * copying them as {@link #getMembers()} does.
+     *
+     * @return iterator over the members of this collection.
+     */
+    public Iterator<T> iterator() {
+        return Iterators.unmodifiableIterator(this.members.iterator());
+    }
+
     public T get(int index) {
         return this.members.get(index);
     }
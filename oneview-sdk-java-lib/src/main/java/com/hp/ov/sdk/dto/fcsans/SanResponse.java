@@ -26,7 +26,9 @@ import com.google.gson.annotations.Since;
 import com.hp.ov.sdk.dto.BaseModelResource;
 import com.hp.ov.sdk.dto.Property;
 import com.hp.ov.sdk.dto.RefreshState;
+import com.hpe.core.processor.GenerateTypeAdapter;
 
+@GenerateTypeAdapter
 public class SanResponse extends BaseModelResource {
 
     private static final long serialVersionUID = -1495921065098648747L;
@@ -18,7 +18,9 @@ package com.hp.ov.sdk.dto.networking.interconnect;
 import java.math.BigInteger;
 
 import com.hp.ov.sdk.dto.BaseModelResource;
+import com.hpe.core.processor.GenerateTypeAdapter;
 
+@GenerateTypeAdapter
 public class CommonStatistics extends BaseModelResource {
 
     private final static long serialVersionUID = 1L;
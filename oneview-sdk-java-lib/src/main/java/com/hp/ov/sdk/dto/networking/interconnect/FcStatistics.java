@@ -19,7 +19,9 @@ import java.math.BigInteger;
 import java.util.Map;
 
 import com.hp.ov.sdk.dto.BaseModelResource;
+import com.hpe.core.processor.GenerateTypeAdapter;
 
+@GenerateTypeAdapter
 public class FcStatistics extends BaseModelResource {
 
     private final static long serialVersionUID = 1L;
@@ -29,6 +29,7 @@ import com.hp.ov.sdk.dto.networking.EnclosureType;
 import com.hp.ov.sdk.dto.networking.IcmLicensesDto;
 import com.hp.ov.sdk.dto.networking.Port;
 import com.hp.ov.sdk.dto.networking.SnmpConfiguration;
+import com.hpe.core.processor.GenerateTypeAdapter;
 
 
 /**
@@ -37,6 +38,7 @@ import com.hp.ov.sdk.dto.networking.SnmpConfiguration;
  * interconnects REST api, as well as the update interconnects through java
  * client api.
  */
+@GenerateTypeAdapter
 public class Interconnect extends BaseModelResource {
 
     private static final long serialVersionUID = 1L;
@@ -26,6 +26,7 @@ import com.hp.ov.sdk.dto.BaseModelResource;
 import com.hp.ov.sdk.dto.RefreshState;
 import com.hp.ov.sdk.dto.servers.LicensingIntent;
 import com.hp.ov.sdk.dto.servers.RemoteSupportSettings;
+import com.hpe.core.processor.GenerateTypeAdapter;
 
 /**
  * The Enclosures data transfer object (DTO) contains the information used to
@@ -34,6 +35,7 @@ import com.hp.ov.sdk.dto.servers.RemoteSupportSettings;
  * api.
  */
 
+@GenerateTypeAdapter
 public class Enclosure extends BaseModelResource {
 
     private static final long serialVersionUID = 1L;
@@ -28,6 +28,7 @@ import com.hp.ov.sdk.dto.BaseModelResource;
 import com.hp.ov.sdk.dto.RefreshState;
 import com.hp.ov.sdk.dto.servers.LicensingIntent;
 import com.hp.ov.sdk.dto.servers.RemoteSupportSettings;
+import com.hpe.core.processor.GenerateTypeAdapter;
 
 /**
  * The ServerHardware data transfer object (DTO) contains the information used
@@ -35,6 +36,7 @@ import com.hp.ov.sdk.dto.servers.RemoteSupportSettings;
  * add/update server hardware REST api, as well as the add/update server
  * hardware through java client api.
  */
+@GenerateTypeAdapter
 public class ServerHardware extends BaseModelResource {
 
     private static final long serialVersionUID = -9046023900390473327L;
@@ -27,6 +27,7 @@ public enum SDKErrorEnum implements SDKErrorKey {
     methodNotFound("METHOD_NOT_FOUND"),
     tasksError("TASKS_ERROR"),
     applianceNotReachable("APPLIANCE_NOT_REACHABLE"),
+    requestQueueTimeout("REQUEST_QUEUE_TIMEOUT"),
     apiMismatchError("API_VERSION_MISMATCH"),
     unauthorized("UNAUTHORIZED"),
     internalServerError("INTERNAL_SERVER_ERROR"),
@@ -0,0 +1,121 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.messaging.core;
+
+import java.io.IOException;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ShutdownSignalException;
+
+/**
+ * Acknowledges the deliveries of a channel that may be handled out of order. The
+ * delivery tags of a channel are consecutive, so once every delivery up to a given
+ * tag has been handled, a single multiple acknowledgement covers all of them.
+ *
+ * <p>A delivery whose handling failed is rejected on its own right away, which settles
+ * it: the multiple acknowledgement covering it afterwards leaves it out.</p>
+ */
+class AckTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AckTracker.class);
+
+    private final Channel channel;
+    private final int batchSize;
+    private final boolean requeueOnFailure;
+    private final SortedSet<Long> handledAhead = new TreeSet<>();
+
+    private long lastDelivered;
+    private long lastHandled;
+    private long lastAcked;
+
+    AckTracker(Channel channel, int batchSize, boolean requeueOnFailure) {
+        this.channel = channel;
+        this.batchSize = batchSize;
+        this.requeueOnFailure = requeueOnFailure;
+    }
+
+    synchronized void delivered(long deliveryTag) {
+        this.lastDelivered = deliveryTag;
+    }
+
+    synchronized void handled(long deliveryTag) {
+        if (deliveryTag <= this.lastHandled) {
+            // a delivery of the channel before its recovery, which the broker delivers again
+            return;
+        }
+        if (deliveryTag != this.lastHandled + 1) {
+            this.handledAhead.add(deliveryTag);
+            return;
+        }
+        this.lastHandled = deliveryTag;
+
+        while (!this.handledAhead.isEmpty() && (this.handledAhead.first() == this.lastHandled + 1)) {
+            this.lastHandled = this.handledAhead.first();
+            this.handledAhead.remove(this.lastHandled);
+        }
+        boolean batchComplete = (this.lastHandled - this.lastAcked) >= this.batchSize;
+        boolean idle = (this.lastHandled == this.lastDelivered);
+
+        if ((batchComplete || idle) && (this.lastHandled > this.lastAcked)) {
+            this.ack(this.lastHandled);
+        }
+    }
+
+    synchronized void failed(long deliveryTag) {
+        if (deliveryTag <= this.lastHandled) {
+            return;
+        }
+        try {
+            this.channel.basicNack(deliveryTag, false, this.requeueOnFailure);
+        } catch (IOException | ShutdownSignalException e) {
+            // the broker redelivers every unacknowledged message once the channel is closed
+            LOGGER.warn("Could not reject delivery {}", deliveryTag, e);
+        }
+        if ((deliveryTag == this.lastHandled + 1) && (this.lastAcked == this.lastHandled)) {
+            // no handled delivery waits for an acknowledgement the rejected one could be part of
+            this.lastAcked = deliveryTag;
+        }
+        this.handled(deliveryTag);
+    }
+
+    /*
+     * A recovered channel carries on numbering the deliveries from the last one it saw,
+     * while the broker delivers again every message left unacknowledged. The deliveries
+     * of the previous channel are therefore neither waited for nor acknowledged anymore.
+     */
+    synchronized void recovered() {
+        this.handledAhead.clear();
+        this.lastHandled = this.lastDelivered;
+        this.lastAcked = this.lastDelivered;
+    }
+
+    private void ack(long deliveryTag) {
+        try {
+            this.channel.basicAck(deliveryTag, true);
+
+            this.lastAcked = deliveryTag;
+        } catch (IOException | ShutdownSignalException e) {
+            // the broker redelivers every unacknowledged message once the channel is closed
+            LOGGER.warn("Could not acknowledge messages up to delivery {}", deliveryTag, e);
+        }
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.messaging.core;
+
+import com.hp.ov.sdk.exceptions.SDKErrorEnum;
+import com.hp.ov.sdk.exceptions.SDKInvalidArgumentException;
+
+/**
+ * Controls how the messages of a message bus subscription are consumed.
+ *
+ * <p>The {@link #defaults() default options} keep the historical behavior: messages are
+ * acknowledged by the broker as soon as they are delivered, and the handler runs on the
+ * delivery thread of the channel. Handler threads allow a slow handler to keep up with
+ * bursts of messages, while the messages of a given resource are still handled in the
+ * order they were delivered. With manual acknowledgement, a message is only acknowledged
+ * once it was handled, so that the broker redelivers it if the client stops before, or
+ * if its handler fails.</p>
+ */
+public final class ConsumerOptions {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final long DEFAULT_BATCH_LINGER_MILLIS = 1000;
+
+    private final int prefetchCount;
+    private final int handlerThreads;
+    private final int queueCapacity;
+    private final boolean manualAck;
+    private final int ackBatchSize;
+    private final boolean requeueOnFailure;
+    private final int batchSize;
+    private final long batchLingerMillis;
+    private final boolean coalescing;
+
+    private ConsumerOptions(ConsumerOptionsBuilder builder) {
+        this.prefetchCount = builder.prefetchCount;
+        this.handlerThreads = builder.handlerThreads;
+        this.queueCapacity = builder.queueCapacity;
+        this.manualAck = builder.manualAck;
+        this.ackBatchSize = builder.ackBatchSize;
+        this.requeueOnFailure = builder.requeueOnFailure;
+        this.batchSize = builder.batchSize;
+        this.batchLingerMillis = builder.batchLingerMillis;
+        this.coalescing = builder.coalescing;
+    }
+
+    /**
+     * @return the maximum number of unacknowledged messages the broker delivers to the
+     * subscription, or zero when unlimited
+     */
+    public int getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    /**
+     * @return the number of threads running the handler, or zero when the handler runs
+     * on the delivery thread
+     */
+    public int getHandlerThreads() {
+        return handlerThreads;
+    }
+
+    /**
+     * @return the number of messages each handler thread may have waiting before the
+     * delivery thread blocks
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @return whether the messages are only acknowledged once they were handled
+     */
+    public boolean isManualAck() {
+        return manualAck;
+    }
+
+    /**
+     * @return the number of handled messages covered by a single acknowledgement
+     */
+    public int getAckBatchSize() {
+        return ackBatchSize;
+    }
+
+    /**
+     * @return whether the messages whose handler failed are delivered again, rather
+     * than dropped
+     */
+    public boolean isRequeueOnFailure() {
+        return requeueOnFailure;
+    }
+
+    /**
+     * @return the maximum number of deliveries gathered in a batch, before coalescing
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the maximum time (in milliseconds) a message waits for its batch to fill up
+     */
+    public long getBatchLingerMillis() {
+        return batchLingerMillis;
+    }
+
+    /**
+     * @return whether consecutive updates of a resource within a batch are reduced to
+     * the latest one
+     */
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    public static ConsumerOptions defaults() {
+        return create().build();
+    }
+
+    public static ConsumerOptionsBuilder create() {
+        return new ConsumerOptionsBuilder();
+    }
+
+    public static class ConsumerOptionsBuilder {
+
+        private int prefetchCount;
+        private int handlerThreads;
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        private boolean manualAck;
+        private int ackBatchSize = 1;
+        private boolean requeueOnFailure = true;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private long batchLingerMillis = DEFAULT_BATCH_LINGER_MILLIS;
+        private boolean coalescing;
+
+        /**
+         * Limits the number of unacknowledged messages delivered by the broker. The limit
+         * only applies along with {@link #withManualAck(int) manual acknowledgement}.
+         */
+        public ConsumerOptionsBuilder withPrefetchCount(int prefetchCount) {
+            this.prefetchCount = requirePositive(prefetchCount, "prefetch count");
+            return this;
+        }
+
+        /**
+         * Runs the handler on the given number of threads. Messages are assigned to
+         * the threads according to the resource URI carried by their routing key.
+         */
+        public ConsumerOptionsBuilder withHandlerThreads(int handlerThreads) {
+            this.handlerThreads = requirePositive(handlerThreads, "number of handler threads");
+            return this;
+        }
+
+        /**
+         * Limits the number of messages waiting for each handler thread. Once a thread
+         * has that many messages waiting, the delivery thread blocks until one of them
+         * is handled, and the broker stops delivering after the prefetch count.
+         */
+        public ConsumerOptionsBuilder withQueueCapacity(int queueCapacity) {
+            this.queueCapacity = requirePositive(queueCapacity, "queue capacity");
+            return this;
+        }
+
+        /**
+         * Acknowledges the messages once handled, at most <code>ackBatchSize</code>
+         * messages at once. Pending acknowledgements are always sent as soon as every
+         * delivered message has been handled.
+         */
+        public ConsumerOptionsBuilder withManualAck(int ackBatchSize) {
+            this.manualAck = true;
+            this.ackBatchSize = requirePositive(ackBatchSize, "acknowledgement batch size");
+            return this;
+        }
+
+        /**
+         * Tells whether a message whose handler threw an exception is delivered again
+         * (the default) or dropped, which keeps a message its handler always fails on
+         * from being delivered over and over. It only applies along with
+         * {@link #withManualAck(int) manual acknowledgement}.
+         */
+        public ConsumerOptionsBuilder withRequeueOnFailure(boolean requeueOnFailure) {
+            this.requeueOnFailure = requeueOnFailure;
+            return this;
+        }
+
+        /**
+         * Passes the messages to a batch handler once <code>batchSize</code> messages
+         * were delivered, coalesced ones included, or once the oldest of them waited
+         * <code>lingerMillis</code>.
+         * Batch handlers are always called with one batch at a time.
+         */
+        public ConsumerOptionsBuilder withBatch(int batchSize, long lingerMillis) {
+            this.batchSize = requirePositive(batchSize, "batch size");
+            this.batchLingerMillis = requirePositive(lingerMillis, "linger time");
+            return this;
+        }
+
+        /**
+         * Reduces consecutive updates of the same resource within a batch to the latest
+         * one, which takes the place of the first. Creations and deletions are never
+         * coalesced, and every coalesced message is still acknowledged.
+         */
+        public ConsumerOptionsBuilder withCoalescing(boolean coalescing) {
+            this.coalescing = coalescing;
+            return this;
+        }
+
+        public ConsumerOptions build() {
+            return new ConsumerOptions(this);
+        }
+
+        private static int requirePositive(int value, String name) {
+            return (int) requirePositive((long) value, name);
+        }
+
+        private static long requirePositive(long value, String name) {
+            if (value <= 0) {
+                throw new SDKInvalidArgumentException(SDKErrorEnum.invalidArgument,
+                        "The " + name + " must be positive");
+            }
+            return value;
+        }
+    }
+
+}
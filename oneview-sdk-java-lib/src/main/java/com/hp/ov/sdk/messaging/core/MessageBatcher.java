@@ -0,0 +1,212 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.messaging.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.hp.ov.sdk.messaging.scmb.ScmbBatchMessageHandler;
+import com.hp.ov.sdk.messaging.scmb.ScmbMessage;
+
+/**
+ * Gathers messages into batches for a {@link ScmbBatchMessageHandler}. A batch is
+ * passed to the handler once it is full, on the delivery thread, which therefore waits
+ * for the handler and pushes back on the broker; otherwise it is passed once its first
+ * message waited for the linger time, on the thread of the batcher.
+ */
+class MessageBatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageBatcher.class);
+
+    private final ScmbBatchMessageHandler handler;
+    private final AckTracker ackTracker;
+    private final int batchSize;
+    private final long lingerMillis;
+    private final boolean coalescing;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object flushLock = new Object();
+    private final Object bufferLock = new Object();
+
+    private List<ScmbMessage> messages = new ArrayList<>();
+    private List<Long> deliveryTags = new ArrayList<>();
+    private Map<String, Integer> latestUpdates = new HashMap<>();
+    private long generation;
+
+    MessageBatcher(ScmbBatchMessageHandler handler, ConsumerOptions options, AckTracker ackTracker) {
+        this(handler, options, ackTracker, Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder()
+                        .setNameFormat("oneview-sdk-scmb-batcher-%d")
+                        .setDaemon(true)
+                        .build()));
+    }
+
+    MessageBatcher(ScmbBatchMessageHandler handler, ConsumerOptions options, AckTracker ackTracker,
+            ScheduledExecutorService scheduler) {
+        this.handler = handler;
+        this.ackTracker = ackTracker;
+        this.batchSize = options.getBatchSize();
+        this.lingerMillis = options.getBatchLingerMillis();
+        this.coalescing = options.isCoalescing();
+        this.scheduler = scheduler;
+    }
+
+    void add(long deliveryTag, ScmbMessage message) {
+        boolean full;
+
+        synchronized (this.bufferLock) {
+            if (this.ackTracker != null) {
+                this.ackTracker.delivered(deliveryTag);
+            }
+            this.deliveryTags.add(deliveryTag);
+
+            if (!this.coalesce(message)) {
+                this.messages.add(message);
+            }
+            if ((this.deliveryTags.size() == 1) && !this.scheduler.isShutdown()) {
+                this.scheduleLinger(this.generation);
+            }
+            // coalesced deliveries count as well, as they stay unacknowledged until the batch is handled
+            full = this.deliveryTags.size() >= this.batchSize;
+        }
+        if (full) {
+            this.flush(-1);
+        }
+    }
+
+    /*
+     * Passes the pending messages to the handler, unless they are already gone or
+     * belong to another batch than the expected one (when not negative).
+     */
+    void flush(long expectedGeneration) {
+        synchronized (this.flushLock) {
+            List<ScmbMessage> batch;
+            List<Long> tags;
+
+            synchronized (this.bufferLock) {
+                if (this.deliveryTags.isEmpty()
+                        || ((expectedGeneration >= 0) && (expectedGeneration != this.generation))) {
+                    return;
+                }
+                batch = this.messages;
+                tags = this.deliveryTags;
+
+                this.messages = new ArrayList<>();
+                this.deliveryTags = new ArrayList<>();
+                this.latestUpdates = new HashMap<>();
+                this.generation++;
+            }
+            boolean handled = false;
+
+            try {
+                this.handler.handleMessages(batch);
+
+                handled = true;
+            } catch (RuntimeException e) {
+                LOGGER.error("Batch message handler failed for {} messages", batch.size(), e);
+            } finally {
+                if (this.ackTracker != null) {
+                    // a failed batch is rejected as a whole, coalesced messages included
+                    for (Long tag : tags) {
+                        if (handled) {
+                            this.ackTracker.handled(tag);
+                        } else {
+                            this.ackTracker.failed(tag);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * The pending messages are still passed to the handler, on the thread of the batcher.
+     */
+    void shutdown() {
+        if (!this.scheduler.isShutdown()) {
+            this.scheduler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    MessageBatcher.this.flush(-1);
+                }
+            });
+            this.scheduler.shutdown();
+        }
+    }
+
+    /*
+     * Once the channel recovered, the broker delivers again the messages it did not get
+     * acknowledgements for, so the pending ones are dropped; when acknowledged on delivery
+     * they are still passed to the handler, on the thread of the batcher.
+     */
+    void recovered() {
+        if (this.ackTracker == null) {
+            this.scheduler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    MessageBatcher.this.flush(-1);
+                }
+            });
+            return;
+        }
+        synchronized (this.bufferLock) {
+            this.messages = new ArrayList<>();
+            this.deliveryTags = new ArrayList<>();
+            this.latestUpdates = new HashMap<>();
+            this.generation++;
+
+            this.ackTracker.recovered();
+        }
+    }
+
+    private boolean coalesce(ScmbMessage message) {
+        if (!this.coalescing || (message.getResourceUri() == null)) {
+            return false;
+        }
+        if (message.getChangeType() != ChangeType.Updated) {
+            this.latestUpdates.remove(message.getResourceUri());
+            return false;
+        }
+        Integer index = this.latestUpdates.get(message.getResourceUri());
+
+        if (index != null) {
+            this.messages.set(index, message);
+            return true;
+        }
+        this.latestUpdates.put(message.getResourceUri(), this.messages.size());
+
+        return false;
+    }
+
+    private void scheduleLinger(final long batchGeneration) {
+        this.scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                MessageBatcher.this.flush(batchGeneration);
+            }
+        }, this.lingerMillis, TimeUnit.MILLISECONDS);
+    }
+
+}
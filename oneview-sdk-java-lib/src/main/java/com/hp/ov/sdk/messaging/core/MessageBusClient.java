@@ -24,17 +24,17 @@ import com.hp.ov.sdk.exceptions.SDKErrorEnum;
 import com.hp.ov.sdk.exceptions.SDKMessageBusException;
 import com.hp.ov.sdk.messaging.msmb.MsmbMessage;
 import com.hp.ov.sdk.messaging.msmb.MsmbMessageHandler;
+import com.hp.ov.sdk.messaging.scmb.ScmbBatchMessageHandler;
 import com.hp.ov.sdk.messaging.scmb.ScmbMessage;
 import com.hp.ov.sdk.messaging.scmb.ScmbMessageHandler;
 import com.hp.ov.sdk.messaging.scmb.ScmbTypedMessage;
 import com.hp.ov.sdk.messaging.scmb.ScmbTypedMessageHandler;
 import com.hp.ov.sdk.rest.client.OneViewClient;
 import com.hp.ov.sdk.rest.http.core.client.SDKConfiguration;
-import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
-import com.rabbitmq.client.DefaultConsumer;
-import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.ShutdownListener;
+import com.rabbitmq.client.ShutdownSignalException;
 
 public class MessageBusClient {
 
@@ -72,21 +72,15 @@ public class MessageBusClient {
         }
     }
 
-    public Channel addMsmbHandler(String routingKey, final MsmbMessageHandler handler) {
-        Channel channel;
+    public Channel addMsmbHandler(String routingKey, MsmbMessageHandler handler) {
+        return this.addMsmbHandler(routingKey, handler, ConsumerOptions.defaults());
+    }
 
+    public Channel addMsmbHandler(String routingKey, final MsmbMessageHandler handler, ConsumerOptions options) {
         try {
-            channel = this.connection.createChannel();
-            String queue = channel.queueDeclare().getQueue();
-
-            channel.queueBind(queue, MSMB_EXCHANGE, routingKey);
-
-            channel.basicConsume(queue, true, new DefaultConsumer(channel) {
+            return this.subscribe(MSMB_EXCHANGE, routingKey, options, new MessageDispatcher.DeliveryHandler() {
                 @Override
-                public void handleDelivery(String consumerTag, Envelope envelope,
-                        AMQP.BasicProperties properties, byte[] body) throws IOException {
-                    String message = new String(body, "UTF-8");
-
+                public void handle(long deliveryTag, String message) {
                     MsmbMessage msmbMessage = MessageBusClient.this.adaptor.buildResource(message, MsmbMessage.class);
 
                     handler.handleMessage(msmbMessage);
@@ -96,27 +90,20 @@ public class MessageBusClient {
             throw new SDKMessageBusException(SDKErrorEnum.messageBusConnectionError,
                     "Could not subscribe to Metric Streaming Message Bus", e);
         }
-        return channel;
     }
 
     public <T extends BaseModelResource> Channel addScmbTypedHandler(String routingKey,
-            final ScmbTypedMessageHandler<T> handler) {
-
-        Channel channel;
+            ScmbTypedMessageHandler<T> handler) {
+        return this.addScmbTypedHandler(routingKey, handler, ConsumerOptions.defaults());
+    }
 
+    public <T extends BaseModelResource> Channel addScmbTypedHandler(String routingKey,
+            final ScmbTypedMessageHandler<T> handler, ConsumerOptions options) {
         try {
-            channel = this.connection.createChannel();
-            String queue = channel.queueDeclare().getQueue();
-
-            channel.queueBind(queue, SCMB_EXCHANGE, routingKey);
-
-            channel.basicConsume(queue, true, new DefaultConsumer(channel) {
+            return this.subscribe(SCMB_EXCHANGE, routingKey, options, new MessageDispatcher.DeliveryHandler() {
                 @SuppressWarnings("unchecked")
                 @Override
-                public void handleDelivery(String consumerTag, Envelope envelope,
-                        AMQP.BasicProperties properties, byte[] body) throws IOException {
-                    String message = new String(body, "UTF-8");
-
+                public void handle(long deliveryTag, String message) {
                     ScmbTypedMessage<T> scmbMessage = (ScmbTypedMessage<T>) MessageBusClient.this.adaptor.buildResource(
                             message, handler.typeToken().getType());
 
@@ -127,25 +114,17 @@ public class MessageBusClient {
             throw new SDKMessageBusException(SDKErrorEnum.messageBusConnectionError,
                     "Could not subscribe to State-Changed Message Bus", e);
         }
-        return channel;
     }
 
-    public Channel addScmbHandler(String routingKey, final ScmbMessageHandler handler) {
-        Channel channel;
+    public Channel addScmbHandler(String routingKey, ScmbMessageHandler handler) {
+        return this.addScmbHandler(routingKey, handler, ConsumerOptions.defaults());
+    }
 
+    public Channel addScmbHandler(String routingKey, final ScmbMessageHandler handler, ConsumerOptions options) {
         try {
-            channel = this.connection.createChannel();
-            String queue = channel.queueDeclare().getQueue();
-
-            channel.queueBind(queue, SCMB_EXCHANGE, routingKey);
-
-            channel.basicConsume(queue, true, new DefaultConsumer(channel) {
-                @SuppressWarnings("unchecked")
+            return this.subscribe(SCMB_EXCHANGE, routingKey, options, new MessageDispatcher.DeliveryHandler() {
                 @Override
-                public void handleDelivery(String consumerTag, Envelope envelope,
-                        AMQP.BasicProperties properties, byte[] body) throws IOException {
-                    String message = new String(body, "UTF-8");
-
+                public void handle(long deliveryTag, String message) {
                     ScmbMessage scmbMessage = MessageBusClient.this.adaptor.buildResource(message, ScmbMessage.class);
 
                     handler.handleMessage(scmbMessage);
@@ -155,7 +134,70 @@ public class MessageBusClient {
             throw new SDKMessageBusException(SDKErrorEnum.messageBusConnectionError,
                     "Could not subscribe to State-Changed Message Bus", e);
         }
+    }
+
+    public Channel addScmbBatchHandler(String routingKey, ScmbBatchMessageHandler handler) {
+        return this.addScmbBatchHandler(routingKey, handler, ConsumerOptions.defaults());
+    }
+
+    public Channel addScmbBatchHandler(String routingKey, ScmbBatchMessageHandler handler,
+            ConsumerOptions options) {
+        try {
+            final Channel channel = this.connection.createChannel();
+            final MessageBatcher batcher = new MessageBatcher(handler, options, ackTracker(channel, options));
+
+            channel.addShutdownListener(new ShutdownListener() {
+                @Override
+                public void shutdownCompleted(ShutdownSignalException cause) {
+                    if (MessageDispatcher.willRecover(channel, cause)) {
+                        batcher.recovered();
+                    } else {
+                        batcher.shutdown();
+                    }
+                }
+            });
+
+            // acknowledgements are left to the batcher, once each batch is handled
+            this.consume(channel, SCMB_EXCHANGE, routingKey, options, null, new MessageDispatcher.DeliveryHandler() {
+                @Override
+                public void handle(long deliveryTag, String message) {
+                    batcher.add(deliveryTag, MessageBusClient.this.adaptor.buildResource(message, ScmbMessage.class));
+                }
+            });
+            return channel;
+        } catch (IOException e) {
+            throw new SDKMessageBusException(SDKErrorEnum.messageBusConnectionError,
+                    "Could not subscribe to State-Changed Message Bus", e);
+        }
+    }
+
+    private Channel subscribe(String exchange, String routingKey, ConsumerOptions options,
+            MessageDispatcher.DeliveryHandler handler) throws IOException {
+
+        Channel channel = this.connection.createChannel();
+
+        this.consume(channel, exchange, routingKey, options, ackTracker(channel, options), handler);
+
         return channel;
     }
 
+    private void consume(Channel channel, String exchange, String routingKey, ConsumerOptions options,
+            AckTracker ackTracker, MessageDispatcher.DeliveryHandler handler) throws IOException {
+
+        String queue = channel.queueDeclare().getQueue();
+
+        channel.queueBind(queue, exchange, routingKey);
+
+        if (options.getPrefetchCount() > 0) {
+            channel.basicQos(options.getPrefetchCount());
+        }
+        channel.basicConsume(queue, !options.isManualAck(),
+                new MessageDispatcher(channel, exchange, options, ackTracker, handler));
+    }
+
+    private static AckTracker ackTracker(Channel channel, ConsumerOptions options) {
+        return options.isManualAck()
+                ? new AckTracker(channel, options.getAckBatchSize(), options.isRequeueOnFailure()) : null;
+    }
+
 }
@@ -0,0 +1,216 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.messaging.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.DefaultConsumer;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.ShutdownSignalException;
+
+/**
+ * Consumes the messages of a subscription according to its {@link ConsumerOptions}.
+ *
+ * <p>When handler threads are used, each thread has its own bounded queue, and the
+ * messages are assigned to the threads according to the resource URI at the end of
+ * their routing key. The messages of a given resource are therefore handled in the
+ * order they were delivered, while a slow resource only delays the resources sharing
+ * its thread.</p>
+ */
+class MessageDispatcher extends DefaultConsumer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageDispatcher.class);
+
+    interface DeliveryHandler {
+        void handle(long deliveryTag, String message);
+    }
+
+    private static final RejectedExecutionHandler BLOCK_WHEN_FULL = new RejectedExecutionHandler() {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("The message handler was shut down");
+            }
+            try {
+                executor.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new RejectedExecutionException("Interrupted while waiting for the message handler", e);
+            }
+        }
+    };
+
+    private final DeliveryHandler handler;
+    private final AckTracker ackTracker;
+    private final int queueCapacity;
+    private final ThreadFactory threadFactory;
+
+    private volatile ExecutorService[] lanes;
+
+    /*
+     * Without an acknowledgement tracker, the messages are either acknowledged by the
+     * broker upon delivery or acknowledged by the handler itself once handled.
+     */
+    MessageDispatcher(Channel channel, String name, ConsumerOptions options, AckTracker ackTracker,
+            DeliveryHandler handler) {
+        super(channel);
+
+        this.handler = handler;
+        this.ackTracker = ackTracker;
+        this.queueCapacity = options.getQueueCapacity();
+        this.threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat("oneview-sdk-" + name + "-handler-%d")
+                .setDaemon(true)
+                .build();
+        this.lanes = this.newLanes(options.getHandlerThreads());
+    }
+
+    private ExecutorService[] newLanes(int count) {
+        ExecutorService[] newLanes = new ExecutorService[count];
+
+        for (int i = 0; i < newLanes.length; i++) {
+            newLanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(this.queueCapacity), this.threadFactory, BLOCK_WHEN_FULL);
+        }
+        return newLanes;
+    }
+
+    @Override
+    public void handleDelivery(String consumerTag, Envelope envelope,
+            AMQP.BasicProperties properties, byte[] body) throws IOException {
+
+        final long deliveryTag = envelope.getDeliveryTag();
+        final String message = new String(body, StandardCharsets.UTF_8);
+
+        if (this.ackTracker != null) {
+            this.ackTracker.delivered(deliveryTag);
+        }
+        ExecutorService[] currentLanes = this.lanes;
+
+        if (currentLanes.length == 0) {
+            this.dispatch(deliveryTag, message);
+            return;
+        }
+        currentLanes[laneOf(envelope.getRoutingKey(), currentLanes.length)].execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    MessageDispatcher.this.dispatch(deliveryTag, message);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Message handler failed for delivery {}", deliveryTag, e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void handleCancel(String consumerTag) throws IOException {
+        this.shutdown();
+    }
+
+    /*
+     * After a connection failure, an automatically recovering channel registers this
+     * consumer again, which then needs lanes to hand its deliveries to.
+     */
+    @Override
+    public void handleShutdownSignal(String consumerTag, ShutdownSignalException signal) {
+        if (!willRecover(this.getChannel(), signal)) {
+            this.shutdown();
+            return;
+        }
+        LOGGER.info("Channel shut down, waiting for its recovery: {}", signal.getMessage());
+
+        ExecutorService[] previousLanes = this.lanes;
+
+        if (this.ackTracker != null) {
+            this.ackTracker.recovered();
+        }
+        this.lanes = this.newLanes(previousLanes.length);
+
+        for (ExecutorService lane : previousLanes) {
+            lane.shutdown();
+        }
+    }
+
+    /*
+     * Only connection failures are recovered, never the closing of the connection or
+     * of the channel by the application, nor errors closing the channel alone.
+     */
+    static boolean willRecover(Channel channel, ShutdownSignalException signal) {
+        return (channel instanceof Recoverable) && signal.isHardError() && !signal.isInitiatedByApplication();
+    }
+
+    private void dispatch(long deliveryTag, String message) {
+        boolean handled = false;
+
+        try {
+            this.handler.handle(deliveryTag, message);
+
+            handled = true;
+        } finally {
+            if (this.ackTracker != null) {
+                if (handled) {
+                    this.ackTracker.handled(deliveryTag);
+                } else {
+                    this.ackTracker.failed(deliveryTag);
+                }
+            }
+        }
+    }
+
+    /*
+     * The messages already queued are still handled, but their acknowledgements fail
+     * once the channel is closed, and the broker delivers them again.
+     */
+    private void shutdown() {
+        for (ExecutorService lane : this.lanes) {
+            lane.shutdown();
+        }
+    }
+
+    /*
+     * OneView appends the URI of the resource to the routing key of its messages
+     * (e.g. "scmb.enclosures.Updated./rest/enclosures/{id}"), which leaves out
+     * the change type, so that every change of a resource lands on the same lane.
+     */
+    @VisibleForTesting
+    static int laneOf(String routingKey, int lanes) {
+        int hash = 0;
+
+        for (int i = Math.max(routingKey.indexOf('/'), 0); i < routingKey.length(); i++) {
+            hash = 31 * hash + routingKey.charAt(i);
+        }
+        return (hash & Integer.MAX_VALUE) % lanes;
+    }
+
+}
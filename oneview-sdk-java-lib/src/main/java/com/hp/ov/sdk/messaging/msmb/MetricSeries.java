@@ -0,0 +1,95 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.messaging.msmb;
+
+/**
+ * The latest samples of a metric, in two ring buffers of primitives holding the time
+ * and the value of each sample. Samples are only appended in chronological order, so
+ * that the buffers are always sorted from the oldest sample to the newest one.
+ */
+class MetricSeries {
+
+    private final long[] times;
+    private final double[] values;
+
+    private int next;
+    private int size;
+
+    MetricSeries(int capacity) {
+        this.times = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    /*
+     * Returns false when the sample is not newer than the latest one, which happens
+     * when consecutive messages overlap.
+     */
+    synchronized boolean append(long time, double value) {
+        if ((this.size > 0) && (time <= this.times[this.index(this.size - 1)])) {
+            return false;
+        }
+        this.times[this.next] = time;
+        this.values[this.next] = value;
+        this.next = (this.next + 1) % this.times.length;
+
+        if (this.size < this.times.length) {
+            this.size++;
+        }
+        return true;
+    }
+
+    synchronized MetricStatistics statistics(long fromTime, long toTime) {
+        int count = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        long firstTime = 0;
+        long lastTime = 0;
+
+        for (int i = this.size - 1; i >= 0; i--) {
+            int index = this.index(i);
+            long time = this.times[index];
+
+            if (time < fromTime) {
+                break;
+            }
+            if (time > toTime) {
+                continue;
+            }
+            double value = this.values[index];
+
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+            firstTime = time;
+
+            if (count++ == 0) {
+                lastTime = time;
+            }
+        }
+        return new MetricStatistics(count, min, max, sum, firstTime, lastTime);
+    }
+
+    /*
+     * Maps the position of a sample, from 0 for the oldest one, to its buffer index.
+     */
+    private int index(int position) {
+        int oldest = (this.size < this.times.length) ? 0 : this.next;
+
+        return (oldest + position) % this.times.length;
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.messaging.msmb;
+
+/**
+ * The samples of a metric in a window of time.
+ */
+public final class MetricStatistics {
+
+    private final int count;
+    private final double min;
+    private final double max;
+    private final double sum;
+    private final long firstTime;
+    private final long lastTime;
+
+    MetricStatistics(int count, double min, double max, double sum, long firstTime, long lastTime) {
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.sum = sum;
+        this.firstTime = firstTime;
+        this.lastTime = lastTime;
+    }
+
+    /**
+     * @return the number of samples in the window
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return the lowest sample value, or NaN when the window is empty
+     */
+    public double getMin() {
+        return (count == 0) ? Double.NaN : min;
+    }
+
+    /**
+     * @return the highest sample value, or NaN when the window is empty
+     */
+    public double getMax() {
+        return (count == 0) ? Double.NaN : max;
+    }
+
+    /**
+     * @return the average of the sample values, or NaN when the window is empty
+     */
+    public double getAverage() {
+        return (count == 0) ? Double.NaN : sum / count;
+    }
+
+    /**
+     * @return the time (in milliseconds since the epoch) of the oldest sample in the window
+     */
+    public long getFirstTime() {
+        return firstTime;
+    }
+
+    /**
+     * @return the time (in milliseconds since the epoch) of the latest sample in the window
+     */
+    public long getLastTime() {
+        return lastTime;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricStatistics[count=" + count + ", min=" + getMin() + ", max=" + getMax()
+                + ", average=" + getAverage() + "]";
+    }
+
+}
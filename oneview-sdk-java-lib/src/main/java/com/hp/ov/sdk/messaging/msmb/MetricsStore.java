@@ -0,0 +1,175 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.messaging.msmb;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hp.ov.sdk.exceptions.SDKErrorEnum;
+import com.hp.ov.sdk.exceptions.SDKInvalidArgumentException;
+
+/**
+ * Keeps the latest samples of the Metric Streaming Message Bus in memory, for windowed
+ * queries on any metric of any resource. It can be subscribed directly as the handler
+ * of the message bus:
+ *
+ * <pre>
+ * MetricsStore store = new MetricsStore(720);
+ *
+ * messageBusClient.addMsmbHandler("msmb.#", store);
+ * ...
+ * MetricStatistics lastHour = store.statistics(serverUri, "AmbientTemperature", oneHourAgo, now);
+ * </pre>
+ *
+ * <p>Each metric of each resource keeps at most <code>capacity</code> samples, stored as
+ * primitive values rather than as the objects the messages are made of; older samples
+ * are overwritten by newer ones.</p>
+ */
+public class MetricsStore implements MsmbMessageHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsStore.class);
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+    private final int capacity;
+    private final ConcurrentMap<String, ConcurrentMap<String, MetricSeries>> resources = new ConcurrentHashMap<>();
+
+    public MetricsStore(int capacity) {
+        if (capacity <= 0) {
+            throw new SDKInvalidArgumentException(SDKErrorEnum.invalidArgument, "The capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void handleMessage(MsmbMessage message) {
+        if (message.getResource() != null) {
+            this.add(message.getResource());
+        }
+    }
+
+    /**
+     * Stores the samples of the given metric data. The first value of each sample array
+     * was taken at the start time of the data, and the next ones at each sample interval.
+     */
+    public void add(MetricData data) {
+        if ((data.getStartTime() == null) || (data.getSampleIntervalInSeconds() == null)) {
+            LOGGER.debug("Ignoring metric data without start time or sample interval: {}", data.getUri());
+            return;
+        }
+        long startTime = data.getStartTime().getTime();
+        long interval = data.getSampleIntervalInSeconds() * MILLIS_PER_SECOND;
+
+        for (ResourceData resourceData : data.getResourceDataList()) {
+            if (resourceData.getResourceId() == null) {
+                continue;
+            }
+            ConcurrentMap<String, MetricSeries> metrics = this.metricsOf(resourceData.getResourceId());
+
+            for (MetricSample sample : resourceData.getMetricSampleList()) {
+                if (sample.getName() == null) {
+                    continue;
+                }
+                MetricSeries series = this.seriesOf(metrics, sample.getName());
+                List<String> values = sample.getValueArray();
+
+                for (int i = 0; i < values.size(); i++) {
+                    double value = parseValue(values.get(i));
+
+                    if (!Double.isNaN(value)) {
+                        series.append(startTime + i * interval, value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the statistics of a metric of a resource, over the samples taken between
+     * <code>from</code> and <code>to</code> (both inclusive).
+     */
+    public MetricStatistics statistics(String resourceId, String metricName, Date from, Date to) {
+        ConcurrentMap<String, MetricSeries> metrics = this.resources.get(resourceId);
+        MetricSeries series = (metrics == null) ? null : metrics.get(metricName);
+
+        if (series == null) {
+            return new MetricStatistics(0, 0, 0, 0, 0, 0);
+        }
+        return series.statistics(from.getTime(), to.getTime());
+    }
+
+    public Set<String> getResourceIds() {
+        return Collections.unmodifiableSet(this.resources.keySet());
+    }
+
+    public Set<String> getMetricNames(String resourceId) {
+        ConcurrentMap<String, MetricSeries> metrics = this.resources.get(resourceId);
+
+        if (metrics == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(metrics.keySet());
+    }
+
+    private ConcurrentMap<String, MetricSeries> metricsOf(String resourceId) {
+        ConcurrentMap<String, MetricSeries> metrics = this.resources.get(resourceId);
+
+        if (metrics == null) {
+            ConcurrentMap<String, MetricSeries> newMetrics = new ConcurrentHashMap<>();
+
+            metrics = this.resources.putIfAbsent(resourceId, newMetrics);
+
+            if (metrics == null) {
+                metrics = newMetrics;
+            }
+        }
+        return metrics;
+    }
+
+    private MetricSeries seriesOf(ConcurrentMap<String, MetricSeries> metrics, String metricName) {
+        MetricSeries series = metrics.get(metricName);
+
+        if (series == null) {
+            MetricSeries newSeries = new MetricSeries(this.capacity);
+
+            series = metrics.putIfAbsent(metricName, newSeries);
+
+            if (series == null) {
+                series = newSeries;
+            }
+        }
+        return series;
+    }
+
+    private static double parseValue(String value) {
+        if (value == null) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+}
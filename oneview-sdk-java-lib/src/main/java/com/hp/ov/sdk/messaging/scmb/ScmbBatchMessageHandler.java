@@ -0,0 +1,31 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.messaging.scmb;
+
+import java.util.List;
+
+/**
+ * Receives the messages of the State-Changed Message Bus in batches, for instance to
+ * persist each batch in a single round trip. The batches are flushed according to the
+ * batch options of the subscription, and are always delivered one at a time. With
+ * manual acknowledgement, a batch whose handler throws an exception is rejected as a
+ * whole, and delivered again unless the subscription drops failed messages.
+ */
+public interface ScmbBatchMessageHandler {
+
+    void handleMessages(List<ScmbMessage> messages);
+
+}
@@ -0,0 +1,241 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.messaging.scmb;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.hp.ov.sdk.adaptors.ResourceAdaptor;
+import com.hp.ov.sdk.dto.BaseModelResource;
+import com.hp.ov.sdk.exceptions.SDKErrorEnum;
+import com.hp.ov.sdk.exceptions.SDKInvalidArgumentException;
+import com.hp.ov.sdk.messaging.core.ChangeType;
+
+/**
+ * Read-through cache of resources, kept coherent with the appliance by the State-Changed
+ * Message Bus. It must be subscribed as the handler of the message bus for the resources
+ * it caches, with routing keys narrowed to their categories rather than "scmb.#", so that
+ * it is not handed the messages about every other resource of the appliance:
+ *
+ * <pre>
+ * ScmbResourceCache cache = new ScmbResourceCache(1000);
+ *
+ * messageBusClient.addScmbHandler("scmb.ethernet-networks.#", cache);
+ * ...
+ * Network network = cache.getByName(name, Network.class, new Supplier&lt;Network&gt;() {
+ *     public Network get() {
+ *         return oneViewClient.ethernetNetwork().getByName(name).get(0);
+ *     }
+ * });
+ * </pre>
+ *
+ * <p>A resource updated on the appliance is replaced by the version carried by the
+ * message, and a deleted one is evicted. A resource loaded while a message about it
+ * is being handled is not kept, since it may predate the change. The same instance is
+ * handed to every caller, which must not modify it.</p>
+ */
+public class ScmbResourceCache implements ScmbMessageHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScmbResourceCache.class);
+
+    private static final long CHANGE_HISTORY_SIZE = 10000;
+
+    private final ResourceAdaptor adaptor;
+    private final Cache<String, BaseModelResource> resources;
+    private final Cache<String, String> uris;
+    private final Cache<String, Long> changes;
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong forgottenChange = new AtomicLong();
+    private final AtomicInteger loading = new AtomicInteger();
+
+    public ScmbResourceCache(long maximumSize) {
+        this(new ResourceAdaptor(), maximumSize, CHANGE_HISTORY_SIZE);
+    }
+
+    /*
+     * The history of changes is sized on the message traffic during a load rather than on
+     * the number of resources cached: a load is only kept if the changes handled since it
+     * started are all remembered.
+     */
+    @VisibleForTesting
+    ScmbResourceCache(ResourceAdaptor adaptor, long maximumSize, long historySize) {
+        if ((maximumSize <= 0) || (historySize <= 0)) {
+            throw new SDKInvalidArgumentException(SDKErrorEnum.invalidArgument, "The maximum size must be positive");
+        }
+        this.adaptor = adaptor;
+        this.resources = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+        this.uris = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+        this.changes = CacheBuilder.newBuilder().maximumSize(historySize)
+                .removalListener(new RemovalListener<String, Long>() {
+                    @Override
+                    public void onRemoval(RemovalNotification<String, Long> notification) {
+                        if (notification.wasEvicted()) {
+                            forget(notification.getValue());
+                        }
+                    }
+                }).build();
+    }
+
+    /**
+     * Returns the resource identified by the URI, loading it on a cache miss.
+     *
+     * @param resourceUri URI of the resource.
+     * @param resourceType type of the resource.
+     * @param loader retrieves the resource from the appliance.
+     *
+     * @return the cached resource, or the one returned by the loader.
+     */
+    public <T extends BaseModelResource> T getByUri(String resourceUri, Class<T> resourceType, Supplier<T> loader) {
+        BaseModelResource cached = this.resources.getIfPresent(resourceUri);
+
+        if (resourceType.isInstance(cached)) {
+            return resourceType.cast(cached);
+        }
+        this.loading.incrementAndGet();
+        try {
+            long loadedAt = this.clock.get();
+            T resource = loader.get();
+
+            this.store(resource, loadedAt);
+
+            return resource;
+        } finally {
+            this.loading.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the resource of the given type with the given name, loading it on a cache miss.
+     *
+     * @param name name of the resource.
+     * @param resourceType type of the resource.
+     * @param loader retrieves the resource from the appliance.
+     *
+     * @return the cached resource, or the one returned by the loader.
+     */
+    public <T extends BaseModelResource> T getByName(String name, Class<T> resourceType, Supplier<T> loader) {
+        String key = resourceType.getName() + '/' + name;
+        String resourceUri = this.uris.getIfPresent(key);
+
+        if (resourceUri != null) {
+            BaseModelResource cached = this.resources.getIfPresent(resourceUri);
+
+            // a renamed resource no longer answers to its former name
+            if (resourceType.isInstance(cached) && name.equals(cached.getName())) {
+                return resourceType.cast(cached);
+            }
+        }
+        this.loading.incrementAndGet();
+        try {
+            long loadedAt = this.clock.get();
+            T resource = loader.get();
+
+            if (this.store(resource, loadedAt)) {
+                this.uris.put(key, resource.getUri());
+            }
+            return resource;
+        } finally {
+            this.loading.decrementAndGet();
+        }
+    }
+
+    public void invalidateAll() {
+        this.forget(this.clock.incrementAndGet());
+        this.resources.invalidateAll();
+        this.uris.invalidateAll();
+    }
+
+    @Override
+    public void handleMessage(ScmbMessage message) {
+        String resourceUri = message.getResourceUri();
+
+        if (resourceUri == null) {
+            return;
+        }
+        long change = this.clock.incrementAndGet();
+
+        // a load starting after the check reads the clock after the change, hence reflects it
+        if (this.loading.get() > 0) {
+            this.changes.put(resourceUri, change);
+        }
+
+        BaseModelResource cached = this.resources.getIfPresent(resourceUri);
+
+        if (cached == null) {
+            return;
+        }
+        if ((message.getChangeType() == ChangeType.Updated) && StringUtils.isNotBlank(message.getResource())) {
+            try {
+                this.resources.put(resourceUri, this.adaptor.buildResource(message.getResource(), cached.getClass()));
+
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.debug("Could not read the updated resource {} from the message", resourceUri, e);
+            }
+        }
+        this.resources.invalidate(resourceUri);
+    }
+
+    /*
+     * A message about the resource handled after the load started may describe a change
+     * the loaded resource does not reflect. The resource is stored before checking, so
+     * either this check sees the message, or the message handling sees the stored resource.
+     */
+    private boolean store(BaseModelResource resource, long loadedAt) {
+        if ((resource == null) || (resource.getUri() == null)) {
+            return false;
+        }
+        this.resources.put(resource.getUri(), resource);
+
+        if (this.lastChange(resource.getUri()) > loadedAt) {
+            this.resources.invalidate(resource.getUri());
+
+            return false;
+        }
+        return true;
+    }
+
+    /*
+     * The changes evicted from the bounded history are only known to be no later than
+     * the latest of them, which therefore stands for the last change of any resource
+     * missing from the history.
+     */
+    private long lastChange(String resourceUri) {
+        Long change = this.changes.getIfPresent(resourceUri);
+
+        return Math.max((change == null) ? 0 : change, this.forgottenChange.get());
+    }
+
+    private void forget(long change) {
+        long forgotten;
+
+        do {
+            forgotten = this.forgottenChange.get();
+        } while ((change > forgotten) && !this.forgottenChange.compareAndSet(forgotten, change));
+    }
+
+}
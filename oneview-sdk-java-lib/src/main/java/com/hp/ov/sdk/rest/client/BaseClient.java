@@ -17,20 +17,31 @@
 package com.hp.ov.sdk.rest.client;
 
 import java.lang.reflect.Type;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.google.common.base.Function;
 import com.google.common.base.Supplier;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.hp.ov.sdk.adaptors.ResourceAdaptor;
 import com.hp.ov.sdk.constants.SdkConstants;
 import com.hp.ov.sdk.dto.TaskResource;
 import com.hp.ov.sdk.exceptions.SDKErrorEnum;
 import com.hp.ov.sdk.exceptions.SDKInvalidArgumentException;
 import com.hp.ov.sdk.exceptions.SDKNoResponseException;
+import com.hp.ov.sdk.exceptions.SDKUnauthorizedException;
+import com.hp.ov.sdk.rest.client.security.LoginSessionClient;
 import com.hp.ov.sdk.rest.http.core.SSLContextFactory;
 import com.hp.ov.sdk.rest.http.core.client.HttpRestClient;
 import com.hp.ov.sdk.rest.http.core.client.Request;
+import com.hp.ov.sdk.rest.http.core.client.RequestMetricsListener;
 import com.hp.ov.sdk.rest.http.core.client.SDKConfiguration;
+import com.hp.ov.sdk.rest.http.core.client.TransferStatistics;
+import com.hp.ov.sdk.tasks.TaskChangeNotifier;
 import com.hp.ov.sdk.tasks.TaskMonitor;
 
 public class BaseClient {
@@ -39,19 +50,25 @@ public class BaseClient {
     private final HttpRestClient client;
     private final Supplier<TaskMonitor> supplier;
     private final String hostname;
+    private final ExecutorService pageExecutor;
+    private final RequestCoalescer coalescer;
 
-    private String sessionId;
+    private volatile String sessionId;
+    private volatile SessionManager sessionManager;
+    private volatile TaskChangeNotifier taskChangeNotifier;
 
-    public BaseClient(SDKConfiguration config, String hostname) {
+    public BaseClient(final SDKConfiguration config, String hostname) {
         this(new ResourceAdaptor(),
              new HttpRestClient(config, SSLContextFactory.getContext(config)),
              new Supplier<TaskMonitor>() {
                 @Override
                 public TaskMonitor get() {
-                    return new TaskMonitor();
+                    return new TaskMonitor(config.getTaskMonitorMinInterval(), config.getTaskMonitorMaxInterval());
                 }
              },
-             hostname
+             hostname,
+             config.isClientParallelPaginationEnabled() ? newPageExecutor(config) : null,
+             config.isClientRequestCoalescingEnabled() ? new RequestCoalescer() : null
         );
     }
 
@@ -61,10 +78,49 @@ public class BaseClient {
             Supplier<TaskMonitor> supplier,
             String hostname) {
 
+        this(adaptor, client, supplier, hostname, null);
+    }
+
+    protected BaseClient(
+            ResourceAdaptor adaptor,
+            HttpRestClient client,
+            Supplier<TaskMonitor> supplier,
+            String hostname,
+            ExecutorService pageExecutor) {
+
+        this(adaptor, client, supplier, hostname, pageExecutor, null);
+    }
+
+    BaseClient(
+            ResourceAdaptor adaptor,
+            HttpRestClient client,
+            Supplier<TaskMonitor> supplier,
+            String hostname,
+            ExecutorService pageExecutor,
+            RequestCoalescer coalescer) {
+
         this.adaptor = adaptor;
         this.client = client;
         this.supplier = supplier;
         this.hostname = hostname;
+        this.pageExecutor = pageExecutor;
+        this.coalescer = coalescer;
+    }
+
+    /*
+     * Every page in flight holds a thread until its response is read, so the pool is
+     * bounded by the size of the HTTP connection pool; further pages wait in the queue.
+     */
+    private static ExecutorService newPageExecutor(SDKConfiguration config) {
+        int threads = config.getClientMaxNumberOfConnections();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("oneview-sdk-page-%d").build());
+
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
     }
 
     public void setSessionId(String sessionId) {
@@ -72,29 +128,86 @@ public class BaseClient {
     }
 
     public String getSessionId() {
-        return this.sessionId;
+        SessionManager manager = this.sessionManager;
+
+        return (manager == null) ? this.sessionId : manager.getSessionId();
+    }
+
+    /**
+     * Registers the manager providing the session of the requests. Once registered, a
+     * request rejected because of an expired session is sent again (once) with the
+     * session obtained by the manager.
+     *
+     * @param sessionManager the session manager, or <code>null</code> to use the
+     *                       session ID set on this client.
+     */
+    public void setSessionManager(SessionManager sessionManager) {
+        this.sessionManager = sessionManager;
+    }
+
+    public SessionManager getSessionManager() {
+        return this.sessionManager;
+    }
+
+    /**
+     * Registers the notifier used to wake up task monitoring as soon as the State-Changed
+     * Message Bus reports a change on a monitored task.
+     *
+     * @param taskChangeNotifier the notifier, or <code>null</code> to rely on polling only.
+     */
+    public void setTaskChangeNotifier(TaskChangeNotifier taskChangeNotifier) {
+        this.taskChangeNotifier = taskChangeNotifier;
+    }
+
+    public TaskChangeNotifier getTaskChangeNotifier() {
+        return this.taskChangeNotifier;
+    }
+
+    /**
+     * Returns the executor used to fetch the pages of a collection concurrently.
+     *
+     * @return the pagination executor, or <code>null</code> when parallel pagination
+     * is disabled (see {@link SDKConfiguration#isClientParallelPaginationEnabled()}).
+     */
+    public ExecutorService getPageExecutor() {
+        return this.pageExecutor;
+    }
+
+    /**
+     * Returns the counters of the responses received by this client.
+     *
+     * @return the transfer statistics of the HTTP client.
+     */
+    public TransferStatistics getTransferStatistics() {
+        return this.client.getTransferStatistics();
+    }
+
+    /**
+     * Registers the listener measuring every request sent by this client.
+     *
+     * @param metricsListener the listener, or <code>null</code> to stop measuring requests.
+     */
+    public void setRequestMetricsListener(RequestMetricsListener metricsListener) {
+        this.client.setRequestMetricsListener(metricsListener);
     }
 
     public Object executeRequest(Request request, Type returnType) {
         this.validateNotNullArguments(request, returnType);
 
-        String response = this.executeRequest(request);
-
         if (String.class.equals(returnType)) {
-            return response;
+            return this.executeRequest(request);
         }
-        return adaptor.buildResource(response, returnType);
+        return this.executeRequestForResource(request, returnType);
     }
 
+    @SuppressWarnings("unchecked")
     public <T> T executeRequest(Request request, Class<T> returnType) {
         this.validateNotNullArguments(request, returnType);
 
-        String response = this.executeRequest(request);
-
         if (String.class.equals(returnType)) {
-            return (T) response;
+            return (T) this.executeRequest(request);
         }
-        return adaptor.buildResource(response, returnType);
+        return returnType.cast(this.executeRequestForResource(request, returnType));
     }
 
     public TaskResource executeMonitorableRequest(Request request) {
@@ -104,7 +217,9 @@ public class BaseClient {
 
         TaskResource taskResource = adaptor.buildResource(response, TaskResource.class);
 
-        taskResource = supplier.get().execute(this, taskResource, request.getTimeout());
+        if (request.isMonitorTask()) {
+            taskResource = supplier.get().execute(this, taskResource, request.getTimeout());
+        }
 
         return taskResource;
     }
@@ -117,10 +232,15 @@ public class BaseClient {
         }
     }
 
-    private String executeRequest(Request request) {
+    private String executeRequest(final Request request) {
         request.setHostname(this.hostname);
 
-        String response = client.sendRequest(sessionId, request);
+        String response = this.coalesce(request, String.class, new Function<String, String>() {
+            @Override
+            public String apply(String sessionId) {
+                return client.sendRequest(sessionId, request);
+            }
+        });
 
         if (StringUtils.isBlank(response)) {
             throw new SDKNoResponseException(SDKErrorEnum.noResponseFromAppliance, request.getUri());
@@ -128,6 +248,73 @@ public class BaseClient {
         return response;
     }
 
-}
+    private Object executeRequestForResource(final Request request, final Type returnType) {
+        request.setHostname(this.hostname);
+
+        Object resource;
+
+        if ((this.coalescer != null) && RequestCoalescer.accepts(request)) {
+            // the callers sharing a response each get a resource of their own
+            String body = this.coalesce(request, returnType, new Function<String, String>() {
+                @Override
+                public String apply(String sessionId) {
+                    return client.sendRequestForBody(sessionId, request, returnType);
+                }
+            });
+
+            resource = client.toResource(body, returnType);
+        } else {
+            resource = this.withSession(request, new Function<String, Object>() {
+                @Override
+                public Object apply(String sessionId) {
+                    return client.sendRequest(sessionId, request, returnType);
+                }
+            });
+        }
+
+        if (resource == null) {
+            throw new SDKNoResponseException(SDKErrorEnum.noResponseFromAppliance, request.getUri());
+        }
+        return resource;
+    }
+
+    /*
+     * Requests are coalesced before the session is renewed, so that the callers waiting on
+     * a request rejected for an expired session get the response of the renewed one.
+     */
+    private <T> T coalesce(final Request request, Type returnType, final Function<String, T> send) {
+        RequestCoalescer coalescer = this.coalescer;
+
+        if ((coalescer == null) || !RequestCoalescer.accepts(request)) {
+            return this.withSession(request, send);
+        }
+        return coalescer.execute(request, this.getSessionId(), returnType, new Supplier<T>() {
+            @Override
+            public T get() {
+                return withSession(request, send);
+            }
+        });
+    }
+
+    /*
+     * Login requests never carry a session, nor are they retried, which keeps a login
+     * attempted by the session manager from triggering another one.
+     */
+    private <T> T withSession(Request request, Function<String, T> send) {
+        if (LoginSessionClient.LOGIN_SESSIONS_URI.equals(request.getUri())) {
+            return send.apply(null);
+        }
+        String sessionId = this.getSessionId();
+        SessionManager manager = this.sessionManager;
 
+        try {
+            return send.apply(sessionId);
+        } catch (SDKUnauthorizedException e) {
+            if ((manager == null) || (sessionId == null)) {
+                throw e;
+            }
+            return send.apply(manager.renew(sessionId));
+        }
+    }
 
+}
@@ -16,6 +16,10 @@
 
 package com.hp.ov.sdk.rest.client;
 
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Function;
+import com.google.common.base.Supplier;
 import com.hp.ov.sdk.rest.client.activity.AlertClient;
 import com.hp.ov.sdk.rest.client.facilities.DataCenterClient;
 import com.hp.ov.sdk.rest.client.facilities.PowerDeliveryDeviceClient;
@@ -67,29 +71,110 @@ import com.hp.ov.sdk.rest.client.storage.StorageSystemClient;
 import com.hp.ov.sdk.rest.client.storage.StorageVolumeAttachmentClient;
 import com.hp.ov.sdk.rest.client.storage.StorageVolumeClient;
 import com.hp.ov.sdk.rest.client.storage.StorageVolumeTemplateClient;
+import com.hp.ov.sdk.rest.http.core.client.RequestMetricsListener;
 import com.hp.ov.sdk.rest.http.core.client.SDKConfiguration;
+import com.hp.ov.sdk.rest.http.core.client.TransferStatistics;
+import com.hp.ov.sdk.tasks.TaskChangeNotifier;
+import com.hp.ov.sdk.tasks.TaskWaiter;
 import com.hp.ov.sdk.util.OneViewConnector;
 import com.hpe.core.AbstractClient;
 
 public class OneViewClient extends AbstractClient {
 
+    private final SDKConfiguration config;
     private final BaseClient baseClient;
+    private final SessionManager sessionManager;
 
     private MessagingCertificateClient certificateClient;
+    private TaskWaiter taskWaiter;
 
     public OneViewClient(SDKConfiguration config) {
+        this.config = config;
         this.baseClient = new BaseClient(config, config.getOneViewHostname());
 
-        OneViewConnector connector = new OneViewConnector(
+        final OneViewConnector connector = new OneViewConnector(
                 config, this.versionClient(), this.loginClient());
 
-        this.baseClient.setSessionId(connector.connect());
+        this.sessionManager = new SessionManager(new Supplier<String>() {
+            @Override
+            public String get() {
+                return connector.login();
+            }
+        }, new Function<String, Void>() {
+            @Override
+            public Void apply(String sessionId) {
+                connector.logout(sessionId);
+                return null;
+            }
+        }, connector.connect());
+
+        this.baseClient.setSessionManager(this.sessionManager);
+
+        if (config.getSessionRefreshInterval() > 0) {
+            this.sessionManager.startRefreshing(TimeUnit.MINUTES.toMillis(config.getSessionRefreshInterval()));
+        }
     }
 
     public String getSessionId() {
         return this.baseClient.getSessionId();
     }
 
+    /**
+     * Returns the manager of the session of this client, which logs in again when the
+     * session expires. Other clients (such as the Image Streamer one) may share it.
+     *
+     * @return the session manager of this client.
+     */
+    public SessionManager getSessionManager() {
+        return this.sessionManager;
+    }
+
+    /**
+     * Returns the counters of the responses received from the appliance, such as the
+     * bytes received on the wire and the content they carry, which tell how effective
+     * response compression is.
+     *
+     * @return the transfer statistics of this client.
+     */
+    public TransferStatistics getTransferStatistics() {
+        return this.baseClient.getTransferStatistics();
+    }
+
+    /**
+     * Registers the listener measuring every request sent to the appliance, such as a
+     * {@link com.hp.ov.sdk.rest.http.core.metrics.RequestMetricsRecorder}.
+     *
+     * @param metricsListener the listener, or <code>null</code> to stop measuring requests.
+     */
+    public void setRequestMetricsListener(RequestMetricsListener metricsListener) {
+        this.baseClient.setRequestMetricsListener(metricsListener);
+    }
+
+    /**
+     * Registers a {@link TaskChangeNotifier} so that the tasks started through this client
+     * complete as soon as the State-Changed Message Bus reports their changes.
+     *
+     * @param notifier the notifier subscribed to {@link TaskChangeNotifier#ROUTING_KEY},
+     *                 or <code>null</code> to rely on polling only.
+     */
+    public void setTaskChangeNotifier(TaskChangeNotifier notifier) {
+        this.baseClient.setTaskChangeNotifier(notifier);
+    }
+
+    /**
+     * Creates or retrieves an existing instance of {@link TaskWaiter}.
+     * The waiter tracks the completion of many tasks with a single poller, which queries
+     * the tasks at the maximum task monitor interval of the SDK configuration.
+     *
+     * @return a service to wait for several tasks at once.
+     */
+    public synchronized TaskWaiter taskWaiter() {
+        if (this.taskWaiter == null) {
+            this.taskWaiter = new TaskWaiter(this.baseClient, this.config.getTaskMonitorMaxInterval());
+        }
+        return this.taskWaiter;
+    }
+
     @Override
     protected BaseClient baseClient() {
         return this.baseClient;
@@ -0,0 +1,155 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.client;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.http.Header;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Objects;
+import com.google.common.base.Supplier;
+import com.google.common.util.concurrent.SettableFuture;
+import com.hp.ov.sdk.exceptions.SDKErrorEnum;
+import com.hp.ov.sdk.exceptions.SDKInternalException;
+import com.hp.ov.sdk.rest.http.core.HttpMethod;
+import com.hp.ov.sdk.rest.http.core.UrlParameter;
+import com.hp.ov.sdk.rest.http.core.client.Request;
+
+/**
+ * Lets identical GET requests sent at the same time share a single HTTP exchange: the
+ * first one is sent, the others wait for its outcome, be it the response or the
+ * exception it failed with. Nothing is kept once the response is received. The response
+ * is shared as it was read, so that every caller decodes a resource of its own.
+ *
+ * <p>The API version takes no part in telling requests apart: it is the one of the
+ * configuration of the client, which every request of a coalescer shares.</p>
+ */
+final class RequestCoalescer {
+
+    private final ConcurrentMap<Key, SettableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    /*
+     * Downloads write to a file of their own, so each of them is sent.
+     */
+    static boolean accepts(Request request) {
+        return (request.getType() == HttpMethod.GET)
+                && (request.getDownloadPath() == null)
+                && (request.getDownloadListener() == null);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T execute(Request request, String sessionId, Type returnType, Supplier<T> send) {
+        Key key = new Key(request, sessionId, returnType);
+        SettableFuture<Object> future = SettableFuture.create();
+        SettableFuture<Object> sent = this.inFlight.putIfAbsent(key, future);
+
+        if (sent != null) {
+            return (T) await(sent);
+        }
+        try {
+            T response = send.get();
+
+            future.set(response);
+
+            return response;
+        } catch (RuntimeException | Error e) {
+            future.setException(e);
+
+            throw e;
+        } finally {
+            this.inFlight.remove(key, future);
+        }
+    }
+
+    private static Object await(SettableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new SDKInternalException(SDKErrorEnum.internalError,
+                    "Interrupted while waiting for the response of an identical request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    @VisibleForTesting
+    int getInFlightCount() {
+        return this.inFlight.size();
+    }
+
+    private static final class Key {
+
+        private final HttpMethod method;
+        private final String hostname;
+        private final String uri;
+        private final List<UrlParameter> query;
+        private final List<String> headers;
+        private final String sessionId;
+        private final Type returnType;
+        private final int hashCode;
+
+        Key(Request request, String sessionId, Type returnType) {
+            this.method = request.getType();
+            this.hostname = request.getHostname();
+            this.uri = request.getUri();
+            this.query = request.getQuery();
+            this.headers = new ArrayList<>();
+            this.sessionId = sessionId;
+            this.returnType = returnType;
+
+            for (Header header : request.getHeaders()) {
+                this.headers.add(header.getName() + ": " + header.getValue());
+            }
+            this.hashCode = Objects.hashCode(method, hostname, uri, query, headers,
+                    sessionId, returnType);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+
+            return (this.method == other.method)
+                    && Objects.equal(this.hostname, other.hostname)
+                    && Objects.equal(this.uri, other.uri)
+                    && this.query.equals(other.query)
+                    && this.headers.equals(other.headers)
+                    && Objects.equal(this.sessionId, other.sessionId)
+                    && Objects.equal(this.returnType, other.returnType);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+}
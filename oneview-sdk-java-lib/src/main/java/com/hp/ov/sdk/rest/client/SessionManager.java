@@ -0,0 +1,161 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.client;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Function;
+import com.google.common.base.Supplier;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Holds the session shared by the clients connected with the same credentials, and
+ * logs in again whenever that session is no longer accepted by the appliance.
+ *
+ * <p>When several requests fail at once because the session expired, only the first
+ * one to ask for a new session actually logs in; the others get the session it obtained,
+ * since they report the same expired session. The session can also be refreshed
+ * proactively, at a fixed interval, so that it never expires in the first place; the
+ * session it replaces is then logged out, and the requests still carrying it get the
+ * new session once rejected.</p>
+ */
+public class SessionManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionManager.class);
+
+    private final Supplier<String> login;
+    private final Function<String, ?> logout;
+
+    private volatile String sessionId;
+    private ScheduledExecutorService refresher;
+
+    /**
+     * @param login logs in to the appliance and returns the new session ID.
+     * @param sessionId the current session ID.
+     */
+    public SessionManager(Supplier<String> login, String sessionId) {
+        this(login, null, sessionId);
+    }
+
+    /**
+     * @param login logs in to the appliance and returns the new session ID.
+     * @param logout logs out of the appliance the session whose ID it is given, or
+     * <code>null</code> to let the refreshed sessions expire.
+     * @param sessionId the current session ID.
+     */
+    public SessionManager(Supplier<String> login, Function<String, ?> logout, String sessionId) {
+        this.login = login;
+        this.logout = logout;
+        this.sessionId = sessionId;
+    }
+
+    public String getSessionId() {
+        return this.sessionId;
+    }
+
+    /**
+     * Logs in, replacing the current session.
+     *
+     * @return the new session ID.
+     */
+    public synchronized String login() {
+        this.sessionId = this.login.get();
+
+        return this.sessionId;
+    }
+
+    /**
+     * Returns a session to replace the one rejected by the appliance, logging in again
+     * only if no other thread has already replaced it.
+     *
+     * @param rejectedSessionId the session ID rejected by the appliance.
+     *
+     * @return the new session ID.
+     */
+    public synchronized String renew(String rejectedSessionId) {
+        if ((this.sessionId != null) && !this.sessionId.equals(rejectedSessionId)) {
+            return this.sessionId;
+        }
+        LOGGER.info("Session rejected by the appliance, logging in again");
+
+        return this.login();
+    }
+
+    /**
+     * Logs in again, replacing the current session, then logs out the replaced one so
+     * that it does not stay open on the appliance until it expires. A failed logout
+     * only leaves the replaced session to expire.
+     *
+     * @return the new session ID.
+     */
+    public String refresh() {
+        String replacedSessionId;
+        String newSessionId;
+
+        synchronized (this) {
+            replacedSessionId = this.sessionId;
+            newSessionId = this.login();
+        }
+        if ((this.logout != null) && (replacedSessionId != null) && !replacedSessionId.equals(newSessionId)) {
+            try {
+                this.logout.apply(replacedSessionId);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not log out the replaced session", e);
+            }
+        }
+        return newSessionId;
+    }
+
+    /**
+     * Refreshes the session every <code>intervalMillis</code>, on a daemon thread. A failed
+     * refresh keeps the current session, which is renewed on demand if it expires.
+     *
+     * @param intervalMillis the time between two refreshes, in milliseconds.
+     */
+    public synchronized void startRefreshing(long intervalMillis) {
+        if (this.refresher != null) {
+            return;
+        }
+        this.refresher = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("oneview-sdk-session-refresh-%d")
+                .setDaemon(true)
+                .build());
+
+        this.refresher.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    SessionManager.this.refresh();
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Could not refresh the session", e);
+                }
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopRefreshing() {
+        if (this.refresher != null) {
+            this.refresher.shutdownNow();
+            this.refresher = null;
+        }
+    }
+
+}
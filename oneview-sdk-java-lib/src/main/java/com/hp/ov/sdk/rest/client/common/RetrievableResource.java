@@ -16,6 +16,8 @@
 
 package com.hp.ov.sdk.rest.client.common;
 
+import java.util.Iterator;
+
 import com.hp.ov.sdk.dto.ResourceCollection;
 import com.hp.ov.sdk.rest.http.core.URIQuery;
 import com.hp.ov.sdk.rest.reflect.Endpoint;
@@ -76,4 +78,26 @@ public interface RetrievableResource<T> {
     @Endpoint
     ResourceCollection<T> getAll(@QueryParam(key = URIQuery.COUNT) int count);
 
+    /**
+     * Retrieves an {@link Iterator} over <b>all</b> available resources of type &lt;T&gt; found
+     * under the current HPE OneView. The pages are requested lazily, as the iterator advances,
+     * so only one page of resources is kept in memory at a time.
+     *
+     * @return {@link Iterator} over the available resources.
+     */
+    @Endpoint
+    Iterator<T> iterate();
+
+    /**
+     * Retrieves an {@link Iterator} over <b>all</b> available resources of type &lt;T&gt; found
+     * under the current HPE OneView that match the provided query. The pages are requested
+     * lazily, as the iterator advances, so only one page of resources is kept in memory at a time.
+     *
+     * @param query URI query containing the parameters that should be used to build the request.
+     *
+     * @return {@link Iterator} over the available resources.
+     */
+    @Endpoint
+    Iterator<T> iterate(@QueryParam URIQuery query);
+
 }
@@ -0,0 +1,64 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.client.federation;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * A resource returned by one of the appliances of a {@link FederatedOneViewClient},
+ * along with the name of that appliance.
+ *
+ * @param <T> type of the resource.
+ */
+public class ApplianceResource<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String appliance;
+    private final T resource;
+
+    public ApplianceResource(String appliance, T resource) {
+        this.appliance = appliance;
+        this.resource = resource;
+    }
+
+    public String getAppliance() {
+        return appliance;
+    }
+
+    public T getResource() {
+        return resource;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return EqualsBuilder.reflectionEquals(this, obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.client.federation;
+
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.hp.ov.sdk.dto.ResourceCollection;
+
+/**
+ * The members of the collections returned by the appliances of a
+ * {@link FederatedOneViewClient}, each one tagged with its appliance. The total is the
+ * sum of the totals of the appliances that answered.
+ *
+ * @param <T> type of the members of the collections.
+ */
+public class FederatedCollection<T> extends ResourceCollection<ApplianceResource<T>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, Exception> failures;
+
+    FederatedCollection(Map<String, Exception> failures) {
+        this.failures = ImmutableMap.copyOf(failures);
+    }
+
+    /**
+     * @return the failure of each appliance whose members are missing, by appliance name.
+     */
+    public Map<String, Exception> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return <code>true</code> when the members of every appliance are there.
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+}
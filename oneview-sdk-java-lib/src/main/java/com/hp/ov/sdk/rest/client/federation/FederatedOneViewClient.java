@@ -0,0 +1,209 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.client.federation;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.hp.ov.sdk.dto.ResourceCollection;
+import com.hp.ov.sdk.exceptions.SDKErrorEnum;
+import com.hp.ov.sdk.exceptions.SDKInternalException;
+import com.hp.ov.sdk.exceptions.SDKInvalidArgumentException;
+import com.hp.ov.sdk.rest.client.OneViewClient;
+
+/**
+ * Runs queries against several appliances at once, each one through its own
+ * {@link OneViewClient}. For instance, to look for a server hardware on every appliance:
+ *
+ * <pre>
+ * FederatedCollection&lt;ServerHardware&gt; servers = federation.getAll(
+ *         new Function&lt;OneViewClient, ResourceCollection&lt;ServerHardware&gt;&gt;() {
+ *             public ResourceCollection&lt;ServerHardware&gt; apply(OneViewClient client) {
+ *                 return client.serverHardware().getByName(name);
+ *             }
+ *         }, 30, TimeUnit.SECONDS);
+ * </pre>
+ *
+ * The appliances are queried concurrently, and the ones that do not answer within the
+ * timeout, or fail, are left out of the result instead of failing the whole query.
+ */
+public class FederatedOneViewClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FederatedOneViewClient.class);
+
+    private final Map<String, OneViewClient> appliances;
+    private final ExecutorService executor;
+
+    /**
+     * @param appliances the client of each appliance, by appliance name.
+     */
+    public FederatedOneViewClient(Map<String, OneViewClient> appliances) {
+        this(appliances, Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setDaemon(true).setNameFormat("oneview-sdk-federation-%d").build()));
+    }
+
+    /**
+     * @param appliances the client of each appliance, by appliance name.
+     * @param executor the executor running the queries. Since an appliance only gets its
+     *                 timeout once its query runs, it should not queue them.
+     */
+    public FederatedOneViewClient(Map<String, OneViewClient> appliances, ExecutorService executor) {
+        if ((appliances == null) || appliances.isEmpty()) {
+            throw new SDKInvalidArgumentException(SDKErrorEnum.invalidArgument, "appliances");
+        }
+        this.appliances = ImmutableMap.copyOf(appliances);
+        this.executor = executor;
+    }
+
+    public Map<String, OneViewClient> getAppliances() {
+        return appliances;
+    }
+
+    public OneViewClient getAppliance(String name) {
+        return appliances.get(name);
+    }
+
+    /**
+     * Runs the query against every appliance concurrently.
+     *
+     * @param query the query to run with the client of each appliance.
+     * @param timeout how long to wait for each appliance.
+     * @param unit unit of the timeout.
+     * @param <T> type of the result of the query.
+     *
+     * @return the results of the appliances that answered within the timeout, and the
+     * failures of the others.
+     */
+    public <T> FederatedResult<T> query(final Function<? super OneViewClient, T> query,
+            long timeout, TimeUnit unit) {
+
+        Map<String, Future<T>> futures = new LinkedHashMap<>();
+
+        for (final Map.Entry<String, OneViewClient> appliance : appliances.entrySet()) {
+            futures.put(appliance.getKey(), executor.submit(new Callable<T>() {
+                @Override
+                public T call() {
+                    return query.apply(appliance.getValue());
+                }
+            }));
+        }
+
+        /*
+         * All queries start together, so a single deadline gives each appliance
+         * the whole timeout, however long the ones before it took.
+         */
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        Map<String, T> results = new LinkedHashMap<>();
+        Map<String, Exception> failures = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Future<T>> future : futures.entrySet()) {
+            String appliance = future.getKey();
+
+            try {
+                results.put(appliance, future.getValue().get(
+                        Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS));
+            } catch (ExecutionException e) {
+                LOGGER.warn("Query of appliance {} failed", appliance, e.getCause());
+
+                failures.put(appliance, asException(e.getCause()));
+            } catch (TimeoutException e) {
+                LOGGER.warn("Appliance {} did not answer within {} {}", appliance, timeout, unit);
+
+                future.getValue().cancel(true);
+                failures.put(appliance, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                for (Future<T> pending : futures.values()) {
+                    pending.cancel(true);
+                }
+                throw new SDKInternalException(SDKErrorEnum.internalError,
+                        "Interrupted while waiting for the appliances", e);
+            }
+        }
+        return new FederatedResult<>(results, failures);
+    }
+
+    /**
+     * Runs the query against every appliance concurrently, and merges the collections
+     * they return.
+     *
+     * @param query the query to run with the client of each appliance.
+     * @param timeout how long to wait for each appliance.
+     * @param unit unit of the timeout.
+     * @param <T> type of the members of the collections.
+     *
+     * @return the members of the appliances that answered within the timeout, tagged
+     * with their appliance, and the failures of the others.
+     */
+    public <T> FederatedCollection<T> getAll(Function<? super OneViewClient, ResourceCollection<T>> query,
+            long timeout, TimeUnit unit) {
+
+        FederatedResult<ResourceCollection<T>> result = this.query(query, timeout, unit);
+        FederatedCollection<T> collection = new FederatedCollection<>(result.getFailures());
+        int total = 0;
+
+        for (Map.Entry<String, ResourceCollection<T>> appliance : result.getResults().entrySet()) {
+            ResourceCollection<T> members = appliance.getValue();
+
+            if (members == null) {
+                continue;
+            }
+            List<ApplianceResource<T>> tagged = new ArrayList<>(members.getCount());
+            Iterator<T> iterator = members.iterator();
+
+            while (iterator.hasNext()) {
+                tagged.add(new ApplianceResource<>(appliance.getKey(), iterator.next()));
+            }
+            collection.addMembers(tagged);
+            total += members.getTotal();
+        }
+        collection.setTotal(total);
+
+        return collection;
+    }
+
+    /**
+     * Shuts the executor down once the running queries are over.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static Exception asException(Throwable cause) {
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return (Exception) cause;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.client.federation;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Outcome of a query run against every appliance of a {@link FederatedOneViewClient}:
+ * the result of each appliance that answered in time, and the reason why each of the
+ * others did not (a {@link java.util.concurrent.TimeoutException} when it was too slow).
+ *
+ * @param <T> type of the result of the query.
+ */
+public class FederatedResult<T> {
+
+    private final Map<String, T> results;
+    private final Map<String, Exception> failures;
+
+    FederatedResult(Map<String, T> results, Map<String, Exception> failures) {
+        this.results = Collections.unmodifiableMap(results);
+        this.failures = ImmutableMap.copyOf(failures);
+    }
+
+    /**
+     * @return the result of each appliance that answered, by appliance name, in the
+     * order of the appliances of the client.
+     */
+    public Map<String, T> getResults() {
+        return results;
+    }
+
+    /**
+     * @return the failure of each appliance that did not answer, by appliance name.
+     */
+    public Map<String, Exception> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return <code>true</code> when every appliance answered.
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+}
@@ -16,12 +16,14 @@
 
 package com.hp.ov.sdk.rest.client.security;
 
+import com.hp.ov.sdk.constants.SdkConstants;
 import com.hp.ov.sdk.dto.security.login.LoginInformation;
 import com.hp.ov.sdk.dto.security.login.LoginSession;
 import com.hp.ov.sdk.rest.http.core.HttpMethod;
 import com.hp.ov.sdk.rest.reflect.Api;
 import com.hp.ov.sdk.rest.reflect.BodyParam;
 import com.hp.ov.sdk.rest.reflect.Endpoint;
+import com.hp.ov.sdk.rest.reflect.HeaderParam;
 
 @Api(LoginSessionClient.LOGIN_SESSIONS_URI)
 public interface LoginSessionClient {
@@ -40,4 +42,15 @@ public interface LoginSessionClient {
     @Endpoint(method = HttpMethod.POST)
     LoginSession authenticate(@BodyParam LoginInformation loginInformation);
 
+    /**
+     * Ends the session identified by the provided <code>sessionId</code>, which may
+     * differ from the session currently used by the client.
+     *
+     * @param sessionId the ID of the session to end.
+     *
+     * @return the response of the request, as a {@link String}.
+     */
+    @Endpoint(method = HttpMethod.DELETE)
+    String logout(@HeaderParam(SdkConstants.AUTH_HEADER) String sessionId);
+
 }
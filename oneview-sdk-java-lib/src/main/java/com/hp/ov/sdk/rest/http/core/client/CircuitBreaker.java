@@ -0,0 +1,96 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.client;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Ticker;
+
+/**
+ * Stops sending requests to an appliance after a number of consecutive transient
+ * failures, so that callers fail fast instead of waiting on an unhealthy appliance.
+ * Once the open interval elapses, a single request is let through: the circuit closes
+ * again if it succeeds, and stays open for another interval otherwise.
+ */
+class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Ticker ticker;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+
+    CircuitBreaker(int failureThreshold, long openIntervalMillis, Ticker ticker) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openIntervalMillis);
+        this.ticker = ticker;
+    }
+
+    /**
+     * Tells whether a request may be sent. Every request allowed must be followed by a
+     * call to {@link #onSuccess()}, {@link #onFailure()} or {@link #release()}.
+     *
+     * @return <code>false</code> if the request must fail fast.
+     */
+    synchronized boolean tryAcquire() {
+        switch (this.state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (this.ticker.read() - this.openedAt >= this.openNanos) {
+                    this.state = State.HALF_OPEN;
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    synchronized void onSuccess() {
+        this.failures = 0;
+        this.state = State.CLOSED;
+    }
+
+    synchronized void onFailure() {
+        if ((this.state == State.HALF_OPEN) || (++this.failures >= this.failureThreshold)) {
+            this.state = State.OPEN;
+            this.openedAt = this.ticker.read();
+        }
+    }
+
+    /**
+     * Ends a request whose outcome says nothing about the health of the appliance. If it
+     * was the trial request, the next one is let through instead.
+     */
+    synchronized void release() {
+        if (this.state == State.HALF_OPEN) {
+            this.state = State.OPEN;
+        }
+    }
+
+    synchronized State getState() {
+        return this.state;
+    }
+
+}
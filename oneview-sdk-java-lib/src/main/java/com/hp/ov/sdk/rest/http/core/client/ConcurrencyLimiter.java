@@ -0,0 +1,218 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+
+/**
+ * Limits the number of requests in flight to an appliance, adapting the limit to what
+ * the appliance sustains (additive increase, multiplicative decrease): the limit grows
+ * by one for each limit-bound round of successful requests, and shrinks when the
+ * appliance reports to be overloaded or when its latency climbs well above its usual one.
+ *
+ * <p>Latencies are only compared between requests to the same endpoint, as a listing of
+ * many resources is expected to take much longer than a single resource does.</p>
+ *
+ * <p>Priority requests (such as task polls and logins) are admitted beyond the limit,
+ * up to a hard cap the regular requests never reach, and are woken first, so that they
+ * never wait behind a backlog of regular requests.</p>
+ */
+class ConcurrencyLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+
+    private static final double DECREASE_FACTOR = 0.7;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double SHORT_LATENCY_WEIGHT = 0.2;
+    private static final double LONG_LATENCY_WEIGHT = 0.02;
+    private static final int WARMUP_SAMPLES = 20;
+
+    enum Outcome {
+        /** The appliance answered. */
+        SUCCESS,
+        /** The appliance failed to answer, or reported to be overloaded. */
+        OVERLOAD,
+        /** The outcome says nothing about the appliance. */
+        IGNORE
+    }
+
+    private final int maxLimit;
+    private final int priorityLimit;
+    private final long maxWaitNanos;
+    private final Ticker ticker;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition priorityAvailable = lock.newCondition();
+    private final Condition regularAvailable = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int priorityWaiters;
+    private long lastDecrease;
+    private final Map<String, Latency> latencies = new HashMap<>();
+
+    ConcurrencyLimiter(int initialLimit, int maxConnections, long maxWaitMillis, Ticker ticker) {
+        this.maxLimit = Math.max(maxConnections - 1, 1);
+        this.priorityLimit = this.maxLimit + 1;
+        this.limit = Math.min(Math.max(initialLimit, 1), this.maxLimit);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.ticker = ticker;
+        this.lastDecrease = ticker.read();
+    }
+
+    /**
+     * Waits until the request may be sent. Every successful call must be followed by a
+     * call to {@link #release(long, String, Outcome)}.
+     *
+     * @param priority whether the request is a priority one.
+     *
+     * @return the time the request was admitted at, to be given back on release, or
+     * <code>null</code> if it could not be admitted within the maximum wait.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    Long acquire(boolean priority) throws InterruptedException {
+        long remainingNanos = this.maxWaitNanos;
+
+        this.lock.lock();
+        try {
+            if (priority) {
+                this.priorityWaiters++;
+            }
+            try {
+                while (this.inFlight >= (priority ? this.priorityLimit : (int) this.limit)) {
+                    if (remainingNanos <= 0) {
+                        return null;
+                    }
+                    remainingNanos = (priority ? this.priorityAvailable : this.regularAvailable)
+                            .awaitNanos(remainingNanos);
+                }
+            } finally {
+                if (priority) {
+                    this.priorityWaiters--;
+                }
+            }
+            this.inFlight++;
+
+            return this.ticker.read();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Releases an admitted request.
+     *
+     * @param admittedAt the time the request was admitted at.
+     * @param endpoint the endpoint of the request, whose latencies its own is compared with.
+     * @param outcome the outcome of the request.
+     */
+    void release(long admittedAt, String endpoint, Outcome outcome) {
+        this.lock.lock();
+        try {
+            boolean limited = this.inFlight >= (int) this.limit;
+            long now = this.ticker.read();
+
+            this.inFlight--;
+
+            if (outcome == Outcome.OVERLOAD) {
+                this.decrease(admittedAt, now, "appliance overloaded");
+            } else if (outcome == Outcome.SUCCESS) {
+                Latency latency = this.latencies.get(endpoint);
+
+                if (latency == null) {
+                    latency = new Latency();
+                    this.latencies.put(endpoint, latency);
+                }
+                latency.sample(now - admittedAt);
+
+                if (latency.increased()) {
+                    if (this.decrease(admittedAt, now, "latency increased")) {
+                        // the latency the appliance now has becomes the usual one
+                        latency.longLatency = latency.shortLatency;
+                    }
+                } else if (limited) {
+                    this.limit = Math.min(this.limit + 1 / this.limit, this.maxLimit);
+                }
+            }
+            if (this.priorityWaiters > 0) {
+                this.priorityAvailable.signal();
+            }
+            this.regularAvailable.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @VisibleForTesting
+    double getLimit() {
+        this.lock.lock();
+        try {
+            return this.limit;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /*
+     * Requests admitted before the last decrease were sent under the former limit, and
+     * their outcome is already accounted for by that decrease.
+     */
+    private boolean decrease(long admittedAt, long now, String reason) {
+        if (admittedAt - this.lastDecrease <= 0) {
+            return false;
+        }
+        this.limit = Math.max(this.limit * DECREASE_FACTOR, 1);
+        this.lastDecrease = now;
+
+        LOGGER.debug("Concurrency limit decreased to {} ({})", (int) this.limit, reason);
+
+        return true;
+    }
+
+    private static class Latency {
+
+        private double shortLatency;
+        private double longLatency;
+        private long samples;
+
+        void sample(long latency) {
+            if (this.samples++ == 0) {
+                this.shortLatency = latency;
+                this.longLatency = latency;
+            } else {
+                this.shortLatency += SHORT_LATENCY_WEIGHT * (latency - this.shortLatency);
+                this.longLatency += LONG_LATENCY_WEIGHT * (latency - this.longLatency);
+            }
+        }
+
+        boolean increased() {
+            return (this.samples > WARMUP_SAMPLES) && (this.shortLatency > LATENCY_TOLERANCE * this.longLatency);
+        }
+    }
+
+}
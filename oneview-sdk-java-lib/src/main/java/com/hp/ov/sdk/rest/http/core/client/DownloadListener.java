@@ -0,0 +1,36 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.client;
+
+/**
+ * Receives progress notifications while a file returned as the entity of a response
+ * is written to disk. Listeners are registered for a single request using the
+ * {@link DownloadProgress} request option.
+ */
+public interface DownloadListener {
+
+    /**
+     * Invoked each time a chunk of the file has been written to disk.
+     *
+     * @param fileName name of the file being downloaded.
+     * @param bytesDownloaded number of bytes written to disk so far.
+     * @param totalBytes size of the file as announced by the appliance, or <code>-1</code>
+     *                   when the response does not provide a content length.
+     */
+    void onProgress(String fileName, long bytesDownloaded, long totalBytes);
+
+}
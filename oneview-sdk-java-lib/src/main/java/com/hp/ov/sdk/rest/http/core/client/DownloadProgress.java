@@ -0,0 +1,51 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.client;
+
+/**
+ * Implementation of {@link RequestOption} that registers a {@link DownloadListener}
+ * to be notified while the file returned by an operation is being downloaded.
+ *
+ * <p>Below is an example that shows how the download progress can be followed:
+ *
+ * <pre>{@code
+ *     SomeClient client = oneViewClient.someClient();
+ *     client.downloadFile(resourceID, DownloadPath.at("~/Desktop/"),
+ *             DownloadProgress.with(new DownloadListener() {
+ *                 public void onProgress(String fileName, long bytesDownloaded, long totalBytes) {
+ *                     System.out.println(fileName + ": " + bytesDownloaded + "/" + totalBytes);
+ *                 }
+ *             }));
+ * }</pre>
+ */
+public class DownloadProgress implements RequestOption {
+
+    private final DownloadListener listener;
+
+    public DownloadProgress(DownloadListener listener) {
+        this.listener = listener;
+    }
+
+    public static DownloadProgress with(DownloadListener listener) {
+        return new DownloadProgress(listener);
+    }
+
+    @Override
+    public void apply(Request request) {
+        request.setDownloadListener(this.listener);
+    }
+}
@@ -15,14 +15,23 @@
  */
 package com.hp.ov.sdk.rest.http.core.client;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
@@ -30,8 +39,10 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSession;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Consts;
 import org.apache.http.Header;
 import org.apache.http.HeaderElement;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpException;
 import org.apache.http.HttpHeaders;
@@ -50,9 +61,12 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.DateUtils;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
@@ -61,21 +75,26 @@ import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
 import com.hp.ov.sdk.constants.SdkConstants;
 import com.hp.ov.sdk.exceptions.SDKApplianceNotReachableException;
 import com.hp.ov.sdk.exceptions.SDKBadRequestException;
 import com.hp.ov.sdk.exceptions.SDKErrorEnum;
+import com.hp.ov.sdk.exceptions.SDKException;
 import com.hp.ov.sdk.exceptions.SDKForbiddenException;
+import com.hp.ov.sdk.exceptions.SDKInternalException;
 import com.hp.ov.sdk.exceptions.SDKInternalServerErrorException;
 import com.hp.ov.sdk.exceptions.SDKInvalidArgumentException;
 import com.hp.ov.sdk.exceptions.SDKMethodNotAllowed;
 import com.hp.ov.sdk.exceptions.SDKResourceNotFoundException;
 import com.hp.ov.sdk.exceptions.SDKUnauthorizedException;
+import com.hp.ov.sdk.rest.client.security.LoginSessionClient;
 import com.hp.ov.sdk.rest.http.core.ContentType;
 import com.hp.ov.sdk.rest.http.core.HttpMethod;
 import com.hp.ov.sdk.rest.http.core.UrlParameter;
@@ -86,6 +105,14 @@ public class HttpRestClient {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpRestClient.class);
 
+    private static final long DOWNLOAD_CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final int DOWNLOAD_MAX_RESUMES = 3;
+
+    private static final String TASKS_URI = "/rest/tasks/";
+
+    private static final String CONNECTED_AT = "com.hp.ov.sdk.connected-at";
+    private static final String RESPONSE_HEADERS_AT = "com.hp.ov.sdk.response-headers-at";
+
     /*
     TODO this could be replaced by a one way converter (Object to JSON).
     We can also consider to have a Map containing several converters and
@@ -94,11 +121,20 @@ public class HttpRestClient {
     private final ObjectToJsonConverter converter;
     private final CloseableHttpClient httpClient;
     private final SDKConfiguration config;
+    private final ResponseCache responseCache;
+    private final TransferStatistics statistics = new TransferStatistics();
+    private final RetryPolicy retryPolicy;
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrencyLimiter> concurrencyLimiters = new ConcurrentHashMap<>();
+
+    private volatile RequestMetricsListener metricsListener;
 
     public HttpRestClient(SDKConfiguration sdkConfiguration, SSLContext sslContext) {
         this.config = sdkConfiguration;
         this.converter = ObjectToJsonConverter.getInstance();
         this.httpClient = this.buildHttpClient(sslContext);
+        this.responseCache = buildResponseCache(sdkConfiguration);
+        this.retryPolicy = RetryPolicy.fromConfig(sdkConfiguration);
     }
 
     @VisibleForTesting
@@ -109,6 +145,14 @@ public class HttpRestClient {
         this.config = sdkConfiguration;
         this.converter = converter;
         this.httpClient = httpClient;
+        this.responseCache = buildResponseCache(sdkConfiguration);
+        this.retryPolicy = RetryPolicy.fromConfig(sdkConfiguration);
+    }
+
+    private static ResponseCache buildResponseCache(SDKConfiguration config) {
+        int size = config.getClientResponseCacheSize();
+
+        return (size > 0) ? new ResponseCache(size, config.getClientResponseCacheTtl()) : null;
     }
 
     private CloseableHttpClient buildHttpClient(SSLContext sslContext) {
@@ -135,7 +179,7 @@ public class HttpRestClient {
 
         RequestConfig requestConfig = RequestConfig.custom()
                 .setAuthenticationEnabled(false)
-                .setContentCompressionEnabled(false)
+                .setContentCompressionEnabled(config.isClientCompressionEnabled())
                 .setConnectTimeout(5 * 1000)
                 .setConnectionRequestTimeout(5 * 1000)
                 .setSocketTimeout(config.getClientSocketTimeout() * 1000)
@@ -152,6 +196,51 @@ public class HttpRestClient {
             }
         };
 
+        /*
+         * Added first, so that it sees the response body as received, before it gets
+         * decompressed by the client, while the following one is added last.
+         */
+        HttpResponseInterceptor wireBytesInterceptor = new HttpResponseInterceptor() {
+            @Override
+            public void process(HttpResponse response, HttpContext context) throws HttpException, IOException {
+                if (response.getEntity() != null) {
+                    response.setEntity(statistics.countWireBytes(response.getEntity()));
+                }
+            }
+        };
+
+        HttpResponseInterceptor contentBytesInterceptor = new HttpResponseInterceptor() {
+            @Override
+            public void process(HttpResponse response, HttpContext context) throws HttpException, IOException {
+                if (response.getEntity() != null) {
+                    response.setEntity(statistics.countContentBytes(response.getEntity()));
+                }
+            }
+        };
+
+        /*
+         * Timestamps the moment the connection is obtained from the pool and the moment
+         * the response headers are received, from which the request phases are measured.
+         */
+        HttpRequestExecutor requestExecutor = new HttpRequestExecutor() {
+            @Override
+            public HttpResponse execute(HttpRequest request, HttpClientConnection connection, HttpContext context)
+                    throws IOException, HttpException {
+                context.setAttribute(CONNECTED_AT, System.nanoTime());
+
+                return super.execute(request, connection, context);
+            }
+
+            @Override
+            protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection connection,
+                    HttpContext context) throws HttpException, IOException {
+                HttpResponse response = super.doReceiveResponse(request, connection, context);
+
+                context.setAttribute(RESPONSE_HEADERS_AT, System.nanoTime());
+                return response;
+            }
+        };
+
         HttpRequestInterceptor headerInterceptor = new HttpRequestInterceptor() {
             @Override
             public void process(HttpRequest request, HttpContext context) throws HttpException, IOException {
@@ -166,11 +255,37 @@ public class HttpRestClient {
         return HttpClientBuilder.create()
                 .setDefaultRequestConfig(requestConfig)
                 .setConnectionManager(manager)
+                .setRequestExecutor(requestExecutor)
                 .addInterceptorFirst(headerInterceptor)
                 .addInterceptorFirst(scopesResponseInterceptor)
+                .addInterceptorFirst(wireBytesInterceptor)
+                .addInterceptorLast(contentBytesInterceptor)
                 .build();
     }
 
+    /**
+     * Returns the counters of the responses received by this client, which tell how
+     * effective response compression is.
+     *
+     * @return the transfer statistics of this client.
+     */
+    public TransferStatistics getTransferStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Registers the listener measuring every request sent by this client.
+     *
+     * @param metricsListener the listener, or <code>null</code> to stop measuring requests.
+     */
+    public void setRequestMetricsListener(RequestMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    public RequestMetricsListener getRequestMetricsListener() {
+        return metricsListener;
+    }
+
     public void shutdown() {
         if (this.httpClient != null) {
             try {
@@ -201,6 +316,103 @@ public class HttpRestClient {
      * @throws SDKBadRequestException on unsupported method (PUT, GET..)
      **/
     public String sendRequest(final String sessionId, Request request) throws SDKBadRequestException {
+        HttpRequestBase requestBase = this.buildRequestBase(sessionId, request);
+
+        return (String) getResponse(sessionId, requestBase, request, null, null);
+    }
+
+    /**
+     * Sends the request to OV and converts the response to the provided type.
+     * Whenever possible, the response is deserialized directly from the response
+     * stream, without materializing the response body as a string.
+     *
+     * <p>When the response cache is enabled (see {@link SDKConfiguration#getClientResponseCacheSize()}),
+     * resources previously retrieved by a GET are revalidated with their eTag, and the
+     * cached response is decoded again if the appliance reports it as not modified.
+     *
+     * @param sessionId OV session token ID.
+     * @param request contains the details specific to the current request.
+     * @param returnType type of the object the response should be converted to.
+     *
+     * @return object containing the response data, or <code>null</code> if the
+     * response has no content.
+     *
+     * @throws SDKBadRequestException on unsupported method (PUT, GET..)
+     **/
+    public Object sendRequest(final String sessionId, Request request, Type returnType) throws SDKBadRequestException {
+        HttpRequestBase requestBase = this.buildRequestBase(sessionId, request);
+
+        if (!isCacheable(request)) {
+            return getResponse(sessionId, requestBase, request, returnType, null);
+        }
+        ApiVersion version = config.getOneViewApiVersion();
+        ResponseCache.Lookup lookup = responseCache.get(requestBase.getURI(), version, returnType);
+
+        if (lookup.getCached() != null) {
+            requestBase.setHeader(HttpHeaders.IF_NONE_MATCH, lookup.getCached().getETag());
+        }
+        Object resource = getResponse(sessionId, requestBase, request, returnType, lookup);
+
+        if (lookup.getBody() != null) {
+            responseCache.put(requestBase.getURI(), version, returnType, lookup.getBody(), resource);
+        }
+        return resource;
+    }
+
+    /**
+     * Sends the request to OV and reads the response, which {@link #toResource(String, Type)}
+     * then converts to the provided type as many times as needed, for instance once for
+     * each of the callers sharing the response. The response cache is used the same way
+     * as by {@link #sendRequest(String, Request, Type)}.
+     *
+     * @param sessionId OV session token ID.
+     * @param request contains the details specific to the current request.
+     * @param returnType type of the object the response is to be converted to.
+     *
+     * @return string containing the response data.
+     *
+     * @throws SDKBadRequestException on unsupported method (PUT, GET..)
+     **/
+    public String sendRequestForBody(final String sessionId, Request request, Type returnType)
+            throws SDKBadRequestException {
+
+        HttpRequestBase requestBase = this.buildRequestBase(sessionId, request);
+
+        if (!isCacheable(request)) {
+            return (String) getResponse(sessionId, requestBase, request, null, null);
+        }
+        ApiVersion version = config.getOneViewApiVersion();
+        ResponseCache.Lookup lookup = responseCache.get(requestBase.getURI(), version, returnType);
+
+        if (lookup.getCached() != null) {
+            requestBase.setHeader(HttpHeaders.IF_NONE_MATCH, lookup.getCached().getETag());
+        }
+        String body = (String) getResponse(sessionId, requestBase, request, null, lookup);
+
+        if (lookup.getBody() != null) {
+            responseCache.put(requestBase.getURI(), version, returnType, body, toResource(body, returnType));
+        }
+        return body;
+    }
+
+    /**
+     * Converts a response read by {@link #sendRequestForBody(String, Request, Type)}.
+     *
+     * @param body the response data.
+     * @param returnType type of the object the response should be converted to.
+     *
+     * @return a new object containing the response data, or <code>null</code> if the
+     * response has no content.
+     */
+    public Object toResource(String body, Type returnType) {
+        return decode(body, returnType, null);
+    }
+
+    private boolean isCacheable(Request request) {
+        return (responseCache != null) && (request.getType() == HttpMethod.GET) && !request.isForceReturnTask();
+    }
+
+    private HttpRequestBase buildRequestBase(final String sessionId, Request request) {
         if (request.getType() == null) {
             throw new SDKBadRequestException(SDKErrorEnum.badRequestError, "Request type (method) is missing!");
         }
@@ -245,8 +457,7 @@ public class HttpRestClient {
         if (StringUtils.isNotBlank(sessionId)) {
             requestBase.setHeader(SdkConstants.AUTH_HEADER, sessionId);
         }
-
-        return getResponse(sessionId, requestBase, request.isForceReturnTask(), request.getDownloadPath());
+        return requestBase;
     }
 
     private void fillRequestEntity(HttpEntityEnclosingRequestBase base, Request request) {
@@ -318,7 +529,8 @@ public class HttpRestClient {
      *
      * @throws SDKBadRequestException
      */
-    private URI buildURI(Request request) throws SDKBadRequestException {
+    @VisibleForTesting
+    URI buildURI(Request request) throws SDKBadRequestException {
         try {
             String uriString = String.format(SdkConstants.HTTPS + "%s%s", request.getHostname(), request.getUri());
 
@@ -338,24 +550,242 @@ public class HttpRestClient {
      *
      * @param sessionId OV session token ID.
      * @param request Request information.
-     * @param forceReturnTask Forces the check for the Location header (task)
-     *                        even when the response code is not 202.
-     * @param downloadPath The directory where a binary response will be downloaded.
+     * @param sdkRequest Request details, such as whether the check for the Location header (task)
+     *                   is forced even when the response code is not 202, or the directory where
+     *                   a binary response will be downloaded.
+     * @param returnType The type the response should be converted to, or <code>null</code>
+     *                   to return the response body as a {@link String}.
+     * @param lookup The response cache lookup of the requested resource, whose cached body
+     *               is decoded when the appliance answers that it was not modified, and
+     *               which receives the body otherwise; <code>null</code> when not cached.
      *
-     * @return {@link String} object containing the response of the request
+     * @return {@link String} object containing the response of the request, or the
+     * response converted to <code>returnType</code> when it is provided.
      */
-    private String getResponse(final String sessionId, HttpUriRequest request,
-            final boolean forceReturnTask, String downloadPath) {
+    private Object getResponse(final String sessionId, HttpUriRequest request,
+            Request sdkRequest, Type returnType, ResponseCache.Lookup lookup) {
+
+        CircuitBreaker breaker = circuitBreakerOf(sdkRequest);
+        ConcurrencyLimiter limiter = concurrencyLimiterOf(sdkRequest);
+        String limiterEndpoint = sdkRequest.getType() + " " + endpointOf(sdkRequest);
+        int maxAttempts = retryPolicy.getMaxAttempts(sdkRequest);
+
+        for (int attempt = 1; ; attempt++) {
+            if ((breaker != null) && !breaker.tryAcquire()) {
+                LOGGER.warn("Appliance {} is failing, request to {} not sent", sdkRequest.getHostname(),
+                        request.getURI());
+                throw new SDKApplianceNotReachableException(SDKErrorEnum.applianceNotReachable, SdkConstants.APPLIANCE);
+            }
+            Long admittedAt = (limiter == null) ? null : admit(limiter, sdkRequest, breaker);
+            ConcurrencyLimiter.Outcome outcome = ConcurrencyLimiter.Outcome.IGNORE;
+            TransientFailure failure;
 
+            try {
+                Object response = measureResponse(sessionId, request, sdkRequest, returnType, lookup);
+
+                outcome = ConcurrencyLimiter.Outcome.SUCCESS;
+
+                if (breaker != null) {
+                    breaker.onSuccess();
+                }
+                return response;
+            } catch (TransientFailure e) {
+                failure = e;
+                outcome = ConcurrencyLimiter.Outcome.OVERLOAD;
+
+                if (breaker != null) {
+                    breaker.onFailure();
+                }
+            } catch (RuntimeException e) {
+                boolean poolTimeout = e.getCause() instanceof ConnectionPoolTimeoutException;
+
+                outcome = poolTimeout ? ConcurrencyLimiter.Outcome.IGNORE : ConcurrencyLimiter.Outcome.SUCCESS;
+
+                if (breaker != null) {
+                    if (poolTimeout) {
+                        breaker.release();
+                    } else {
+                        breaker.onSuccess();
+                    }
+                }
+                throw e;
+            } finally {
+                if (admittedAt != null) {
+                    // the time a file takes to transfer depends on its size, not on the appliance
+                    if ((outcome == ConcurrencyLimiter.Outcome.SUCCESS) && isFileTransfer(sdkRequest)) {
+                        outcome = ConcurrencyLimiter.Outcome.IGNORE;
+                    }
+                    limiter.release(admittedAt, limiterEndpoint, outcome);
+                }
+            }
+            long backoffMillis = (attempt < maxAttempts)
+                    ? retryPolicy.backoffMillis(attempt, failure.retryAfterMillis) : -1;
+
+            if (backoffMillis < 0) {
+                LOGGER.error("Request to {} failed", request.getURI(), failure.getCause());
+                throw failure.exception;
+            }
+            LOGGER.warn("Request to {} failed (attempt {} of {}), retrying in {} ms",
+                    request.getURI(), attempt, maxAttempts, backoffMillis);
+
+            try {
+                TimeUnit.MILLISECONDS.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw failure.exception;
+            }
+        }
+    }
+
+    /*
+     * Task polls and logins are short, and whatever waits on them (task monitoring, every
+     * request of an expired session) must not be held up by a backlog of other requests.
+     */
+    private static boolean isPriority(Request request) {
+        String uri = request.getUri();
+
+        return (uri != null) && (uri.startsWith(LoginSessionClient.LOGIN_SESSIONS_URI)
+                || ((request.getType() == HttpMethod.GET) && uri.startsWith(TASKS_URI)));
+    }
+
+    private static boolean isFileTransfer(Request request) {
+        return (request.getDownloadPath() != null)
+                || (request.getContentType() == ContentType.MULTIPART_FORM_DATA);
+    }
+
+    private static Long admit(ConcurrencyLimiter limiter, Request request, CircuitBreaker breaker) {
+        Long admittedAt;
+
+        try {
+            admittedAt = limiter.acquire(isPriority(request));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            if (breaker != null) {
+                breaker.release();
+            }
+            throw new SDKInternalException(SDKErrorEnum.internalError,
+                    "Interrupted while waiting to send the request", e);
+        }
+        if (admittedAt == null) {
+            if (breaker != null) {
+                breaker.release();
+            }
+            LOGGER.warn("Request to {} not sent: too many requests waiting for appliance {}",
+                    request.getUri(), request.getHostname());
+            throw new SDKApplianceNotReachableException(SDKErrorEnum.requestQueueTimeout, SdkConstants.APPLIANCE);
+        }
+        return admittedAt;
+    }
+
+    private ConcurrencyLimiter concurrencyLimiterOf(Request request) {
+        if (!config.isClientAdaptiveConcurrencyEnabled()) {
+            return null;
+        }
+        String appliance = String.valueOf(request.getHostname());
+        ConcurrencyLimiter limiter = concurrencyLimiters.get(appliance);
+
+        if (limiter == null) {
+            ConcurrencyLimiter created = new ConcurrencyLimiter(config.getClientConcurrencyInitialLimit(),
+                    config.getClientMaxNumberOfConnections(),
+                    TimeUnit.SECONDS.toMillis(config.getClientConcurrencyMaxWait()), Ticker.systemTicker());
+
+            limiter = concurrencyLimiters.putIfAbsent(appliance, created);
+
+            if (limiter == null) {
+                limiter = created;
+            }
+        }
+        return limiter;
+    }
+
+    private CircuitBreaker circuitBreakerOf(Request request) {
+        int failureThreshold = config.getClientCircuitBreakerFailureThreshold();
+
+        if (failureThreshold <= 0) {
+            return null;
+        }
+        String appliance = String.valueOf(request.getHostname());
+        CircuitBreaker breaker = circuitBreakers.get(appliance);
+
+        if (breaker == null) {
+            CircuitBreaker created = new CircuitBreaker(failureThreshold,
+                    TimeUnit.SECONDS.toMillis(config.getClientCircuitBreakerOpenInterval()), Ticker.systemTicker());
+
+            breaker = circuitBreakers.putIfAbsent(appliance, created);
+
+            if (breaker == null) {
+                breaker = created;
+            }
+        }
+        return breaker;
+    }
+
+    private Object measureResponse(final String sessionId, HttpUriRequest request,
+            Request sdkRequest, Type returnType, ResponseCache.Lookup lookup) {
+
+        RequestMetricsListener listener = this.metricsListener;
+
+        if (listener == null) {
+            return getResponse(sessionId, request, sdkRequest, returnType, lookup, null);
+        }
+        RequestMetrics metrics = new RequestMetrics(sdkRequest.getType(), endpointOf(sdkRequest));
+
+        try {
+            return getResponse(sessionId, request, sdkRequest, returnType, lookup, metrics);
+        } finally {
+            try {
+                listener.requestCompleted(metrics);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Request metrics listener failed", e);
+            }
+        }
+    }
+
+    private Object getResponse(final String sessionId, HttpUriRequest request,
+            Request sdkRequest, Type returnType, ResponseCache.Lookup lookup, RequestMetrics metrics) {
+
+        final boolean forceReturnTask = sdkRequest.isForceReturnTask();
         HttpResponse response = null;
         String responseBody;
 
         try {
-            response = httpClient.execute(request);
+            HttpClientContext context = HttpClientContext.create();
+            long startNanos = System.nanoTime();
+
+            response = httpClient.execute(request, context);
 
             int responseCode = response.getStatusLine().getStatusCode();
             LOGGER.debug("Response code: " + responseCode);
 
+            if (metrics != null) {
+                measureExchange(metrics, context, startNanos, responseCode);
+
+                if (response.getEntity() != null) {
+                    response.setEntity(new TimedEntity(response.getEntity(), metrics));
+                }
+            }
+
+            ResponseCache.Entry cached = (lookup == null) ? null : lookup.getCached();
+
+            if ((cached != null) && (responseCode == HttpsURLConnection.HTTP_NOT_MODIFIED)) {
+                LOGGER.debug("Resource not modified, using cached version - eTag: " + cached.getETag());
+                return decode(cached.getBody(), returnType, metrics);
+            }
+
+            if (isTransient(responseCode)) {
+                try {
+                    checkResponse(responseCode);
+                } catch (SDKException e) {
+                    throw new TransientFailure(e, retryAfterMillis(response));
+                }
+            }
+
+            // a cached resource keeps its body, so that every caller gets its own copy
+            if ((returnType != null) && !forceReturnTask && (lookup == null) && isStreamable(response, responseCode)) {
+                return readResource(response.getEntity(), returnType, metrics);
+            }
+
             if (responseCode == HttpsURLConnection.HTTP_NO_CONTENT) {
                 responseBody = "{}";
             } else {
@@ -364,17 +794,19 @@ public class HttpRestClient {
                 if (contentType != null
                         && ContentType.APPLICATION_OCTET_STREAM.getMimeType().equals(contentType.getValue())) {
                     // Downloadable file
+                    String downloadPath = sdkRequest.getDownloadPath();
+
                     if (downloadPath == null) {
                          downloadPath = config.getImageStreamerDownloadFolder();
                     }
 
-                    return downloadFile(downloadPath, response);
+                    return downloadFile(downloadPath, request, response, sdkRequest.getDownloadListener());
                 } else {
                     responseBody = EntityUtils.toString(response.getEntity());
                 }
             }
 
-            LOGGER.info("Response Body: " + responseBody);
+            LOGGER.trace("Response Body: " + responseBody);
             checkResponse(responseCode);
 
             if (forceReturnTask || ((responseCode == HttpURLConnection.HTTP_ACCEPTED) && (responseBody.length() == 0)
@@ -387,27 +819,164 @@ public class HttpRestClient {
                 Request taskRequest = new Request(HttpMethod.GET, restUri);
                 taskRequest.setHostname(request.getURI().getHost() + ":" + request.getURI().getPort());
 
-                return this.sendRequest(sessionId, taskRequest);
+                responseBody = this.sendRequest(sessionId, taskRequest);
             }
         } catch (IOException e) {
-            LOGGER.error("IO Error: ", e);
-            throw new SDKBadRequestException(SDKErrorEnum.badRequestError, SdkConstants.APPLIANCE, e);
+            SDKBadRequestException failure = new SDKBadRequestException(SDKErrorEnum.badRequestError,
+                    SdkConstants.APPLIANCE, e);
+
+            if (e instanceof ConnectionPoolTimeoutException) {
+                LOGGER.error("IO Error: ", e);
+                throw failure;
+            }
+            throw new TransientFailure(failure, 0);
         } finally {
             if (response != null) {
                 EntityUtils.consumeQuietly(response.getEntity());
             }
         }
 
-        return responseBody;
+        if (lookup != null) {
+            lookup.setBody(responseBody);
+        }
+        return decode(responseBody, returnType, metrics);
+    }
+
+    private Object decode(String responseBody, Type returnType, RequestMetrics metrics) {
+        if ((returnType == null) || String.class.equals(returnType)) {
+            return responseBody;
+        }
+        if (StringUtils.isBlank(responseBody)) {
+            return null;
+        }
+        long startNanos = System.nanoTime();
+        Object resource = converter.jsonToResource(responseBody, returnType);
+        long decodeNanos = System.nanoTime() - startNanos;
+
+        statistics.recordDecode(decodeNanos);
+
+        if (metrics != null) {
+            metrics.addDecodeNanos(decodeNanos);
+        }
+        return resource;
+    }
+
+    /*
+     * Without the timestamps of the request executor (a client not built by this class),
+     * the whole exchange is accounted as waiting for the first byte.
+     */
+    private static void measureExchange(RequestMetrics metrics, HttpClientContext context,
+            long startNanos, int responseCode) {
+        long endNanos = System.nanoTime();
+        Long connectedAt = context.getAttribute(CONNECTED_AT, Long.class);
+        Long responseHeadersAt = context.getAttribute(RESPONSE_HEADERS_AT, Long.class);
+        long sentNanos = (connectedAt == null) ? startNanos : connectedAt;
+
+        metrics.setStatusCode(responseCode);
+        metrics.setConnectionWaitNanos(sentNanos - startNanos);
+        metrics.setFirstByteNanos(((responseHeadersAt == null) ? endNanos : responseHeadersAt) - sentNanos);
     }
 
-    private String downloadFile(final String downloadPath, HttpResponse response) {
+    /*
+     * Requests built by the client interfaces carry the template of their endpoint. Any
+     * other request is grouped by its URI, where the segments identifying a resource
+     * (those containing digits, such as IDs and serial numbers) are replaced by a variable.
+     */
+    @VisibleForTesting
+    static String endpointOf(Request request) {
+        if (request.getEndpoint() != null) {
+            return request.getEndpoint();
+        }
+        String[] segments = StringUtils.split(request.getUri(), '/');
+        StringBuilder endpoint = new StringBuilder();
+
+        for (String segment : segments) {
+            endpoint.append('/').append(StringUtils.containsAny(segment, "0123456789") ? "{id}" : segment);
+        }
+        return endpoint.toString();
+    }
+
+    private static boolean isTransient(int responseCode) {
+        return (responseCode == HttpsURLConnection.HTTP_BAD_GATEWAY)
+                || (responseCode == HttpsURLConnection.HTTP_UNAVAILABLE)
+                || (responseCode == HttpsURLConnection.HTTP_GATEWAY_TIMEOUT);
+    }
+
+    /*
+     * Retry-After holds either a number of seconds or an HTTP date.
+     */
+    private static long retryAfterMillis(HttpResponse response) {
+        Header header = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        String value = (header == null) ? null : StringUtils.trim(header.getValue());
+
+        if (StringUtils.isEmpty(value)) {
+            return 0;
+        }
+        if (StringUtils.isNumeric(value)) {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+        }
+        Date date = DateUtils.parseDate(value);
+
+        return (date == null) ? 0 : Math.max(date.getTime() - System.currentTimeMillis(), 0);
+    }
+
+    /*
+     * Successful JSON responses, which are neither tasks nor downloads, are deserialized
+     * straight from the response stream. The body is only materialized as a string when
+     * trace logging is enabled, so it can be logged.
+     */
+    private boolean isStreamable(HttpResponse response, int responseCode) {
+        if (LOGGER.isTraceEnabled() || (response.getEntity() == null)) {
+            return false;
+        }
+        switch (responseCode) {
+            case HttpsURLConnection.HTTP_OK:
+            case HttpsURLConnection.HTTP_CREATED:
+            case HttpsURLConnection.HTTP_NOT_AUTHORITATIVE:
+            case HttpsURLConnection.HTTP_PARTIAL:
+                Header contentType = response.getEntity().getContentType();
+
+                return (contentType == null)
+                        || !ContentType.APPLICATION_OCTET_STREAM.getMimeType().equals(contentType.getValue());
+            default:
+                return false;
+        }
+    }
+
+    /*
+     * The resource is decoded as the body is read, so the time spent waiting for the body
+     * is taken out of the decoding time.
+     */
+    private Object readResource(HttpEntity entity, Type returnType, RequestMetrics metrics) throws IOException {
+        Charset charset = org.apache.http.entity.ContentType.getOrDefault(entity).getCharset();
+
+        try (Reader reader = new InputStreamReader(entity.getContent(),
+                (charset == null) ? Consts.UTF_8 : charset)) {
+
+            long readNanos = (metrics == null) ? 0 : metrics.getReadNanos();
+            long startNanos = System.nanoTime();
+            Object resource = converter.jsonToResource(reader, returnType);
+            long decodeNanos = System.nanoTime() - startNanos;
+
+            statistics.recordDecode(decodeNanos);
+
+            if (metrics != null) {
+                metrics.addDecodeNanos(decodeNanos - (metrics.getReadNanos() - readNanos));
+            }
+            return resource;
+        }
+    }
+
+    private String downloadFile(final String downloadPath, HttpUriRequest request, HttpResponse response,
+            DownloadListener listener) {
+
         if (!new File(downloadPath).isDirectory()) {
             throw new SDKInvalidArgumentException(SDKErrorEnum.invalidArgument,
                     "Configured download path is not a directory!");
         }
 
-        String fileSize = response.getFirstHeader(HttpHeaders.CONTENT_LENGTH).getValue();
+        Header contentLength = response.getFirstHeader(HttpHeaders.CONTENT_LENGTH);
+        long fileSize = (contentLength == null) ? -1 : Long.parseLong(contentLength.getValue());
         String fileName = null;
         Header contentDisposition = response.getFirstHeader("Content-Disposition");
 
@@ -425,24 +994,114 @@ public class HttpRestClient {
 
         String filePath = downloadPath + fileName;
         File file = new File(filePath);
-        try(BufferedInputStream bis = new BufferedInputStream(response.getEntity().getContent());
-            BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(file))) {
 
-            int inByte;
+        boolean downloaded = false;
+
+        try (FileChannel output = new FileOutputStream(file).getChannel()) {
+            long position = transferToFile(response.getEntity(), output, 0, fileName, fileSize, listener);
+            int resumes = 0;
+
+            while ((fileSize >= 0) && (position < fileSize) && (resumes++ < DOWNLOAD_MAX_RESUMES)) {
+                LOGGER.info("Download of file {} interrupted at byte {}, resuming", fileName, position);
 
-            while((inByte = bis.read()) != -1) {
-                bos.write(inByte);
+                position = resumeDownload(request, output, position, fileName, fileSize, listener);
             }
+
+            if ((fileSize >= 0) && (position != fileSize)) {
+                throw new SDKInternalException(SDKErrorEnum.internalError,
+                        "Downloaded " + position + " bytes of file " + fileName
+                                + " but the response announced " + fileSize + " bytes", null);
+            }
+            downloaded = true;
         } catch (IOException e) {
             LOGGER.warn("Error downloading file {}", fileName, e);
 
-            throw new SDKBadRequestException(SDKErrorEnum.internalError,
+            throw new SDKInternalException(SDKErrorEnum.internalError,
                     "An error occurred while downloading file", e);
+        } finally {
+            if (!downloaded && file.exists() && !file.delete()) {
+                LOGGER.warn("Could not delete the partially downloaded file {}", filePath);
+            }
         }
 
         return filePath;
     }
 
+    /*
+     * Requests the remainder of the file with a Range request. Appliances that do not
+     * honor the range answer with the whole file, which is then written from the start.
+     */
+    private long resumeDownload(HttpUriRequest request, FileChannel output, long position,
+            String fileName, long fileSize, DownloadListener listener) throws IOException {
+
+        HttpGet rangeRequest = new HttpGet(request.getURI());
+
+        rangeRequest.setHeaders(request.getAllHeaders());
+        rangeRequest.setHeader(HttpHeaders.RANGE, "bytes=" + position + "-");
+
+        HttpResponse response = httpClient.execute(rangeRequest, HttpClientContext.create());
+
+        try {
+            int responseCode = response.getStatusLine().getStatusCode();
+
+            if (responseCode == HttpsURLConnection.HTTP_PARTIAL) {
+                return transferToFile(response.getEntity(), output, position, fileName, fileSize, listener);
+            }
+            checkResponse(responseCode);
+
+            output.truncate(0);
+
+            return transferToFile(response.getEntity(), output, 0, fileName, fileSize, listener);
+        } finally {
+            EntityUtils.consumeQuietly(response.getEntity());
+        }
+    }
+
+    /*
+     * Copies the entity content into the file channel in large chunks, starting at the given
+     * position. A failure while reading from the connection ends the transfer, and the number
+     * of bytes actually written is returned so the download can be resumed from there.
+     */
+    private long transferToFile(HttpEntity entity, FileChannel output, long position,
+            String fileName, long fileSize, DownloadListener listener) throws IOException {
+
+        try (ReadableByteChannel input = Channels.newChannel(entity.getContent())) {
+            long transferred;
+
+            while ((transferred = output.transferFrom(input, position, DOWNLOAD_CHUNK_SIZE)) > 0) {
+                position += transferred;
+
+                if (listener != null) {
+                    listener.onProgress(fileName, position, fileSize);
+                }
+            }
+        } catch (IOException e) {
+            if (!output.isOpen() || (fileSize < 0)) {
+                throw e;
+            }
+            LOGGER.warn("Connection error while downloading file {}", fileName, e);
+        }
+        return position;
+    }
+
+    /*
+     * A failure that may not happen again: no response, or a response telling that the
+     * appliance is temporarily unable to handle the request.
+     */
+    private static final class TransientFailure extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SDKException exception;
+        private final long retryAfterMillis;
+
+        private TransientFailure(SDKException exception, long retryAfterMillis) {
+            super(exception.getMessage(), exception.getCause(), false, false);
+            this.exception = exception;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+    }
+
     /**
      * Checks the HTTP response codes, on error throws the correct exception.
      * Sets the exception cause as e if it throws one.
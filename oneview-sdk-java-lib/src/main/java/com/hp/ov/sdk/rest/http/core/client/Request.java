@@ -42,8 +42,11 @@ public class Request {
     private ContentType contentType;
     private boolean forceReturnTask;
     private int taskTimeoutMillis;
+    private boolean monitorTask;
     private String downloadPath;
+    private DownloadListener downloadListener;
     private List<Header> headers;
+    private String endpoint;
 
     public Request(HttpMethod type, String uri) {
         this(type, uri, null);
@@ -57,6 +60,7 @@ public class Request {
         this.contentType = ContentType.APPLICATION_JSON;
         this.forceReturnTask = false;
         this.taskTimeoutMillis = SdkConstants.NO_TASK_TIMEOUT;
+        this.monitorTask = true;
     }
 
     public HttpMethod getType() {
@@ -134,6 +138,14 @@ public class Request {
         return taskTimeoutMillis;
     }
 
+    public boolean isMonitorTask() {
+        return monitorTask;
+    }
+
+    public void setMonitorTask(boolean monitorTask) {
+        this.monitorTask = monitorTask;
+    }
+
     public String getDownloadPath() {
         return downloadPath;
     }
@@ -142,6 +154,28 @@ public class Request {
         this.downloadPath = downloadPath;
     }
 
+    public DownloadListener getDownloadListener() {
+        return downloadListener;
+    }
+
+    public void setDownloadListener(DownloadListener downloadListener) {
+        this.downloadListener = downloadListener;
+    }
+
+    /**
+     * Sets the URI template of the endpoint this request was built from, under which
+     * the request is measured. It takes no part in the request itself.
+     *
+     * @param endpoint URI template, such as <code>/rest/enclosures/{resourceId}</code>.
+     */
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
     public String getHostname() {
         return hostname;
     }
@@ -163,12 +197,12 @@ public class Request {
 
     @Override
     public boolean equals(Object obj) {
-        return EqualsBuilder.reflectionEquals(this, obj);
+        return EqualsBuilder.reflectionEquals(this, obj, "endpoint");
     }
 
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        return HashCodeBuilder.reflectionHashCode(this, "endpoint");
     }
 
     @Override
@@ -0,0 +1,127 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.client;
+
+import com.hp.ov.sdk.rest.http.core.HttpMethod;
+
+/**
+ * Measurements of a single request, split in the phases it went through. Durations are
+ * in nanoseconds, and phases the request did not reach are reported as zero.
+ */
+public final class RequestMetrics {
+
+    private final HttpMethod method;
+    private final String endpoint;
+
+    private int statusCode;
+    private long connectionWaitNanos;
+    private long firstByteNanos;
+    private long readNanos;
+    private long decodeNanos;
+    private long responseBytes;
+
+    RequestMetrics(HttpMethod method, String endpoint) {
+        this.method = method;
+        this.endpoint = endpoint;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the URI template of the endpoint (for instance <code>/rest/enclosures/{resourceId}</code>),
+     * rather than the URI of the request, so that requests to the same endpoint are grouped.
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return the HTTP status code of the response, or zero if no response was received.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return the time spent waiting for a connection from the pool, including the time
+     * spent opening it when none was available.
+     */
+    public long getConnectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    /**
+     * @return the time between sending the request and receiving the response headers.
+     */
+    public long getFirstByteNanos() {
+        return firstByteNanos;
+    }
+
+    /**
+     * @return the time spent reading the response body from the connection.
+     */
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    /**
+     * @return the time spent converting the response body to a resource, excluding the
+     * time spent waiting for the body itself.
+     */
+    public long getDecodeNanos() {
+        return decodeNanos;
+    }
+
+    /**
+     * @return the number of bytes of the response body, once decompressed.
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    void setConnectionWaitNanos(long connectionWaitNanos) {
+        this.connectionWaitNanos = connectionWaitNanos;
+    }
+
+    void setFirstByteNanos(long firstByteNanos) {
+        this.firstByteNanos = firstByteNanos;
+    }
+
+    void addRead(long nanos, long bytes) {
+        this.readNanos += nanos;
+        this.responseBytes += bytes;
+    }
+
+    void addDecodeNanos(long nanos) {
+        this.decodeNanos += nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestMetrics{" + method + " " + endpoint + ", status=" + statusCode
+                + ", connectionWaitNanos=" + connectionWaitNanos + ", firstByteNanos=" + firstByteNanos
+                + ", readNanos=" + readNanos + ", decodeNanos=" + decodeNanos
+                + ", responseBytes=" + responseBytes + "}";
+    }
+
+}
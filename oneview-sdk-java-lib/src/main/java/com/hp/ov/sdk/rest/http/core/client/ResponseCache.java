@@ -0,0 +1,147 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.client;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hp.ov.sdk.dto.BaseModelResource;
+
+/**
+ * Keeps the last response body of the resources retrieved by GET requests, along
+ * with their eTag, so that the appliance is asked whether the resource changed
+ * (<code>If-None-Match</code>) instead of sending it again.
+ *
+ * <p>Every cached resource is revalidated by the appliance before being served, thus the
+ * cache never serves a stale resource. The body is decoded again for every caller, who
+ * gets an instance of its own and may modify it (for instance before an update).</p>
+ */
+class ResponseCache {
+
+    private final Cache<Key, Entry> entries;
+
+    ResponseCache(long maximumSize, long expireAfterSeconds) {
+        this.entries = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    Lookup get(URI uri, ApiVersion version, Type type) {
+        return new Lookup(this.entries.getIfPresent(new Key(uri, version, type)));
+    }
+
+    /*
+     * Only resources exposing an eTag can be revalidated, anything else is not cached.
+     */
+    void put(URI uri, ApiVersion version, Type type, String body, Object resource) {
+        if (resource instanceof BaseModelResource) {
+            String eTag = ((BaseModelResource) resource).getETag();
+
+            if (StringUtils.isNotBlank(eTag)) {
+                this.entries.put(new Key(uri, version, type), new Entry(eTag, body));
+            }
+        }
+    }
+
+    long size() {
+        return this.entries.size();
+    }
+
+    static final class Entry {
+
+        private final String eTag;
+        private final String body;
+
+        private Entry(String eTag, String body) {
+            this.eTag = eTag;
+            this.body = body;
+        }
+
+        String getETag() {
+            return eTag;
+        }
+
+        String getBody() {
+            return body;
+        }
+    }
+
+    /**
+     * The cached version of a requested resource, if any, and the body received from
+     * the appliance when the resource was not cached or changed.
+     */
+    static final class Lookup {
+
+        private final Entry cached;
+        private String body;
+
+        private Lookup(Entry cached) {
+            this.cached = cached;
+        }
+
+        Entry getCached() {
+            return cached;
+        }
+
+        String getBody() {
+            return body;
+        }
+
+        void setBody(String body) {
+            this.body = body;
+        }
+    }
+
+    private static final class Key {
+
+        private final URI uri;
+        private final ApiVersion version;
+        private final Type type;
+
+        private Key(URI uri, ApiVersion version, Type type) {
+            this.uri = uri;
+            this.version = version;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+
+            return uri.equals(that.uri) && (version == that.version) && type.equals(that.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(new Object[] {uri, version, type});
+        }
+    }
+
+}
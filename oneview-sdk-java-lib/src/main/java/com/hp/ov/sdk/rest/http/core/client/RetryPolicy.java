@@ -0,0 +1,73 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.hp.ov.sdk.rest.http.core.HttpMethod;
+
+/**
+ * Decides whether, and when, a request that failed because of a transient appliance
+ * error is sent again. Only GET requests (which include task polling) are retried,
+ * after an exponential backoff with full jitter, so that clients retrying at the same
+ * time spread their attempts.
+ */
+class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    RetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis) {
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.initialBackoffMillis = Math.max(initialBackoffMillis, 1);
+        this.maxBackoffMillis = Math.max(maxBackoffMillis, this.initialBackoffMillis);
+    }
+
+    static RetryPolicy fromConfig(SDKConfiguration config) {
+        return new RetryPolicy(config.getClientRetryMaxAttempts(),
+                config.getClientRetryInitialBackoff(),
+                config.getClientRetryMaxBackoff());
+    }
+
+    int getMaxAttempts(Request request) {
+        return (request.getType() == HttpMethod.GET) ? this.maxAttempts : 1;
+    }
+
+    /**
+     * Computes the delay before the next attempt. A delay requested by the appliance
+     * (<code>Retry-After</code>) is honored, unless it exceeds the maximum backoff, in
+     * which case the request is not retried.
+     *
+     * @param attempt number of the attempt that failed, starting at 1.
+     * @param retryAfterMillis delay requested by the appliance, or zero.
+     *
+     * @return the delay in milliseconds, or a negative value not to retry.
+     */
+    long backoffMillis(int attempt, long retryAfterMillis) {
+        if (retryAfterMillis > this.maxBackoffMillis) {
+            return -1;
+        }
+        long ceiling = this.maxBackoffMillis;
+
+        if (attempt <= Long.numberOfLeadingZeros(this.initialBackoffMillis)) {
+            ceiling = Math.min(this.initialBackoffMillis << (attempt - 1), this.maxBackoffMillis);
+        }
+        return Math.max(retryAfterMillis, ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+}
@@ -26,6 +26,7 @@ import java.util.Properties;
 
 import com.hp.ov.sdk.exceptions.SDKErrorEnum;
 import com.hp.ov.sdk.exceptions.SDKPropertiesFileException;
+import com.hp.ov.sdk.tasks.TaskMonitor;
 
 public class SDKConfiguration {
 
@@ -43,6 +44,38 @@ public class SDKConfiguration {
     private static final String DEFAULT_CLIENT_MAX_NUMBER_OF_CONNECTIONS = "20";
     private static final String CLIENT_SOCKET_TIMEOUT = "client.socket_timeout";
     private static final String DEFAULT_CLIENT_SOCKET_TIMEOUT = "60";
+    private static final String CLIENT_PARALLEL_PAGINATION = "client.parallel_pagination";
+    private static final String CLIENT_COMPRESSION = "client.compression";
+    private static final String CLIENT_REQUEST_COALESCING = "client.request_coalescing";
+    private static final String CLIENT_RESPONSE_CACHE_SIZE = "client.response_cache_size";
+    private static final String DEFAULT_CLIENT_RESPONSE_CACHE_SIZE = "0";
+    private static final String CLIENT_RESPONSE_CACHE_TTL = "client.response_cache_ttl";
+    private static final String DEFAULT_CLIENT_RESPONSE_CACHE_TTL = "300";
+    private static final String CLIENT_CONCURRENCY_ADAPTIVE = "client.concurrency.adaptive";
+    private static final String CLIENT_CONCURRENCY_INITIAL_LIMIT = "client.concurrency.initial_limit";
+    private static final String DEFAULT_CLIENT_CONCURRENCY_INITIAL_LIMIT = "4";
+    private static final String CLIENT_CONCURRENCY_MAX_WAIT = "client.concurrency.max_wait";
+    private static final String DEFAULT_CLIENT_CONCURRENCY_MAX_WAIT = "60";
+    private static final String CLIENT_RETRY_MAX_ATTEMPTS = "client.retry.max_attempts";
+    private static final String DEFAULT_CLIENT_RETRY_MAX_ATTEMPTS = "3";
+    private static final String CLIENT_RETRY_INITIAL_BACKOFF = "client.retry.initial_backoff";
+    private static final String DEFAULT_CLIENT_RETRY_INITIAL_BACKOFF = "500";
+    private static final String CLIENT_RETRY_MAX_BACKOFF = "client.retry.max_backoff";
+    private static final String DEFAULT_CLIENT_RETRY_MAX_BACKOFF = "10000";
+    private static final String CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = "client.circuit_breaker.failure_threshold";
+    private static final String DEFAULT_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = "5";
+    private static final String CLIENT_CIRCUIT_BREAKER_OPEN_INTERVAL = "client.circuit_breaker.open_interval";
+    private static final String DEFAULT_CLIENT_CIRCUIT_BREAKER_OPEN_INTERVAL = "30";
+
+    // Task monitor properties keys
+    private static final String TASK_MONITOR_MIN_INTERVAL = "task.monitor.min_interval";
+    private static final String DEFAULT_TASK_MONITOR_MIN_INTERVAL = String.valueOf(TaskMonitor.DEFAULT_MIN_INTERVAL_MILLIS);
+    private static final String TASK_MONITOR_MAX_INTERVAL = "task.monitor.max_interval";
+    private static final String DEFAULT_TASK_MONITOR_MAX_INTERVAL = String.valueOf(TaskMonitor.DEFAULT_MAX_INTERVAL_MILLIS);
+
+    // Session properties keys
+    private static final String SESSION_REFRESH_INTERVAL = "session.refresh_interval";
+    private static final String DEFAULT_SESSION_REFRESH_INTERVAL = "0";
 
     // Message bus properties keys
     private static final String MESSAGE_BUS_PORT = "messagebus.port";
@@ -109,6 +142,82 @@ public class SDKConfiguration {
                 DEFAULT_CLIENT_SOCKET_TIMEOUT));
     }
 
+    public boolean isClientParallelPaginationEnabled() {
+        return Boolean.parseBoolean(this.properties.getProperty(CLIENT_PARALLEL_PAGINATION, "false"));
+    }
+
+    public boolean isClientCompressionEnabled() {
+        return Boolean.parseBoolean(this.properties.getProperty(CLIENT_COMPRESSION, "false"));
+    }
+
+    public boolean isClientRequestCoalescingEnabled() {
+        return Boolean.parseBoolean(this.properties.getProperty(CLIENT_REQUEST_COALESCING, "false"));
+    }
+
+    public int getClientResponseCacheSize() throws NumberFormatException {
+        return Integer.parseInt(this.properties.getProperty(CLIENT_RESPONSE_CACHE_SIZE,
+                DEFAULT_CLIENT_RESPONSE_CACHE_SIZE));
+    }
+
+    public int getClientResponseCacheTtl() throws NumberFormatException {
+        return Integer.parseInt(this.properties.getProperty(CLIENT_RESPONSE_CACHE_TTL,
+                DEFAULT_CLIENT_RESPONSE_CACHE_TTL));
+    }
+
+    public boolean isClientAdaptiveConcurrencyEnabled() {
+        return Boolean.parseBoolean(this.properties.getProperty(CLIENT_CONCURRENCY_ADAPTIVE, "false"));
+    }
+
+    public int getClientConcurrencyInitialLimit() throws NumberFormatException {
+        return Integer.parseInt(this.properties.getProperty(CLIENT_CONCURRENCY_INITIAL_LIMIT,
+                DEFAULT_CLIENT_CONCURRENCY_INITIAL_LIMIT));
+    }
+
+    public int getClientConcurrencyMaxWait() throws NumberFormatException {
+        return Integer.parseInt(this.properties.getProperty(CLIENT_CONCURRENCY_MAX_WAIT,
+                DEFAULT_CLIENT_CONCURRENCY_MAX_WAIT));
+    }
+
+    public int getClientRetryMaxAttempts() throws NumberFormatException {
+        return Integer.parseInt(this.properties.getProperty(CLIENT_RETRY_MAX_ATTEMPTS,
+                DEFAULT_CLIENT_RETRY_MAX_ATTEMPTS));
+    }
+
+    public int getClientRetryInitialBackoff() throws NumberFormatException {
+        return Integer.parseInt(this.properties.getProperty(CLIENT_RETRY_INITIAL_BACKOFF,
+                DEFAULT_CLIENT_RETRY_INITIAL_BACKOFF));
+    }
+
+    public int getClientRetryMaxBackoff() throws NumberFormatException {
+        return Integer.parseInt(this.properties.getProperty(CLIENT_RETRY_MAX_BACKOFF,
+                DEFAULT_CLIENT_RETRY_MAX_BACKOFF));
+    }
+
+    public int getClientCircuitBreakerFailureThreshold() throws NumberFormatException {
+        return Integer.parseInt(this.properties.getProperty(CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+                DEFAULT_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD));
+    }
+
+    public int getClientCircuitBreakerOpenInterval() throws NumberFormatException {
+        return Integer.parseInt(this.properties.getProperty(CLIENT_CIRCUIT_BREAKER_OPEN_INTERVAL,
+                DEFAULT_CLIENT_CIRCUIT_BREAKER_OPEN_INTERVAL));
+    }
+
+    public int getTaskMonitorMinInterval() throws NumberFormatException {
+        return Integer.parseInt(this.properties.getProperty(TASK_MONITOR_MIN_INTERVAL,
+                DEFAULT_TASK_MONITOR_MIN_INTERVAL));
+    }
+
+    public int getTaskMonitorMaxInterval() throws NumberFormatException {
+        return Integer.parseInt(this.properties.getProperty(TASK_MONITOR_MAX_INTERVAL,
+                DEFAULT_TASK_MONITOR_MAX_INTERVAL));
+    }
+
+    public int getSessionRefreshInterval() throws NumberFormatException {
+        return Integer.parseInt(this.properties.getProperty(SESSION_REFRESH_INTERVAL,
+                DEFAULT_SESSION_REFRESH_INTERVAL));
+    }
+
     public String getOneViewHostname() {
         return this.properties.getProperty(HOSTNAME);
     }
@@ -180,6 +289,58 @@ public class SDKConfiguration {
             return this;
         }
 
+        public SDKConfigurationBuilder withParallelPagination(boolean enabled) {
+            values.put(SDKConfiguration.CLIENT_PARALLEL_PAGINATION, String.valueOf(enabled));
+            return this;
+        }
+
+        public SDKConfigurationBuilder withCompression(boolean enabled) {
+            values.put(SDKConfiguration.CLIENT_COMPRESSION, String.valueOf(enabled));
+            return this;
+        }
+
+        public SDKConfigurationBuilder withRequestCoalescing(boolean enabled) {
+            values.put(SDKConfiguration.CLIENT_REQUEST_COALESCING, String.valueOf(enabled));
+            return this;
+        }
+
+        public SDKConfigurationBuilder withResponseCache(int maximumSize, int ttlSeconds) {
+            values.put(SDKConfiguration.CLIENT_RESPONSE_CACHE_SIZE, String.valueOf(maximumSize));
+            values.put(SDKConfiguration.CLIENT_RESPONSE_CACHE_TTL, String.valueOf(ttlSeconds));
+            return this;
+        }
+
+        public SDKConfigurationBuilder withAdaptiveConcurrency(int initialLimit, int maxWaitSeconds) {
+            values.put(SDKConfiguration.CLIENT_CONCURRENCY_ADAPTIVE, String.valueOf(true));
+            values.put(SDKConfiguration.CLIENT_CONCURRENCY_INITIAL_LIMIT, String.valueOf(initialLimit));
+            values.put(SDKConfiguration.CLIENT_CONCURRENCY_MAX_WAIT, String.valueOf(maxWaitSeconds));
+            return this;
+        }
+
+        public SDKConfigurationBuilder withRetry(int maxAttempts, int initialBackoffMillis, int maxBackoffMillis) {
+            values.put(SDKConfiguration.CLIENT_RETRY_MAX_ATTEMPTS, String.valueOf(maxAttempts));
+            values.put(SDKConfiguration.CLIENT_RETRY_INITIAL_BACKOFF, String.valueOf(initialBackoffMillis));
+            values.put(SDKConfiguration.CLIENT_RETRY_MAX_BACKOFF, String.valueOf(maxBackoffMillis));
+            return this;
+        }
+
+        public SDKConfigurationBuilder withCircuitBreaker(int failureThreshold, int openIntervalSeconds) {
+            values.put(SDKConfiguration.CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD, String.valueOf(failureThreshold));
+            values.put(SDKConfiguration.CLIENT_CIRCUIT_BREAKER_OPEN_INTERVAL, String.valueOf(openIntervalSeconds));
+            return this;
+        }
+
+        public SDKConfigurationBuilder withTaskMonitorInterval(int minIntervalMillis, int maxIntervalMillis) {
+            values.put(SDKConfiguration.TASK_MONITOR_MIN_INTERVAL, String.valueOf(minIntervalMillis));
+            values.put(SDKConfiguration.TASK_MONITOR_MAX_INTERVAL, String.valueOf(maxIntervalMillis));
+            return this;
+        }
+
+        public SDKConfigurationBuilder withSessionRefreshInterval(int minutes) {
+            values.put(SDKConfiguration.SESSION_REFRESH_INTERVAL, String.valueOf(minutes));
+            return this;
+        }
+
         public SDKConfigurationBuilder withMessageBusPort(int port) {
             values.put(SDKConfiguration.MESSAGE_BUS_PORT, String.valueOf(port));
             return this;
@@ -0,0 +1,50 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.client;
+
+/**
+ * By default, the {@link com.hp.ov.sdk.dto.TaskResource} returned by time consuming operations
+ * is monitored until the operation completes. Using this implementation of {@link RequestOption},
+ * the task can instead be returned as soon as the appliance accepts the request, so that
+ * several tasks can be started and then tracked together with a
+ * {@link com.hp.ov.sdk.tasks.TaskWaiter}.
+ *
+ * <p>Below is an example that illustrates how the monitoring can be disabled:
+ *
+ * <pre>{@code
+ *     SomeClient client = oneViewClient.someClient();
+ *     SomeResource resource = new SomeResource();
+ *     TaskResource task = client.create(resource, TaskMonitoring.disabled());
+ * }</pre>
+ */
+public class TaskMonitoring implements RequestOption {
+
+    private final boolean enabled;
+
+    public TaskMonitoring(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static TaskMonitoring disabled() {
+        return new TaskMonitoring(false);
+    }
+
+    @Override
+    public void apply(Request request) {
+        request.setMonitorTask(this.enabled);
+    }
+}
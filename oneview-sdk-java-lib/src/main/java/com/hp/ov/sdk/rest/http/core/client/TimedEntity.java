@@ -0,0 +1,63 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.client;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+/**
+ * Accounts the time spent reading the response body, and its size, to the metrics of
+ * the request. Reads block until data arrives, so this is the time spent waiting for
+ * the body, whichever code consumes it.
+ */
+class TimedEntity extends HttpEntityWrapper {
+
+    private final RequestMetrics metrics;
+
+    TimedEntity(HttpEntity entity, RequestMetrics metrics) {
+        super(entity);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return new FilterInputStream(super.getContent()) {
+            @Override
+            public int read() throws IOException {
+                long startNanos = System.nanoTime();
+                int value = super.read();
+
+                metrics.addRead(System.nanoTime() - startNanos, (value >= 0) ? 1 : 0);
+                return value;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                long startNanos = System.nanoTime();
+                int count = super.read(buffer, offset, length);
+
+                metrics.addRead(System.nanoTime() - startNanos, Math.max(count, 0));
+                return count;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.client;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+/**
+ * Counters of the responses received by an {@link HttpRestClient}, to judge whether
+ * response compression (see {@link SDKConfiguration#isClientCompressionEnabled()})
+ * pays off on a given link: the bytes received on the wire are compared with the bytes
+ * of content they carry, and the time spent decoding the content is accounted for.
+ */
+public final class TransferStatistics {
+
+    private final AtomicLong wireBytes = new AtomicLong();
+    private final AtomicLong contentBytes = new AtomicLong();
+    private final AtomicLong decodedResponses = new AtomicLong();
+    private final AtomicLong decodeTimeNanos = new AtomicLong();
+
+    TransferStatistics() { }
+
+    /**
+     * @return the number of bytes of response bodies received, compressed or not.
+     */
+    public long getWireBytes() {
+        return wireBytes.get();
+    }
+
+    /**
+     * @return the number of bytes of response bodies once decompressed.
+     */
+    public long getContentBytes() {
+        return contentBytes.get();
+    }
+
+    /**
+     * @return the number of responses converted to resources.
+     */
+    public long getDecodedResponses() {
+        return decodedResponses.get();
+    }
+
+    /**
+     * @return the time spent converting responses to resources, in nanoseconds. Responses
+     * are converted while being read, so this includes the time spent receiving them.
+     */
+    public long getDecodeTimeNanos() {
+        return decodeTimeNanos.get();
+    }
+
+    HttpEntity countWireBytes(HttpEntity entity) {
+        return new CountingEntity(entity, wireBytes);
+    }
+
+    HttpEntity countContentBytes(HttpEntity entity) {
+        return new CountingEntity(entity, contentBytes);
+    }
+
+    void recordDecode(long nanos) {
+        decodedResponses.incrementAndGet();
+        decodeTimeNanos.addAndGet(nanos);
+    }
+
+    @Override
+    public String toString() {
+        return "TransferStatistics{wireBytes=" + wireBytes + ", contentBytes=" + contentBytes
+                + ", decodedResponses=" + decodedResponses + ", decodeTimeNanos=" + decodeTimeNanos + "}";
+    }
+
+    /*
+     * Responses are always consumed through getContent(), thus writeTo() is left as is.
+     */
+    private static final class CountingEntity extends HttpEntityWrapper {
+
+        private final AtomicLong counter;
+
+        private CountingEntity(HttpEntity entity, AtomicLong counter) {
+            super(entity);
+            this.counter = counter;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int value = super.read();
+
+                    if (value >= 0) {
+                        counter.incrementAndGet();
+                    }
+                    return value;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int count = super.read(buffer, offset, length);
+
+                    if (count > 0) {
+                        counter.addAndGet(count);
+                    }
+                    return count;
+                }
+
+                @Override
+                public long skip(long n) throws IOException {
+                    long skipped = super.skip(n);
+
+                    counter.addAndGet(skipped);
+                    return skipped;
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.hp.ov.sdk.rest.http.core.client.RequestMetrics;
+
+/**
+ * Accumulated measurements of the requests sent to one endpoint. Durations are
+ * recorded in microseconds.
+ */
+final class EndpointMetrics {
+
+    private static final int STATUS_CLASSES = 6;
+
+    private final String endpoint;
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+    private final AtomicLongArray statuses = new AtomicLongArray(STATUS_CLASSES);
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram connectionWait = new LatencyHistogram();
+    private final LatencyHistogram firstByte = new LatencyHistogram();
+    private final LatencyHistogram read = new LatencyHistogram();
+    private final LatencyHistogram decode = new LatencyHistogram();
+
+    EndpointMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(RequestMetrics metrics) {
+        int statusClass = metrics.getStatusCode() / 100;
+
+        if ((statusClass <= 0) || (statusClass >= 4)) {
+            this.failures.incrementAndGet();
+        }
+        this.statuses.incrementAndGet(Math.min(Math.max(statusClass, 0), STATUS_CLASSES - 1));
+        this.responseBytes.addAndGet(metrics.getResponseBytes());
+
+        this.latency.record(micros(metrics.getConnectionWaitNanos() + metrics.getFirstByteNanos()
+                + metrics.getReadNanos() + metrics.getDecodeNanos()));
+        this.connectionWait.record(micros(metrics.getConnectionWaitNanos()));
+        this.firstByte.record(micros(metrics.getFirstByteNanos()));
+        this.read.record(micros(metrics.getReadNanos()));
+        this.decode.record(micros(metrics.getDecodeNanos()));
+    }
+
+    EndpointSnapshot snapshot() {
+        long[] statusCounts = new long[STATUS_CLASSES];
+
+        for (int i = 0; i < STATUS_CLASSES; i++) {
+            statusCounts[i] = this.statuses.get(i);
+        }
+        return new EndpointSnapshot(this.endpoint, this.failures.get(), this.responseBytes.get(), statusCounts,
+                this.latency.snapshot(), this.connectionWait.snapshot(), this.firstByte.snapshot(),
+                this.read.snapshot(), this.decode.snapshot());
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measurements of the requests sent to one endpoint, as of the moment the snapshot was
+ * taken. Durations are in microseconds.
+ */
+public final class EndpointSnapshot {
+
+    private static final String[] STATUS_CLASSES = {"none", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final String endpoint;
+    private final long failures;
+    private final long responseBytes;
+    private final long[] statusCounts;
+    private final LatencyHistogram.Snapshot latency;
+    private final LatencyHistogram.Snapshot connectionWait;
+    private final LatencyHistogram.Snapshot firstByte;
+    private final LatencyHistogram.Snapshot read;
+    private final LatencyHistogram.Snapshot decode;
+
+    EndpointSnapshot(String endpoint, long failures, long responseBytes, long[] statusCounts,
+            LatencyHistogram.Snapshot latency, LatencyHistogram.Snapshot connectionWait,
+            LatencyHistogram.Snapshot firstByte, LatencyHistogram.Snapshot read, LatencyHistogram.Snapshot decode) {
+        this.endpoint = endpoint;
+        this.failures = failures;
+        this.responseBytes = responseBytes;
+        this.statusCounts = statusCounts;
+        this.latency = latency;
+        this.connectionWait = connectionWait;
+        this.firstByte = firstByte;
+        this.read = read;
+        this.decode = decode;
+    }
+
+    /**
+     * @return the HTTP method and URI template of the endpoint, such as
+     * <code>GET /rest/enclosures/{resourceId}</code>.
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRequests() {
+        return latency.getCount();
+    }
+
+    /**
+     * @return the number of requests that got no response, or an error response.
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * @return the number of responses by status class (<code>2xx</code>, <code>4xx</code>...),
+     * <code>none</code> counting the requests that got no response.
+     */
+    public Map<String, Long> getStatuses() {
+        Map<String, Long> statuses = new LinkedHashMap<>();
+
+        for (int i = 0; i < statusCounts.length; i++) {
+            if (statusCounts[i] > 0) {
+                statuses.put(STATUS_CLASSES[i], statusCounts[i]);
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * @return the whole duration of the requests, from waiting for a connection to
+     * decoding the response.
+     */
+    public LatencyHistogram.Snapshot getLatency() {
+        return latency;
+    }
+
+    public LatencyHistogram.Snapshot getConnectionWait() {
+        return connectionWait;
+    }
+
+    public LatencyHistogram.Snapshot getFirstByte() {
+        return firstByte;
+    }
+
+    public LatencyHistogram.Snapshot getRead() {
+        return read;
+    }
+
+    public LatencyHistogram.Snapshot getDecode() {
+        return decode;
+    }
+
+    @Override
+    public String toString() {
+        return endpoint + ": requests=" + getRequests() + ", failures=" + failures + ", responseBytes="
+                + responseBytes + ", statuses=" + getStatuses() + ", latency=" + latency
+                + ", connectionWait=" + connectionWait + ", firstByte=" + firstByte + ", read=" + read
+                + ", decode=" + decode;
+    }
+
+}
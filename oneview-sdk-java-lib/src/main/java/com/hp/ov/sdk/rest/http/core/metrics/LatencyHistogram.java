@@ -0,0 +1,164 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of non-negative values, with logarithmic buckets split linearly
+ * (as HdrHistogram does): values are recorded with a relative error below 1/16, in a
+ * fixed amount of memory, whatever their range.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        long recorded = Math.max(value, 0);
+
+        this.counts.incrementAndGet(indexOf(recorded));
+        this.count.incrementAndGet();
+        this.sum.addAndGet(recorded);
+
+        long current;
+
+        while (recorded > (current = this.max.get())) {
+            if (this.max.compareAndSet(current, recorded)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot of the recorded values. Values recorded concurrently may or may
+     * not be part of it.
+     *
+     * @return the snapshot of the histogram.
+     */
+    public Snapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        long total = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = this.counts.get(i);
+            total += buckets[i];
+        }
+        return new Snapshot(total, (total == 0) ? 0 : (double) this.sum.get() / this.count.get(),
+                percentile(buckets, total, 0.5),
+                percentile(buckets, total, 0.9),
+                percentile(buckets, total, 0.99),
+                this.max.get());
+    }
+
+    /*
+     * Values below SUB_BUCKETS have a bucket of their own. Above, each power of two is
+     * split into SUB_BUCKETS buckets, indexed by the bits following the leading one.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long lowestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+
+        return ((long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1)))) << shift;
+    }
+
+    static long widthOf(int index) {
+        return (index < SUB_BUCKETS) ? 1 : 1L << ((index >>> SUB_BUCKET_BITS) - 1);
+    }
+
+    private static long percentile(long[] buckets, long total, double quantile) {
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+
+            if ((seen >= rank) && (seen > 0)) {
+                return lowestValueOf(i) + (widthOf(i) - 1) / 2;
+            }
+        }
+        return 0;
+    }
+
+    public static final class Snapshot {
+
+        private final long count;
+        private final double mean;
+        private final long median;
+        private final long percentile90;
+        private final long percentile99;
+        private final long max;
+
+        private Snapshot(long count, double mean, long median, long percentile90, long percentile99, long max) {
+            this.count = count;
+            this.mean = mean;
+            this.median = median;
+            this.percentile90 = percentile90;
+            this.percentile99 = percentile99;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public long getMedian() {
+            return median;
+        }
+
+        public long getPercentile90() {
+            return percentile90;
+        }
+
+        public long getPercentile99() {
+            return percentile99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count + ", mean=" + String.format("%.1f", mean) + ", median=" + median
+                    + ", p90=" + percentile90 + ", p99=" + percentile99 + ", max=" + max + "}";
+        }
+    }
+
+}
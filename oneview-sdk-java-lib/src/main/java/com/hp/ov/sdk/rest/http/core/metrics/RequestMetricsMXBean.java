@@ -0,0 +1,30 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.metrics;
+
+import java.util.List;
+
+/**
+ * Management interface of {@link RequestMetricsRecorder}, exposed through JMX.
+ */
+public interface RequestMetricsMXBean {
+
+    List<EndpointSnapshot> getEndpoints();
+
+    void reset();
+
+}
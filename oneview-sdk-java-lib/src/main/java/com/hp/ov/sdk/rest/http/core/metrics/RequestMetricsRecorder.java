@@ -0,0 +1,112 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.http.core.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.hp.ov.sdk.exceptions.SDKErrorEnum;
+import com.hp.ov.sdk.exceptions.SDKInternalException;
+import com.hp.ov.sdk.rest.http.core.client.RequestMetrics;
+import com.hp.ov.sdk.rest.http.core.client.RequestMetricsListener;
+
+/**
+ * Records the latency of the requests, and of each of their phases, in a histogram per
+ * endpoint. Endpoints are identified by their HTTP method and URI template, which keeps
+ * their number bounded whatever the resources requested:
+ *
+ * <pre>
+ * RequestMetricsRecorder recorder = new RequestMetricsRecorder();
+ *
+ * oneViewClient.setRequestMetricsListener(recorder);
+ * recorder.registerMBean("oneview");
+ * ...
+ * for (EndpointSnapshot endpoint : recorder.getEndpoints()) {
+ *     System.out.println(endpoint);
+ * }
+ * </pre>
+ */
+public class RequestMetricsRecorder implements RequestMetricsListener, RequestMetricsMXBean {
+
+    private static final String OBJECT_NAME = "com.hp.ov.sdk:type=RequestMetrics,name=";
+
+    private final ConcurrentMap<String, EndpointMetrics> endpoints = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void requestCompleted(RequestMetrics metrics) {
+        String key = metrics.getMethod() + " " + metrics.getEndpoint();
+        EndpointMetrics endpoint = this.endpoints.get(key);
+
+        if (endpoint == null) {
+            EndpointMetrics created = new EndpointMetrics(key);
+
+            endpoint = this.endpoints.putIfAbsent(key, created);
+
+            if (endpoint == null) {
+                endpoint = created;
+            }
+        }
+        endpoint.record(metrics);
+    }
+
+    /**
+     * Returns the measurements of every endpoint requested so far, ordered by endpoint.
+     *
+     * @return a snapshot of the measurements.
+     */
+    @Override
+    public List<EndpointSnapshot> getEndpoints() {
+        List<EndpointSnapshot> snapshots = new ArrayList<>(this.endpoints.size());
+
+        for (EndpointMetrics endpoint : this.endpoints.values()) {
+            snapshots.add(endpoint.snapshot());
+        }
+        return snapshots;
+    }
+
+    @Override
+    public void reset() {
+        this.endpoints.clear();
+    }
+
+    /**
+     * Registers this recorder in the platform MBean server.
+     *
+     * @param name distinguishes this recorder from the ones of other clients.
+     *
+     * @return the name under which the recorder was registered.
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName(OBJECT_NAME + ObjectName.quote(name));
+
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+
+            return objectName;
+        } catch (JMException e) {
+            throw new SDKInternalException(SDKErrorEnum.internalError,
+                    "Could not register the request metrics MBean", e);
+        }
+    }
+
+}
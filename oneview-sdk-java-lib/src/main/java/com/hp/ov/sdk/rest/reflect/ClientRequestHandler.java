@@ -18,31 +18,42 @@ package com.hp.ov.sdk.rest.reflect;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.apache.http.client.utils.URIBuilder;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
 import com.google.common.reflect.AbstractInvocationHandler;
-import com.google.common.reflect.Parameter;
+import com.google.common.reflect.TypeParameter;
 import com.google.common.reflect.TypeToken;
 import com.hp.ov.sdk.adaptors.ResourceAdaptor;
 import com.hp.ov.sdk.dto.ResourceCollection;
 import com.hp.ov.sdk.dto.TaskResource;
 import com.hp.ov.sdk.dto.storage.FcSansManagedSanTask;
+import com.hp.ov.sdk.exceptions.SDKBadRequestException;
+import com.hp.ov.sdk.exceptions.SDKErrorEnum;
+import com.hp.ov.sdk.exceptions.SDKInternalException;
 import com.hp.ov.sdk.rest.client.BaseClient;
 import com.hp.ov.sdk.rest.http.core.HttpMethod;
-import com.hp.ov.sdk.rest.http.core.RequestInterceptor;
 import com.hp.ov.sdk.rest.http.core.URIQuery;
-import com.hp.ov.sdk.rest.http.core.UrlParameter;
-import com.hp.ov.sdk.rest.http.core.client.BasicHeader;
 import com.hp.ov.sdk.rest.http.core.client.Request;
-import com.hp.ov.sdk.rest.http.core.client.RequestOption;
 
 public class ClientRequestHandler<T> extends AbstractInvocationHandler {
 
-    private static final String GET_ALL_METHOD = "getAll";
-
     private final BaseClient baseClient;
     private final String baseUri;
     private final TypeToken<T> token;
+    private final ConcurrentMap<Method, EndpointPlan> plans = new ConcurrentHashMap<>();
 
     public ClientRequestHandler(BaseClient baseClient, Class<T> clientClass) {
         this.baseClient = baseClient;
@@ -52,103 +63,153 @@ public class ClientRequestHandler<T> extends AbstractInvocationHandler {
 
     @Override
     protected Object handleInvocation(Object proxy, Method method, Object[] args) throws Throwable {
-        Request request = this.buildRequest(method, args);
+        EndpointPlan plan = this.planOf(method);
+        Request request = plan.newRequest(args);
+
+        return this.dispatch(plan, request);
+    }
+
+    private Object dispatch(EndpointPlan plan, Request request) {
+        TypeToken<?> resultType = plan.getResultType();
 
-        if (GET_ALL_METHOD.equals(method.getName())) {
-            return this.handleGetAll(request, this.token.method(method).getReturnType().getType());
-        } else {
-            if (TaskResource.class.equals(method.getReturnType())) {
+        switch (plan.getDispatch()) {
+            case GET_ALL:
+                return this.handleGetAll(request, resultType.getType());
+            case ITERATE:
+                return this.handleIterate(request, resultType);
+            case TASK:
                 return this.baseClient.executeMonitorableRequest(request);
-            } else if (FcSansManagedSanTask.class.equals(method.getReturnType())) {
-                return new FcSansManagedSanTask(this.baseClient.executeMonitorableRequest(request), new ResourceAdaptor());
-            }
-            return this.baseClient.executeRequest(request, this.token.method(method).getReturnType().getType());
+            case SAN_TASK:
+                return new FcSansManagedSanTask(this.baseClient.executeMonitorableRequest(request),
+                        new ResourceAdaptor());
+            default:
+                return this.baseClient.executeRequest(request, resultType.getType());
         }
     }
 
-    private Request buildRequest(Method method, Object[] args) throws ReflectiveOperationException {
-        Endpoint endpoint = method.getAnnotation(Endpoint.class);
+    /*
+     * The annotations of a method are read and its return type is resolved only on
+     * its first invocation; the resulting plan is reused by every later invocation.
+     */
+    private EndpointPlan planOf(Method method) throws ReflectiveOperationException {
+        EndpointPlan plan = this.plans.get(method);
 
-        Request request = new Request(endpoint.method(), this.baseUri + endpoint.uri());
-        request.setForceReturnTask(endpoint.forceReturnTask());
+        if (plan == null) {
+            plan = EndpointPlan.compile(this.token, this.baseUri, method);
 
-        this.fillRequestAccordingParams(request, this.token.method(method).getParameters(), args);
-        this.fillRequestAccordingOptions(request, args);
+            EndpointPlan existing = this.plans.putIfAbsent(method, plan);
 
-        this.executeRequestInterceptors(request, this.token.method(method).getParameters(),
-                args, endpoint.requestInterceptor());
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
 
-        return request;
+    @VisibleForTesting
+    Request buildRequest(Method method, Object[] args) throws ReflectiveOperationException {
+        return this.planOf(method).newRequest(args);
     }
 
-    private void executeRequestInterceptors(Request request, List<Parameter> params,
-            Object[] args, Class<? extends RequestInterceptor>[] classes) throws ReflectiveOperationException {
-        for (Class<? extends RequestInterceptor> clazz : classes) {
-            RequestInterceptor interceptor = clazz.newInstance();
+    @SuppressWarnings("unchecked")
+    private ResourceCollection<Object> handleGetAll(Request request, Type returnType) {
+        ResourceCollection<Object> firstPage = (ResourceCollection<Object>)
+                this.baseClient.executeRequest(request, returnType);
+
+        ExecutorService executor = this.baseClient.getPageExecutor();
 
-            interceptor.intercept(request, params, args);
+        if ((executor != null) && (firstPage.getCount() > 0) && (firstPage.getNextPageUri() != null)) {
+            return this.fetchRemainingPagesInParallel(firstPage, returnType, executor);
         }
+        return this.fetchRemainingPages(firstPage, returnType);
     }
 
-    private void fillRequestAccordingParams(Request request, List<Parameter> params, Object[] args) {
-        for (int i = 0; i < params.size(); i++) {
-            PathParam pathParam = params.get(i).getAnnotation(PathParam.class);
-            QueryParam queryParam = params.get(i).getAnnotation(QueryParam.class);
-            BodyParam bodyParam = params.get(i).getAnnotation(BodyParam.class);
-            HeaderParam headerParam = params.get(i).getAnnotation(HeaderParam.class);
-
-            if (pathParam != null) {
-                request.setUri(request.getUri().replaceFirst("\\{" + pathParam.value() + "\\}", args[i].toString()));
-            } else if (queryParam != null) {
-                if (URIQuery.class.isAssignableFrom(args[i].getClass())) {
-                    URIQuery query = (URIQuery) args[i];
-
-                    for (UrlParameter parameter : query.value()) {
-                        request.addQuery(parameter);
-                    }
-                } else {
-                    String value = String.valueOf(args[i]);
-
-                    request.addQuery(new UrlParameter(queryParam.key(), value));
-                }
-            } else if (headerParam != null) {
-                String value = String.valueOf(args[i]);
+    @SuppressWarnings("unchecked")
+    private ResourceCollection<Object> fetchRemainingPages(ResourceCollection<Object> firstPage, Type returnType) {
+        ResourceCollection<Object> resources = new ResourceCollection<>();
+        ResourceCollection<Object> response = firstPage;
 
-                request.addHeader(new BasicHeader(headerParam.value(), value));
-            } else if (bodyParam != null) {
-                request.setEntity(args[i]);
-                request.setContentType(bodyParam.type());
-            }
+        resources.addMembers(response.getMembers());
+        resources.setTotal(response.getTotal());
+
+        while (resources.getCount() < resources.getTotal()) {
+            Request request = new Request(HttpMethod.GET, response.getNextPageUri());
+
+            response = (ResourceCollection<Object>) this.baseClient.executeRequest(request, returnType);
+
+            resources.addMembers(response.getMembers());
+            resources.setTotal(response.getTotal());
         }
+        return resources;
     }
 
-    private void fillRequestAccordingOptions(Request request, Object[] args) {
-        boolean isLastArgumentAnArray = (args != null)
-                && (args.length > 0)
-                && (args[args.length - 1].getClass().isArray());
+    /*
+     * The first page reveals the page size and the total number of members, so the
+     * start offset of every remaining page is known upfront. The pages are requested
+     * concurrently and appended to the collection in the order of their offsets.
+     */
+    private ResourceCollection<Object> fetchRemainingPagesInParallel(ResourceCollection<Object> firstPage,
+            final Type returnType, ExecutorService executor) {
+
+        List<Future<ResourceCollection<Object>>> pages = new ArrayList<>();
+        int pageSize = firstPage.getCount();
+
+        for (int start = firstPage.getStart() + pageSize; start < firstPage.getTotal(); start += pageSize) {
+            final Request request = new Request(HttpMethod.GET, pageUri(firstPage.getNextPageUri(), start));
+
+            pages.add(executor.submit(new Callable<ResourceCollection<Object>>() {
+                @SuppressWarnings("unchecked")
+                @Override
+                public ResourceCollection<Object> call() {
+                    return (ResourceCollection<Object>) ClientRequestHandler.this.baseClient.executeRequest(
+                            request, returnType);
+                }
+            }));
+        }
+
+        ResourceCollection<Object> resources = new ResourceCollection<>();
+
+        resources.addMembers(firstPage.getMembers());
+        resources.setTotal(firstPage.getTotal());
 
-        if (isLastArgumentAnArray) {
-            for (RequestOption option : (RequestOption[]) args[args.length - 1]) {
-                option.apply(request);
+        try {
+            for (Future<ResourceCollection<Object>> page : pages) {
+                resources.addMembers(page.get().getMembers());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new SDKInternalException(SDKErrorEnum.internalError,
+                    "Interrupted while retrieving the collection pages", e);
+        } catch (ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        } finally {
+            for (Future<ResourceCollection<Object>> page : pages) {
+                page.cancel(true);
             }
         }
+        return resources;
     }
 
-    @SuppressWarnings("unchecked")
-    private ResourceCollection<Object> handleGetAll(Request request, Type returnType) {
-        ResourceCollection<Object> resources = new ResourceCollection<>();
-
-        do {
-            ResourceCollection<Object> response = (ResourceCollection<Object>)
-                    this.baseClient.executeRequest(request, returnType);
+    private Iterator<?> handleIterate(Request request, TypeToken<?> returnType) {
+        TypeToken<?> memberType = returnType.resolveType(Iterator.class.getTypeParameters()[0]);
 
-            resources.addMembers(response.getMembers());
-            resources.setTotal(response.getTotal());
+        return new PageIterator<>(this.baseClient, request, collectionType(memberType));
+    }
 
-            request = new Request(HttpMethod.GET, response.getNextPageUri());
-        } while (resources.getCount() < resources.getTotal());
+    private static <M> Type collectionType(TypeToken<M> memberType) {
+        return new TypeToken<ResourceCollection<M>>() {}
+                .where(new TypeParameter<M>() {}, memberType).getType();
+    }
 
-        return resources;
+    private String pageUri(String nextPageUri, int start) {
+        try {
+            return new URIBuilder(nextPageUri)
+                    .setParameter(URIQuery.START, String.valueOf(start))
+                    .build().toString();
+        } catch (URISyntaxException e) {
+            throw new SDKBadRequestException(SDKErrorEnum.badRequestError, nextPageUri, e);
+        }
     }
 
 }
@@ -0,0 +1,316 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.reflect;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.Invokable;
+import com.google.common.reflect.Parameter;
+import com.google.common.reflect.TypeToken;
+import com.hp.ov.sdk.dto.TaskResource;
+import com.hp.ov.sdk.dto.storage.FcSansManagedSanTask;
+import com.hp.ov.sdk.rest.http.core.ContentType;
+import com.hp.ov.sdk.rest.http.core.HttpMethod;
+import com.hp.ov.sdk.rest.http.core.RequestInterceptor;
+import com.hp.ov.sdk.rest.http.core.URIQuery;
+import com.hp.ov.sdk.rest.http.core.UrlParameter;
+import com.hp.ov.sdk.rest.http.core.client.BasicHeader;
+import com.hp.ov.sdk.rest.http.core.client.Request;
+import com.hp.ov.sdk.rest.http.core.client.RequestOption;
+
+/**
+ * Everything needed to turn an invocation of a client method into a {@link Request},
+ * resolved once from the annotations of the method: the URI template split into
+ * literal and variable segments, a binder for each annotated parameter, the
+ * interceptor instances and the resolved return type.
+ */
+final class EndpointPlan {
+
+    private static final String GET_ALL_METHOD = "getAll";
+    private static final int LITERAL = -1;
+    private static final int NO_OPTIONS = -1;
+
+    enum Dispatch {
+        GET_ALL, ITERATE, TASK, SAN_TASK, DEFAULT
+    }
+
+    private final HttpMethod httpMethod;
+    private final String uriTemplate;
+    private final boolean forceReturnTask;
+    private final String[] uriSegments;
+    private final int[] uriArgIndexes;
+    private final int uriLength;
+    private final ParameterBinder[] binders;
+    private final int[] binderArgIndexes;
+    private final int optionsIndex;
+    private final List<RequestInterceptor> interceptors;
+    private final List<Parameter> parameters;
+    private final TypeToken<?> resultType;
+    private final Dispatch dispatch;
+
+    private EndpointPlan(Builder builder) {
+        this.httpMethod = builder.httpMethod;
+        this.uriTemplate = builder.uriTemplate;
+        this.forceReturnTask = builder.forceReturnTask;
+        this.uriSegments = builder.uriSegments.toArray(new String[builder.uriSegments.size()]);
+        this.uriArgIndexes = toIntArray(builder.uriArgIndexes);
+        this.uriLength = builder.uriLength;
+        this.binders = builder.binders.toArray(new ParameterBinder[builder.binders.size()]);
+        this.binderArgIndexes = toIntArray(builder.binderArgIndexes);
+        this.optionsIndex = builder.optionsIndex;
+        this.interceptors = ImmutableList.copyOf(builder.interceptors);
+        this.parameters = builder.parameters;
+        this.resultType = builder.resultType;
+        this.dispatch = builder.dispatch;
+    }
+
+    Request newRequest(Object[] args) {
+        Request request = new Request(this.httpMethod, this.expandUri(args));
+
+        request.setEndpoint(this.uriTemplate);
+        request.setForceReturnTask(this.forceReturnTask);
+
+        for (int i = 0; i < this.binders.length; i++) {
+            this.binders[i].bind(request, args[this.binderArgIndexes[i]]);
+        }
+        if (this.optionsIndex != NO_OPTIONS) {
+            for (RequestOption option : (RequestOption[]) args[this.optionsIndex]) {
+                option.apply(request);
+            }
+        }
+        for (int i = 0; i < this.interceptors.size(); i++) {
+            this.interceptors.get(i).intercept(request, this.parameters, args);
+        }
+        return request;
+    }
+
+    TypeToken<?> getResultType() {
+        return this.resultType;
+    }
+
+    Dispatch getDispatch() {
+        return this.dispatch;
+    }
+
+    private String expandUri(Object[] args) {
+        if (this.uriSegments.length == 1 && this.uriArgIndexes[0] == LITERAL) {
+            return this.uriSegments[0];
+        }
+        StringBuilder uri = new StringBuilder(this.uriLength + 64);
+
+        for (int i = 0; i < this.uriSegments.length; i++) {
+            int argIndex = this.uriArgIndexes[i];
+
+            uri.append(argIndex == LITERAL ? this.uriSegments[i] : args[argIndex].toString());
+        }
+        return uri.toString();
+    }
+
+    static EndpointPlan compile(TypeToken<?> clientType, String baseUri, Method method)
+            throws ReflectiveOperationException {
+        Endpoint endpoint = method.getAnnotation(Endpoint.class);
+        Invokable<?, Object> invokable = clientType.method(method);
+        Builder builder = new Builder();
+
+        builder.httpMethod = endpoint.method();
+        builder.forceReturnTask = endpoint.forceReturnTask();
+        builder.parameters = invokable.getParameters();
+
+        builder.compileUri(baseUri + endpoint.uri());
+        builder.compileParameters(method.getParameterTypes());
+
+        for (Class<? extends RequestInterceptor> clazz : endpoint.requestInterceptor()) {
+            builder.interceptors.add(clazz.newInstance());
+        }
+        builder.compileResult(method, invokable.getReturnType());
+
+        return new EndpointPlan(builder);
+    }
+
+    private static int[] toIntArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static final class Builder {
+
+        private HttpMethod httpMethod;
+        private String uriTemplate;
+        private boolean forceReturnTask;
+        private List<Parameter> parameters;
+        private final List<String> uriSegments = new ArrayList<>();
+        private final List<Integer> uriArgIndexes = new ArrayList<>();
+        private int uriLength;
+        private final List<ParameterBinder> binders = new ArrayList<>();
+        private final List<Integer> binderArgIndexes = new ArrayList<>();
+        private int optionsIndex = NO_OPTIONS;
+        private final List<RequestInterceptor> interceptors = new ArrayList<>();
+        private TypeToken<?> resultType;
+        private Dispatch dispatch;
+
+        /*
+         * Splits the template into literal segments and "{name}" variables. Every
+         * variable starts as a literal and is bound to an argument once a matching
+         * path parameter is found, so that unmatched variables are left untouched.
+         */
+        private void compileUri(String template) {
+            this.uriTemplate = template;
+
+            int start = 0;
+            int open = template.indexOf('{');
+
+            while (open >= 0) {
+                int close = template.indexOf('}', open);
+
+                if (close < 0) {
+                    break;
+                }
+                if (open > start) {
+                    this.addUriSegment(template.substring(start, open));
+                }
+                this.addUriSegment(template.substring(open, close + 1));
+
+                start = close + 1;
+                open = template.indexOf('{', start);
+            }
+            if (start < template.length() || this.uriSegments.isEmpty()) {
+                this.addUriSegment(template.substring(start));
+            }
+            this.uriLength = template.length();
+        }
+
+        private void addUriSegment(String segment) {
+            this.uriSegments.add(segment);
+            this.uriArgIndexes.add(LITERAL);
+        }
+
+        private void compileParameters(Class<?>[] parameterTypes) {
+            for (int i = 0; i < this.parameters.size(); i++) {
+                Parameter parameter = this.parameters.get(i);
+
+                if (parameter.isAnnotationPresent(PathParam.class)) {
+                    this.bindUriVariable(parameter.getAnnotation(PathParam.class), i);
+                } else if (parameter.isAnnotationPresent(QueryParam.class)) {
+                    this.addBinder(new QueryBinder(parameter.getAnnotation(QueryParam.class).key()), i);
+                } else if (parameter.isAnnotationPresent(HeaderParam.class)) {
+                    this.addBinder(new HeaderBinder(parameter.getAnnotation(HeaderParam.class).value()), i);
+                } else if (parameter.isAnnotationPresent(BodyParam.class)) {
+                    this.addBinder(new BodyBinder(parameter.getAnnotation(BodyParam.class).type()), i);
+                }
+            }
+            int last = parameterTypes.length - 1;
+
+            if (last >= 0 && RequestOption[].class.isAssignableFrom(parameterTypes[last])) {
+                this.optionsIndex = last;
+            }
+        }
+
+        private void bindUriVariable(PathParam pathParam, int argIndex) {
+            String variable = "{" + pathParam.value() + "}";
+
+            for (int i = 0; i < this.uriSegments.size(); i++) {
+                if (this.uriArgIndexes.get(i) == LITERAL && variable.equals(this.uriSegments.get(i))) {
+                    this.uriArgIndexes.set(i, argIndex);
+                    return;
+                }
+            }
+        }
+
+        private void addBinder(ParameterBinder binder, int argIndex) {
+            this.binders.add(binder);
+            this.binderArgIndexes.add(argIndex);
+        }
+
+        private void compileResult(Method method, TypeToken<?> returnType) {
+            this.resultType = returnType;
+
+            if (GET_ALL_METHOD.equals(method.getName())) {
+                this.dispatch = Dispatch.GET_ALL;
+            } else if (Iterator.class.equals(returnType.getRawType())) {
+                this.dispatch = Dispatch.ITERATE;
+            } else if (TaskResource.class.equals(returnType.getRawType())) {
+                this.dispatch = Dispatch.TASK;
+            } else if (FcSansManagedSanTask.class.equals(returnType.getRawType())) {
+                this.dispatch = Dispatch.SAN_TASK;
+            } else {
+                this.dispatch = Dispatch.DEFAULT;
+            }
+        }
+    }
+
+    private interface ParameterBinder {
+        void bind(Request request, Object arg);
+    }
+
+    private static final class QueryBinder implements ParameterBinder {
+
+        private final String key;
+
+        QueryBinder(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void bind(Request request, Object arg) {
+            if (arg instanceof URIQuery) {
+                for (UrlParameter parameter : ((URIQuery) arg).value()) {
+                    request.addQuery(parameter);
+                }
+            } else {
+                request.addQuery(new UrlParameter(this.key, String.valueOf(arg)));
+            }
+        }
+    }
+
+    private static final class HeaderBinder implements ParameterBinder {
+
+        private final String name;
+
+        HeaderBinder(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void bind(Request request, Object arg) {
+            request.addHeader(new BasicHeader(this.name, String.valueOf(arg)));
+        }
+    }
+
+    private static final class BodyBinder implements ParameterBinder {
+
+        private final ContentType contentType;
+
+        BodyBinder(ContentType contentType) {
+            this.contentType = contentType;
+        }
+
+        @Override
+        public void bind(Request request, Object arg) {
+            request.setEntity(arg);
+            request.setContentType(this.contentType);
+        }
+    }
+
+}
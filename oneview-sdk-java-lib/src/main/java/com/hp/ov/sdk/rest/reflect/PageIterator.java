@@ -0,0 +1,75 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.rest.reflect;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+
+import com.google.common.collect.AbstractIterator;
+import com.hp.ov.sdk.dto.ResourceCollection;
+import com.hp.ov.sdk.rest.client.BaseClient;
+import com.hp.ov.sdk.rest.http.core.HttpMethod;
+import com.hp.ov.sdk.rest.http.core.client.Request;
+
+/**
+ * Iterates over the members of a paginated collection, requesting each page only
+ * when the members of the previous one have been consumed. At most one page is kept
+ * in memory, and no further page is requested once the caller stops iterating.
+ */
+class PageIterator<T> extends AbstractIterator<T> {
+
+    private final BaseClient baseClient;
+    private final Type pageType;
+
+    private Request nextRequest;
+    private Iterator<T> members = Collections.emptyIterator();
+    private int retrieved;
+
+    PageIterator(BaseClient baseClient, Request request, Type pageType) {
+        this.baseClient = baseClient;
+        this.nextRequest = request;
+        this.pageType = pageType;
+    }
+
+    @Override
+    protected T computeNext() {
+        while (!this.members.hasNext()) {
+            if (this.nextRequest == null) {
+                return this.endOfData();
+            }
+            this.fetchNextPage();
+        }
+        return this.members.next();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fetchNextPage() {
+        ResourceCollection<T> page = (ResourceCollection<T>) this.baseClient.executeRequest(
+                this.nextRequest, this.pageType);
+
+        this.retrieved += page.getCount();
+        this.members = page.iterator();
+
+        boolean hasNextPage = (page.getCount() > 0)
+                && (this.retrieved < page.getTotal())
+                && (page.getNextPageUri() != null);
+
+        this.nextRequest = hasNextPage ? new Request(HttpMethod.GET, page.getNextPageUri()) : null;
+    }
+
+}
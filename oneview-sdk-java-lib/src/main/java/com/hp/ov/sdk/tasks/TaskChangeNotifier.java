@@ -0,0 +1,107 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.tasks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.hp.ov.sdk.messaging.scmb.ScmbMessage;
+import com.hp.ov.sdk.messaging.scmb.ScmbMessageHandler;
+
+/**
+ * {@link ScmbMessageHandler} that wakes up the {@link TaskMonitor} waiting on a task
+ * as soon as the State-Changed Message Bus reports a change on it, instead of letting
+ * the monitor sleep until its next poll.
+ *
+ * <p>The notifier must be subscribed to the tasks messages and registered on the client
+ * whose tasks should be monitored, as shown below:
+ *
+ * <pre>{@code
+ *     TaskChangeNotifier notifier = new TaskChangeNotifier();
+ *
+ *     messageBusClient.addScmbHandler(TaskChangeNotifier.ROUTING_KEY, notifier);
+ *     oneViewClient.setTaskChangeNotifier(notifier);
+ * }</pre>
+ *
+ * <p>Tasks are still polled, at the maximum configured interval, in case a message is lost.
+ */
+public class TaskChangeNotifier implements ScmbMessageHandler {
+
+    public static final String ROUTING_KEY = "scmb.tasks.#";
+
+    private final Map<String, Watch> watches = new HashMap<>();
+
+    @Override
+    public synchronized void handleMessage(ScmbMessage message) {
+        Watch watch = this.watches.get(message.getResourceUri());
+
+        if (watch != null) {
+            watch.changes++;
+
+            this.notifyAll();
+        }
+    }
+
+    synchronized void watch(String taskUri) {
+        Watch watch = this.watches.get(taskUri);
+
+        if (watch == null) {
+            watch = new Watch();
+
+            this.watches.put(taskUri, watch);
+        }
+        watch.watchers++;
+    }
+
+    synchronized void unwatch(String taskUri) {
+        Watch watch = this.watches.get(taskUri);
+
+        if ((watch != null) && (--watch.watchers == 0)) {
+            this.watches.remove(taskUri);
+        }
+    }
+
+    synchronized long changeCount(String taskUri) {
+        Watch watch = this.watches.get(taskUri);
+
+        return (watch == null) ? 0 : watch.changes;
+    }
+
+    /*
+     * Blocks until a change newer than seenChanges is reported for the task,
+     * or until the timeout elapses.
+     */
+    synchronized void awaitChange(String taskUri, long seenChanges, long timeoutMillis)
+            throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long remaining = timeoutMillis;
+
+        while ((remaining > 0) && (this.changeCount(taskUri) == seenChanges)) {
+            this.wait(remaining);
+
+            remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        }
+    }
+
+    private static class Watch {
+        private int watchers;
+        private long changes;
+    }
+
+}
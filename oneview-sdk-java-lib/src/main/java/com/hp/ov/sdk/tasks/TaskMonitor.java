@@ -17,12 +17,15 @@
 package com.hp.ov.sdk.tasks;
 
 import java.util.ArrayList;
-import java.util.Calendar;
+import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Sets;
 import com.hp.ov.sdk.constants.SdkConstants;
 import com.hp.ov.sdk.dto.ErrorMessage;
 import com.hp.ov.sdk.dto.TaskResource;
@@ -37,76 +40,145 @@ public class TaskMonitor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TaskMonitor.class);
 
-    //TODO externalize this value to make it configurable
-    private static final int TASK_MONITORING_INTERVAL = 5000; //milliseconds
+    private static final Set<TaskState> FINAL_STATES = Sets.immutableEnumSet(
+            TaskState.Completed, TaskState.Error, TaskState.Interrupted,
+            TaskState.Killed, TaskState.Terminated, TaskState.Warning);
+
+    public static final long DEFAULT_MIN_INTERVAL_MILLIS = 500;
+    public static final long DEFAULT_MAX_INTERVAL_MILLIS = 5000;
+
+    private final long minIntervalMillis;
+    private final long maxIntervalMillis;
+
+    /**
+     * Creates a monitor polling within the default bounds of the
+     * <code>task.monitor.min_interval</code> and <code>task.monitor.max_interval</code> settings.
+     */
+    public TaskMonitor() {
+        this(DEFAULT_MIN_INTERVAL_MILLIS, DEFAULT_MAX_INTERVAL_MILLIS);
+    }
+
+    public TaskMonitor(long minIntervalMillis, long maxIntervalMillis) {
+        this.minIntervalMillis = minIntervalMillis;
+        this.maxIntervalMillis = Math.max(minIntervalMillis, maxIntervalMillis);
+    }
 
     public TaskResource execute(BaseClient client, TaskResource task, int taskTimeoutMillis) {
+        TaskChangeNotifier notifier = client.getTaskChangeNotifier();
         TaskResource taskResult;
 
-        if (taskTimeoutMillis > SdkConstants.NO_TASK_TIMEOUT) {
-            taskResult = this.checkTaskTimeout(client, task, taskTimeoutMillis);
-        } else {
-            taskResult = this.checkTaskPercentage(client, task);
+        if (notifier != null) {
+            notifier.watch(task.getUri());
         }
 
-        if (task.getTaskState() == (TaskState.Error)) {
-            List<String> errorMessages = new ArrayList<>();
-            List<String> errorRecommendations = new ArrayList<>();
-
-            for (ErrorMessage errorMessage : task.getTaskErrors()) {
-                errorMessages.add(errorMessage.getMessage());
-                errorRecommendations.addAll(errorMessage.getRecommendedActions());
+        try {
+            taskResult = this.monitor(client, notifier, task, taskTimeoutMillis);
+        } finally {
+            if (notifier != null) {
+                notifier.unwatch(task.getUri());
             }
-            throw new SDKTasksException(SDKErrorEnum.tasksError, errorMessages.toArray(),
-                    errorRecommendations.toArray(), "Error occurred while monitoring task");
+        }
+
+        if (taskResult.getTaskState() == (TaskState.Error)) {
+            throw taskError(taskResult);
         }
         return taskResult;
     }
 
-    private TaskResource checkTaskTimeout(BaseClient client, TaskResource task, int taskTimeoutMillis) {
-        Calendar dateToLive = Calendar.getInstance();
+    static SDKTasksException taskError(TaskResource task) {
+        List<String> errorMessages = new ArrayList<>();
+        List<String> errorRecommendations = new ArrayList<>();
+
+        for (ErrorMessage errorMessage : task.getTaskErrors()) {
+            errorMessages.add(errorMessage.getMessage());
+            errorRecommendations.addAll(errorMessage.getRecommendedActions());
+        }
+        return new SDKTasksException(SDKErrorEnum.tasksError, errorMessages.toArray(),
+                errorRecommendations.toArray(), "Error occurred while monitoring task");
+    }
+
+    static boolean isFinished(TaskResource task) {
+        return (task.getPercentComplete() != null && task.getPercentComplete() >= SdkConstants.PERCENTAGE_100)
+                || FINAL_STATES.contains(task.getTaskState());
+    }
+
+    private TaskResource monitor(BaseClient client, TaskChangeNotifier notifier, TaskResource task,
+            int taskTimeoutMillis) {
 
-        dateToLive.add(Calendar.MILLISECOND, taskTimeoutMillis);
+        boolean timed = taskTimeoutMillis > SdkConstants.NO_TASK_TIMEOUT;
+        long deadline = System.currentTimeMillis() + taskTimeoutMillis;
+        long interval = 0;
 
-        while (dateToLive.after(Calendar.getInstance())) {
+        while (!isFinished(task)) {
+            long seenChanges = (notifier == null) ? 0 : notifier.changeCount(task.getUri());
             Request request = new Request(HttpMethod.GET, task.getUri());
 
             task = client.executeRequest(request, TaskResource.class);
 
             LOGGER.info("Task completed percentage {} and status {}", task.getPercentComplete(), task.getTaskState());
 
-            if (task.getPercentComplete() == SdkConstants.PERCENTAGE_100) {
-                return task;
+            if (isFinished(task)) {
+                break;
             }
-            this.waitTaskMonitorInterval(task);
-        }
-        LOGGER.warn("Task timeout exceeded: " + dateToLive.getTime() + " < " + Calendar.getInstance().getTime());
-
-        throw new SDKTasksException(SDKErrorEnum.tasksError,
-                new String[] {"Task monitoring exceeded the timeout limit of " + taskTimeoutMillis + " milliseconds."},
-                new String[] {"Increase the task timeout."}, "Error occurred while monitoring task");
-    }
 
-    private TaskResource checkTaskPercentage(BaseClient client, TaskResource task) {
-        while (task.getPercentComplete() < SdkConstants.PERCENTAGE_100) {
-            Request request = new Request(HttpMethod.GET, task.getUri());
-
-            task = client.executeRequest(request, TaskResource.class);
+            interval = (notifier == null) ? this.nextInterval(task, interval) : this.maxIntervalMillis;
 
-            LOGGER.info("Task completed percentage {} and status {}", task.getPercentComplete(), task.getTaskState());
+            if (timed) {
+                long remaining = deadline - System.currentTimeMillis();
 
-            if (task.getPercentComplete() == SdkConstants.PERCENTAGE_100) break;
+                if (remaining <= 0) {
+                    LOGGER.warn("Task timeout exceeded: " + new Date(deadline) + " < " + new Date());
 
-            this.waitTaskMonitorInterval(task);
+                    throw new SDKTasksException(SDKErrorEnum.tasksError,
+                            new String[] {"Task monitoring exceeded the timeout limit of "
+                                    + taskTimeoutMillis + " milliseconds."},
+                            new String[] {"Increase the task timeout."}, "Error occurred while monitoring task");
+                }
+                interval = Math.min(interval, remaining);
+            }
+            this.waitTaskMonitorInterval(notifier, task, seenChanges, interval);
         }
         return task;
     }
 
-    private void waitTaskMonitorInterval(TaskResource task) {
+    /*
+     * When the appliance provides an estimate of the task duration, the task is polled
+     * about four times over its expected remaining time. Otherwise the interval doubles
+     * at each poll. In both cases it stays within the configured bounds.
+     */
+    private long nextInterval(TaskResource task, long previousInterval) {
+        Integer expectedDuration = task.getExpectedDuration();
+        Integer computedPercentComplete = task.getComputedPercentComplete();
+        long interval;
+
+        if (expectedDuration != null && expectedDuration > 0 && computedPercentComplete != null) {
+            long percentRemaining = SdkConstants.PERCENTAGE_100
+                    - Math.min(Math.max(computedPercentComplete, 0), SdkConstants.PERCENTAGE_100);
+
+            interval = TimeUnit.SECONDS.toMillis(expectedDuration) * percentRemaining
+                    / SdkConstants.PERCENTAGE_100 / 4;
+        } else {
+            interval = previousInterval * 2;
+        }
+        return Math.min(Math.max(interval, this.minIntervalMillis), this.maxIntervalMillis);
+    }
+
+    private void waitTaskMonitorInterval(TaskChangeNotifier notifier, TaskResource task,
+            long seenChanges, long interval) {
         try {
-            Thread.sleep(TASK_MONITORING_INTERVAL);
+            if (notifier == null) {
+                Thread.sleep(interval);
+            } else {
+                notifier.awaitChange(task.getUri(), seenChanges, interval);
+            }
         } catch (final InterruptedException e) {
             LOGGER.warn("An interruption occurred while monitoring the task {}", task.getResourceId(), e);
+
+            Thread.currentThread().interrupt();
+
+            throw new SDKTasksException(SDKErrorEnum.tasksError,
+                    new String[] {"Task monitoring was interrupted."},
+                    new String[] {"Check the task state on the appliance."}, "Error occurred while monitoring task");
         }
     }
 
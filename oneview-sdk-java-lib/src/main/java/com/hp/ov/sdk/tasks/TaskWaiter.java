@@ -0,0 +1,238 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.tasks;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Lists;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.hp.ov.sdk.dto.ResourceCollection;
+import com.hp.ov.sdk.dto.TaskResource;
+import com.hp.ov.sdk.dto.TaskState;
+import com.hp.ov.sdk.rest.client.BaseClient;
+import com.hp.ov.sdk.rest.http.core.HttpMethod;
+import com.hp.ov.sdk.rest.http.core.URIQuery;
+import com.hp.ov.sdk.rest.http.core.UrlParameter;
+import com.hp.ov.sdk.rest.http.core.client.Request;
+
+/**
+ * Tracks the completion of many tasks at once. Instead of one {@link TaskMonitor}
+ * polling each task, a single poller thread retrieves the state of all the pending
+ * tasks with one filtered query on the tasks collection per interval (split in
+ * batches of {@value #TASKS_PER_REQUEST} tasks to keep the request URI short).
+ *
+ * <p>Below is an example that waits for the removal of several server profiles:
+ *
+ * <pre>{@code
+ *     List<TaskResource> tasks = new ArrayList<>();
+ *
+ *     for (String profileId : profileIds) {
+ *         tasks.add(serverProfileClient.delete(profileId, TaskMonitoring.disabled()));
+ *     }
+ *     List<TaskResource> completed = oneViewClient.taskWaiter().watchAll(tasks).get();
+ * }</pre>
+ *
+ * <p>Futures of tasks that finish in the {@link TaskState#Error} state fail with
+ * a {@link com.hp.ov.sdk.exceptions.SDKTasksException}.
+ */
+public class TaskWaiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskWaiter.class);
+
+    private static final String TASKS_URI = "/rest/tasks";
+    private static final int TASKS_PER_REQUEST = 50;
+    private static final Type TASK_COLLECTION_TYPE = new TypeToken<ResourceCollection<TaskResource>>() {}.getType();
+
+    private final BaseClient client;
+    private final ScheduledExecutorService scheduler;
+    private final long pollIntervalMillis;
+    private final ConcurrentMap<String, SettableFuture<TaskResource>> pending = new ConcurrentHashMap<>();
+
+    private ScheduledFuture<?> poller;
+
+    public TaskWaiter(BaseClient client, long pollIntervalMillis) {
+        this(client, Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("oneview-sdk-task-waiter-%d").build()),
+                pollIntervalMillis);
+    }
+
+    TaskWaiter(BaseClient client, ScheduledExecutorService scheduler, long pollIntervalMillis) {
+        this.client = client;
+        this.scheduler = scheduler;
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    /**
+     * Starts tracking the given task.
+     *
+     * @param task the task returned by an asynchronous operation.
+     *
+     * @return a future that completes with the final state of the task. Cancelling
+     * it stops the tracking of the task (the task itself keeps running on the appliance).
+     */
+    public ListenableFuture<TaskResource> watch(TaskResource task) {
+        SettableFuture<TaskResource> future = SettableFuture.create();
+
+        if (TaskMonitor.isFinished(task)) {
+            this.complete(future, task);
+
+            return future;
+        }
+
+        SettableFuture<TaskResource> existing = this.pending.putIfAbsent(task.getUri(), future);
+
+        if (existing != null) {
+            return existing;
+        }
+        this.startPolling();
+
+        return future;
+    }
+
+    /**
+     * Starts tracking all the given tasks.
+     *
+     * @param tasks the tasks returned by asynchronous operations.
+     *
+     * @return a future that completes with the final state of every task, in the order
+     * of the given collection, or fails as soon as one of the tasks fails.
+     */
+    public ListenableFuture<List<TaskResource>> watchAll(Collection<TaskResource> tasks) {
+        List<ListenableFuture<TaskResource>> futures = new ArrayList<>(tasks.size());
+
+        for (TaskResource task : tasks) {
+            futures.add(this.watch(task));
+        }
+        return Futures.allAsList(futures);
+    }
+
+    /**
+     * Stops the poller thread and cancels the futures of the tasks still being tracked.
+     */
+    public void shutdown() {
+        this.scheduler.shutdownNow();
+
+        for (SettableFuture<TaskResource> future : this.pending.values()) {
+            future.cancel(false);
+        }
+        this.pending.clear();
+    }
+
+    private synchronized void startPolling() {
+        if (this.poller == null) {
+            this.poller = this.scheduler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    TaskWaiter.this.poll();
+                }
+            }, this.pollIntervalMillis, this.pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void poll() {
+        List<String> taskUris = new ArrayList<>();
+
+        for (Iterator<Map.Entry<String, SettableFuture<TaskResource>>> it = this.pending.entrySet().iterator();
+                it.hasNext();) {
+            Map.Entry<String, SettableFuture<TaskResource>> entry = it.next();
+
+            if (entry.getValue().isDone()) {
+                it.remove();
+            } else {
+                taskUris.add(entry.getKey());
+            }
+        }
+
+        for (List<String> batch : Lists.partition(taskUris, TASKS_PER_REQUEST)) {
+            try {
+                this.pollBatch(batch);
+            } catch (RuntimeException e) {
+                // the tasks of this batch are queried again on the next round
+                LOGGER.warn("Error retrieving the state of {} tasks", batch.size(), e);
+            }
+        }
+
+        synchronized (this) {
+            if (this.pending.isEmpty() && (this.poller != null)) {
+                this.poller.cancel(false);
+                this.poller = null;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResourceCollection<TaskResource> getTasks(Request request) {
+        return (ResourceCollection<TaskResource>) this.client.executeRequest(request, TASK_COLLECTION_TYPE);
+    }
+
+    private void pollBatch(List<String> taskUris) {
+        List<String> clauses = new ArrayList<>(taskUris.size());
+
+        for (String taskUri : taskUris) {
+            clauses.add("uri='" + taskUri + "'");
+        }
+
+        Request request = new Request(HttpMethod.GET, TASKS_URI);
+
+        request.addQuery(new UrlParameter(URIQuery.FILTER, StringUtils.join(clauses, " OR ")));
+        request.addQuery(UrlParameter.getCountParameter(taskUris.size()));
+
+        ResourceCollection<TaskResource> tasks = this.getTasks(request);
+
+        LOGGER.debug("Retrieved the state of {} of {} tasks", tasks.getCount(), taskUris.size());
+
+        for (TaskResource task : tasks.getMembers()) {
+            if (TaskMonitor.isFinished(task)) {
+                SettableFuture<TaskResource> future = this.pending.remove(task.getUri());
+
+                if (future != null) {
+                    this.complete(future, task);
+                }
+            }
+        }
+    }
+
+    private void complete(SettableFuture<TaskResource> future, TaskResource task) {
+        LOGGER.info("Task {} finished with status {}", task.getUri(), task.getTaskState());
+
+        if (task.getTaskState() == TaskState.Error) {
+            future.setException(TaskMonitor.taskError(task));
+        } else {
+            future.set(task);
+        }
+    }
+
+}
@@ -15,9 +15,12 @@
  *******************************************************************************/
 package com.hp.ov.sdk.util;
 
+import java.io.Reader;
 import java.lang.reflect.Type;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,9 +32,10 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
 import com.hp.ov.sdk.adaptors.DateAdapter;
+import com.hp.ov.sdk.adaptors.GeneratedTypeAdapterFactory;
 import com.hp.ov.sdk.adaptors.PatchSerializer;
 import com.hp.ov.sdk.adaptors.PortTelemetrySerializationAdapter;
-import com.hp.ov.sdk.adaptors.ScmbMessageDeserializer;
+import com.hp.ov.sdk.adaptors.ScmbMessageTypeAdapter;
 import com.hp.ov.sdk.adaptors.StorageCapabilitiesDeserializer;
 import com.hp.ov.sdk.adaptors.StoragePoolSerializationAdapter;
 import com.hp.ov.sdk.dto.Patch;
@@ -41,7 +45,7 @@ import com.hp.ov.sdk.dto.servers.serverhardwaretype.StorageCapabilities;
 import com.hp.ov.sdk.dto.storage.StoragePool;
 import com.hp.ov.sdk.exceptions.SDKErrorEnum;
 import com.hp.ov.sdk.exceptions.SDKInternalException;
-import com.hp.ov.sdk.messaging.scmb.ScmbMessage;
+import com.hp.ov.sdk.rest.http.core.client.ApiVersion;
 
 public class ObjectToJsonConverter {
 
@@ -51,19 +55,29 @@ public class ObjectToJsonConverter {
             .put(StoragePool.class, new StoragePoolSerializationAdapter())
             .put(PortTelemetry.class, new PortTelemetrySerializationAdapter())
             .put(StorageCapabilities.class, new StorageCapabilitiesDeserializer())
-            .put(ScmbMessage.class, new ScmbMessageDeserializer())
             .put(Date.class, new DateAdapter())
             .put(Patch.class, new PatchSerializer())
             .build();
 
-    private Gson gson;
-    private Gson versionedGson;
+    /*
+     * Gson instances are thread-safe, so they are built once and shared. The versioned
+     * ones (which honor the @Since annotations of the DTOs) are kept per API version,
+     * since clients connected to different appliances may use different versions.
+     */
+    private final Gson gson;
+    private final ConcurrentMap<Integer, Gson> versionedGsons = new ConcurrentHashMap<>();
 
     private static final class ObjectToJsonConverterHolder {
         private static final ObjectToJsonConverter INSTANCE = new ObjectToJsonConverter();
     }
 
-    private ObjectToJsonConverter() {}
+    private ObjectToJsonConverter() {
+        this.gson = gsonBuilder().create();
+
+        for (ApiVersion apiVersion : ApiVersion.values()) {
+            this.versionedGsons.put(apiVersion.getValue(), gsonBuilder().setVersion(apiVersion.getValue()).create());
+        }
+    }
 
     public static ObjectToJsonConverter getInstance() {
         return ObjectToJsonConverterHolder.INSTANCE;
@@ -84,6 +98,17 @@ public class ObjectToJsonConverter {
         }
     }
 
+    public Object jsonToResource(final Reader jsonInput, Type resourceType) {
+        try {
+            LOGGER.info("JSON successfully converted to a resource of type {}", resourceType);
+
+            return this.gson().fromJson(jsonInput, resourceType);
+        } catch (final JsonParseException e) {
+            throw new SDKInternalException(SDKErrorEnum.internalError,
+                    "An error occurred while converting JSON input to resource", e);
+        }
+    }
+
     public <T> T jsonToResource(final String jsonInput, final Class<T> resourceType) {
         try {
             LOGGER.info("JSON successfully converted to a resource of type {}", resourceType.getSimpleName());
@@ -110,21 +135,29 @@ public class ObjectToJsonConverter {
     }
 
     private Gson gson() {
-        if (this.gson == null) {
-            this.gson = gsonBuilder().create();
-        }
         return this.gson;
     }
 
     private Gson versionedGson(int apiVersion) {
-        if (this.versionedGson == null) {
-            this.versionedGson = gsonBuilder().setVersion(apiVersion).create();
+        Gson versionedGson = this.versionedGsons.get(apiVersion);
+
+        if (versionedGson == null) {
+            Gson newGson = gsonBuilder().setVersion(apiVersion).create();
+
+            versionedGson = this.versionedGsons.putIfAbsent(apiVersion, newGson);
+
+            if (versionedGson == null) {
+                versionedGson = newGson;
+            }
         }
-        return this.versionedGson;
+        return versionedGson;
     }
 
     private GsonBuilder gsonBuilder() {
-        GsonBuilder builder = new GsonBuilder();
+        // streaming adapters for the larger resources (generated at build time) and SCMB messages
+        GsonBuilder builder = new GsonBuilder()
+                .registerTypeAdapterFactory(new GeneratedTypeAdapterFactory())
+                .registerTypeAdapterFactory(ScmbMessageTypeAdapter.FACTORY);
 
         for (Map.Entry<Class<?>, Object> adapter : GSON_TYPE_ADAPTERS.entrySet()) {
             builder.registerTypeAdapter(adapter.getKey(), adapter.getValue());
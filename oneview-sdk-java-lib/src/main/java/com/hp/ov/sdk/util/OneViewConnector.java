@@ -48,7 +48,7 @@ public class OneViewConnector {
     public String connect() {
         this.checkVersions();
 
-        return this.setupSessionId();
+        return this.login();
     }
 
     private void checkVersions() {
@@ -71,7 +71,12 @@ public class OneViewConnector {
         throw new SDKApiVersionMismatchException(SDKErrorEnum.apiMismatchError, SdkConstants.APPLIANCE);
     }
 
-    private String setupSessionId() {
+    /**
+     * Logs in with the credentials of the SDK configuration.
+     *
+     * @return the ID of the new session.
+     */
+    public String login() {
         LoginInformation loginInformation = new LoginInformation();
 
         loginInformation.setUserName(this.config.getOneViewUserName());
@@ -83,4 +88,13 @@ public class OneViewConnector {
         return loginSession.getSessionID();
     }
 
+    /**
+     * Ends the session identified by <code>sessionId</code>.
+     *
+     * @param sessionId the ID of the session to end.
+     */
+    public void logout(String sessionId) {
+        this.loginSessionClient.logout(sessionId);
+    }
+
 }
@@ -20,7 +20,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
 
+import com.google.common.base.Supplier;
 import com.hp.ov.sdk.constants.ResourceCategory;
+import com.hp.ov.sdk.dto.BaseModelResource;
 import com.hp.ov.sdk.dto.PortInfo;
 import com.hp.ov.sdk.dto.ResourceCollection;
 import com.hp.ov.sdk.dto.networking.LocationType;
@@ -50,6 +52,8 @@ import com.hp.ov.sdk.dto.servers.SanStorage;
 import com.hp.ov.sdk.dto.servers.StoragePath;
 import com.hp.ov.sdk.dto.servers.StorageTargetType;
 import com.hp.ov.sdk.dto.servers.VolumeAttachment;
+import com.hp.ov.sdk.dto.servers.enclosuregroup.EnclosureGroup;
+import com.hp.ov.sdk.dto.servers.serverhardware.ServerHardware;
 import com.hp.ov.sdk.dto.servers.serverprofile.BootControl;
 import com.hp.ov.sdk.dto.servers.serverprofile.ConnectionBoot;
 import com.hp.ov.sdk.dto.servers.serverprofile.LocalStorage;
@@ -59,6 +63,7 @@ import com.hp.ov.sdk.dto.storage.StorageTargetPort;
 import com.hp.ov.sdk.dto.storage.StorageVolume;
 import com.hp.ov.sdk.exceptions.SDKErrorEnum;
 import com.hp.ov.sdk.exceptions.SDKInvalidArgumentException;
+import com.hp.ov.sdk.messaging.scmb.ScmbResourceCache;
 import com.hp.ov.sdk.rest.client.OneViewClient;
 import com.hp.ov.sdk.rest.client.networking.InterconnectTypeClient;
 import com.hp.ov.sdk.rest.http.core.client.ApiVersion;
@@ -68,9 +73,31 @@ public class ResourceDtoUtils {
     private static final String ACTIVE = "Active";
 
     private final OneViewClient oneViewClient;
+    private final ScmbResourceCache resourceCache;
 
     public ResourceDtoUtils(OneViewClient oneViewClient) {
+        this(oneViewClient, null);
+    }
+
+    /**
+     * Creates the utilities resolving the resources referenced by name through the
+     * given cache, so that resources looked up repeatedly are only retrieved once.
+     *
+     * @param oneViewClient client used to retrieve the resources.
+     * @param resourceCache cache of the resources, subscribed to the State-Changed
+     *                      Message Bus, or <code>null</code> to always retrieve them.
+     */
+    public ResourceDtoUtils(OneViewClient oneViewClient, ScmbResourceCache resourceCache) {
         this.oneViewClient = oneViewClient;
+        this.resourceCache = resourceCache;
+    }
+
+    private <T extends BaseModelResource> T getByName(String name, Class<T> resourceType, Supplier<T> loader) {
+        return (resourceCache == null) ? loader.get() : resourceCache.getByName(name, resourceType, loader);
+    }
+
+    private <T extends BaseModelResource> T getByUri(String uri, Class<T> resourceType, Supplier<T> loader) {
+        return (resourceCache == null) ? loader.get() : resourceCache.getByUri(uri, resourceType, loader);
     }
 
     public NetworkSet buildNetworkSetDto(String networkSetName, List<String> networkNames) {
@@ -88,8 +115,13 @@ public class ResourceDtoUtils {
     public List<String> getNetworkUris(List<String> networkNames) {
         List<String> networkUris = new ArrayList<>();
 
-        for (String networkName : networkNames) {
-            Network dto = oneViewClient.ethernetNetwork().getByName(networkName).get(0);
+        for (final String networkName : networkNames) {
+            Network dto = this.getByName(networkName, Network.class, new Supplier<Network>() {
+                @Override
+                public Network get() {
+                    return oneViewClient.ethernetNetwork().getByName(networkName).get(0);
+                }
+            });
 
             if (dto.getUri() != null) {
                 String networkUri = dto.getUri();
@@ -105,8 +137,13 @@ public class ResourceDtoUtils {
         FcNetwork dto = null;
         String fcNetworkUri = null;
 
-        for (String networkName : networkNames) {
-            dto = oneViewClient.fcNetwork().getByName(networkName).get(0);
+        for (final String networkName : networkNames) {
+            dto = this.getByName(networkName, FcNetwork.class, new Supplier<FcNetwork>() {
+                @Override
+                public FcNetwork get() {
+                    return oneViewClient.fcNetwork().getByName(networkName).get(0);
+                }
+            });
 
             if (null != dto.getUri()) {
                 fcNetworkUri = dto.getUri();
@@ -179,14 +216,20 @@ public class ResourceDtoUtils {
         final List<LogicalPortConfigInfo> logicalPortConfigInfos = new ArrayList<>();
         final UplinkSetGroup uplinkSetDto = new UplinkSetGroup();
 
-        InterconnectTypeClient interconnectTypeClient = oneViewClient.interconnectType();
+        final InterconnectTypeClient interconnectTypeClient = oneViewClient.interconnectType();
 
         for (final Entry<Integer, List<String>> entry : bayPortMap.entrySet()) {
             final Integer bayRelativeValue = entry.getKey();
             final List<String> portNames = entry.getValue();
 
             final String permittedInterconnectTypeUri = this.getPermittedInterconnectTypeUriForLigBasedOnBay(ligName, bayRelativeValue);
-            final InterconnectType interconnectTypeDto = interconnectTypeClient.getById((permittedInterconnectTypeUri.substring(permittedInterconnectTypeUri.lastIndexOf("/") + 1)));
+            final InterconnectType interconnectTypeDto = this.getByUri(permittedInterconnectTypeUri, InterconnectType.class,
+                    new Supplier<InterconnectType>() {
+                @Override
+                public InterconnectType get() {
+                    return interconnectTypeClient.getById((permittedInterconnectTypeUri.substring(permittedInterconnectTypeUri.lastIndexOf("/") + 1)));
+                }
+            });
 
             for (int i = 0; i < portNames.size(); i++) {
                 Integer portNumber = -1;
@@ -304,7 +347,12 @@ public class ResourceDtoUtils {
             final List<String> storageTargets, final StorageTargetType storageTargetType, final String lunType,
             final HashMap<String, Integer> fcId) {
 
-        StorageVolume storageVolume = oneViewClient.storageVolume().getByName(volumeName).get(0);
+        StorageVolume storageVolume = this.getByName(volumeName, StorageVolume.class, new Supplier<StorageVolume>() {
+            @Override
+            public StorageVolume get() {
+                return oneViewClient.storageVolume().getByName(volumeName).get(0);
+            }
+        });
 
         if (storageVolume.getShareable() || !(useBayNameForServerHardwareUri)) {
             final VolumeAttachment volumeAttachment = new VolumeAttachment();
@@ -379,7 +427,13 @@ public class ResourceDtoUtils {
                     .setServerHardwareUri((serverHardwareUri != null && serverHardwareUri.length() != 0) ? serverHardwareUri : null);
         }
 
-        serverProfileDto.setEnclosureGroupUri(oneViewClient.enclosureGroup().getByName(enclosureGroupName).get(0).getUri());
+        serverProfileDto.setEnclosureGroupUri(this.getByName(enclosureGroupName, EnclosureGroup.class,
+                new Supplier<EnclosureGroup>() {
+            @Override
+            public EnclosureGroup get() {
+                return oneViewClient.enclosureGroup().getByName(enclosureGroupName).get(0);
+            }
+        }).getUri());
 
         serverProfileDto.setAffinity(affinity);
         serverProfileDto.setHideUnusedFlexNics(false);
@@ -406,11 +460,20 @@ public class ResourceDtoUtils {
     }
 
     public String getServerHardwareUri(String serverHardwareName) {
-        return oneViewClient.serverHardware().getByName(serverHardwareName).get(0).getUri();
+        return this.getServerHardware(serverHardwareName).getUri();
     }
 
     public String getServerHardwareTypeUri(String serverHardwareName) {
-        return oneViewClient.serverHardware().getByName(serverHardwareName).get(0).getServerHardwareTypeUri();
+        return this.getServerHardware(serverHardwareName).getServerHardwareTypeUri();
+    }
+
+    private ServerHardware getServerHardware(final String serverHardwareName) {
+        return this.getByName(serverHardwareName, ServerHardware.class, new Supplier<ServerHardware>() {
+            @Override
+            public ServerHardware get() {
+                return oneViewClient.serverHardware().getByName(serverHardwareName).get(0);
+            }
+        });
     }
 
 }
@@ -35,7 +35,8 @@ public class ImageStreamerClient extends AbstractClient {
     public ImageStreamerClient(SDKConfiguration config, OneViewClient oneViewClient) {
         this.baseClient = new BaseClient(config, config.getImageStreamerHostname());
 
-        this.baseClient.setSessionId(oneViewClient.getSessionId());
+        // the OneView session is accepted by the Image Streamer, and renewed for both
+        this.baseClient.setSessionManager(oneViewClient.getSessionManager());
     }
 
     @Override
@@ -0,0 +1,85 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.adaptors;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+import com.google.gson.JsonPrimitive;
+
+public class DateAdapterTest {
+
+    private final DateAdapter adapter = new DateAdapter();
+
+    @Test
+    public void shouldParseDatesLikeSimpleDateFormat() throws Exception {
+        String[] dates = {
+                "2016-02-26T16:41:13.396Z",
+                "2016-02-29T23:59:59.999+01",
+                "2016-02-30T10:00:00.000Z"};
+
+        for (String date : dates) {
+            assertThat(date, deserialize(date), is(new SimpleDateFormat(DateAdapter.DEFAULT_DATE_FORMAT).parse(date)));
+        }
+    }
+
+    @Test
+    public void shouldParseOffsetMinutes() {
+        assertThat(deserialize("1970-01-01T00:00:00.000-0330"), is(new Date(210 * 60 * 1000L)));
+        assertThat(deserialize("1970-01-01T00:00:00.001+05:30"), is(new Date(-330 * 60 * 1000L + 1)));
+    }
+
+    @Test
+    public void shouldReturnNullForUnexpectedFormats() {
+        assertThat(deserialize("2016-02-26"), is(nullValue()));
+        assertThat(deserialize("not a date at all!!"), is(nullValue()));
+        assertThat(deserialize(""), is(nullValue()));
+    }
+
+    @Test
+    public void shouldFormatDatesInUtc() {
+        SimpleDateFormat dateFormat = new SimpleDateFormat(DateAdapter.DEFAULT_DATE_FORMAT);
+        Random random = new Random(42);
+
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        for (int i = 0; i < 1000; i++) {
+            Date date = new Date(random.nextLong() % (400L * 365 * 24 * 3600 * 1000));
+
+            assertThat(serialize(date), is(dateFormat.format(date)));
+            assertThat(deserialize(serialize(date)), is(date));
+        }
+        assertThat(serialize(new Date(-20000L * 365 * 24 * 3600 * 1000)),
+                is(dateFormat.format(new Date(-20000L * 365 * 24 * 3600 * 1000))));
+    }
+
+    private Date deserialize(String date) {
+        return adapter.deserialize(new JsonPrimitive(date), Date.class, null);
+    }
+
+    private String serialize(Date date) {
+        return adapter.serialize(date, Date.class, null).getAsString();
+    }
+
+}
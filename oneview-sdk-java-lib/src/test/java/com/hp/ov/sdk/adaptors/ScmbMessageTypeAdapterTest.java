@@ -0,0 +1,65 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.adaptors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.hp.ov.sdk.messaging.core.ChangeType;
+import com.hp.ov.sdk.messaging.scmb.ScmbMessage;
+import com.hp.ov.sdk.util.ObjectToJsonConverter;
+
+public class ScmbMessageTypeAdapterTest {
+
+    private static final String RESOURCE = "{\"type\":\"TaskResourceV2\",\"percentComplete\":100,"
+            + "\"ratio\":1.50,\"big\":12345678901234567890,\"owner\":null,"
+            + "\"taskErrors\":[],\"nested\":{\"list\":[1,\"two\",true,{\"a\":[[]]}]}}";
+
+    private final ObjectToJsonConverter converter = ObjectToJsonConverter.getInstance();
+
+    @Test
+    public void shouldReadEnvelopeAndKeepResourceAsRawJson() {
+        String json = "{\"changeType\":\"Updated\",\"resourceUri\":\"/rest/tasks/random-UUID\","
+                + "\"eTag\":\"1\",\"newState\":\"Running\",\"timestamp\":\"2016-02-26T16:41:13.396Z\","
+                + "\"changedAttributes\":[\"state\"],\"userInitiatedTask\":true,\"unknown\":{\"x\":[1]},"
+                + "\"resource\":" + RESOURCE + "}";
+
+        ScmbMessage message = converter.jsonToResource(json, ScmbMessage.class);
+
+        assertThat(message.getResource(), is(RESOURCE));
+        assertThat(message.getChangeType(), is(ChangeType.Updated));
+        assertThat(message.getResourceUri(), is("/rest/tasks/random-UUID"));
+        assertThat(message.geteTag(), is("1"));
+        assertThat(message.getNewState(), is("Running"));
+        assertThat(message.getTimestamp().getTime(), is(1456504873396L));
+        assertThat(message.getChangedAttributes(), contains((Object) "state"));
+        assertThat(message.getUserInitiatedTask(), is(true));
+    }
+
+    @Test
+    public void shouldAcceptMissingOrNullResource() {
+        ScmbMessage message = converter.jsonToResource("{\"newSubState\":null}", ScmbMessage.class);
+
+        assertThat(message.getResource(), is(nullValue()));
+        assertThat(message.getNewSubState(), is(nullValue()));
+        assertThat(converter.jsonToResource("{\"resource\":null}", ScmbMessage.class).getResource(), is("null"));
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.messaging.core;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.rabbitmq.client.Channel;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AckTrackerTest {
+
+    @Mock
+    private Channel channel;
+
+    @Test
+    public void shouldOnlyAcknowledgeContiguousDeliveries() throws Exception {
+        AckTracker tracker = new AckTracker(channel, 1, true);
+
+        for (long tag = 1; tag <= 3; tag++) {
+            tracker.delivered(tag);
+        }
+        tracker.handled(2);
+        tracker.handled(3);
+
+        verifyZeroInteractions(channel);
+
+        tracker.handled(1);
+
+        verify(channel).basicAck(3, true);
+        verifyNoMoreInteractions(channel);
+    }
+
+    @Test
+    public void shouldAcknowledgeInBatchesUntilIdle() throws Exception {
+        AckTracker tracker = new AckTracker(channel, 2, true);
+
+        for (long tag = 1; tag <= 5; tag++) {
+            tracker.delivered(tag);
+        }
+        tracker.handled(1);
+
+        verifyZeroInteractions(channel);
+
+        tracker.handled(2);
+        tracker.handled(3);
+
+        verify(channel).basicAck(2, true);
+
+        tracker.handled(4);
+        tracker.handled(5);
+
+        verify(channel).basicAck(4, true);
+        verify(channel).basicAck(5, true);
+        verifyNoMoreInteractions(channel);
+    }
+
+    @Test
+    public void shouldRejectFailedDeliveriesOnTheirOwn() throws Exception {
+        AckTracker tracker = new AckTracker(channel, 10, false);
+
+        for (long tag = 1; tag <= 3; tag++) {
+            tracker.delivered(tag);
+        }
+        tracker.failed(2);
+
+        verify(channel).basicNack(2, false, false);
+
+        tracker.handled(1);
+        tracker.handled(3);
+
+        verify(channel).basicAck(3, true);
+        verifyNoMoreInteractions(channel);
+    }
+
+    @Test
+    public void shouldNotAcknowledgeRejectedDelivery() throws Exception {
+        AckTracker tracker = new AckTracker(channel, 1, true);
+
+        tracker.delivered(1);
+        tracker.failed(1);
+        tracker.delivered(2);
+        tracker.handled(2);
+
+        verify(channel).basicNack(1, false, true);
+        verify(channel).basicAck(2, true);
+        verifyNoMoreInteractions(channel);
+    }
+
+}
@@ -0,0 +1,224 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.messaging.core;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.hp.ov.sdk.messaging.scmb.ScmbBatchMessageHandler;
+import com.hp.ov.sdk.messaging.scmb.ScmbMessage;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MessageBatcherTest {
+
+    private static final long LINGER_MILLIS = 500;
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+    @Mock
+    private AckTracker ackTracker;
+
+    private final List<List<ScmbMessage>> batches = new ArrayList<>();
+    private int eTag;
+
+    private final ScmbBatchMessageHandler handler = new ScmbBatchMessageHandler() {
+        @Override
+        public void handleMessages(List<ScmbMessage> messages) {
+            batches.add(messages);
+        }
+    };
+
+    @Test
+    public void shouldFlushFullBatchAndAcknowledgeIt() {
+        MessageBatcher batcher = batcher(ConsumerOptions.create().withBatch(2, LINGER_MILLIS).build());
+        ScmbMessage first = message(ChangeType.Created, "/rest/enclosures/1");
+        ScmbMessage second = message(ChangeType.Created, "/rest/enclosures/2");
+
+        batcher.add(1, first);
+        batcher.add(2, second);
+        batcher.add(3, message(ChangeType.Created, "/rest/enclosures/3"));
+
+        assertThat(batches, contains(Arrays.asList(first, second)));
+        then(ackTracker).should().handled(1);
+        then(ackTracker).should().handled(2);
+        then(ackTracker).should().delivered(3);
+    }
+
+    @Test
+    public void shouldFlushOnlyTheLingeringBatch() {
+        MessageBatcher batcher = batcher(ConsumerOptions.create().withBatch(2, LINGER_MILLIS).build());
+        ScmbMessage third = message(ChangeType.Created, "/rest/enclosures/3");
+
+        batcher.add(1, message(ChangeType.Created, "/rest/enclosures/1"));
+        batcher.add(2, message(ChangeType.Created, "/rest/enclosures/2"));
+        batcher.add(3, third);
+
+        List<Runnable> lingers = scheduledLingers();
+
+        lingers.get(0).run();
+
+        assertThat(batches.size(), is(1));
+
+        lingers.get(1).run();
+
+        assertThat(batches.get(1), contains(third));
+    }
+
+    @Test
+    public void shouldCoalesceConsecutiveUpdatesOfAResource() {
+        MessageBatcher batcher = batcher(ConsumerOptions.create()
+                .withBatch(10, LINGER_MILLIS)
+                .withCoalescing(true)
+                .build());
+        ScmbMessage secondUpdate = message(ChangeType.Updated, "/rest/enclosures/1");
+        ScmbMessage otherUpdate = message(ChangeType.Updated, "/rest/enclosures/2");
+        ScmbMessage deletion = message(ChangeType.Deleted, "/rest/enclosures/1");
+        ScmbMessage lastUpdate = message(ChangeType.Updated, "/rest/enclosures/1");
+
+        batcher.add(1, message(ChangeType.Updated, "/rest/enclosures/1"));
+        batcher.add(2, otherUpdate);
+        batcher.add(3, secondUpdate);
+        batcher.add(4, deletion);
+        batcher.add(5, lastUpdate);
+        batcher.flush(-1);
+
+        assertThat(batches, contains(Arrays.asList(secondUpdate, otherUpdate, deletion, lastUpdate)));
+
+        for (long tag = 1; tag <= 5; tag++) {
+            then(ackTracker).should().handled(tag);
+        }
+        batcher.flush(-1);
+
+        assertThat(batches.size(), is(1));
+    }
+
+    @Test
+    public void shouldFlushBatchOnceFullOfCoalescedDeliveries() {
+        MessageBatcher batcher = batcher(ConsumerOptions.create()
+                .withBatch(3, LINGER_MILLIS)
+                .withCoalescing(true)
+                .build());
+        ScmbMessage lastUpdate = message(ChangeType.Updated, "/rest/enclosures/1");
+
+        batcher.add(1, message(ChangeType.Updated, "/rest/enclosures/1"));
+        batcher.add(2, message(ChangeType.Updated, "/rest/enclosures/1"));
+        batcher.add(3, lastUpdate);
+
+        assertThat(batches, contains(Arrays.asList(lastUpdate)));
+        then(ackTracker).should().handled(3);
+    }
+
+    @Test
+    public void shouldDropUnacknowledgedMessagesOnceChannelRecovered() {
+        MessageBatcher batcher = batcher(ConsumerOptions.create().withBatch(2, LINGER_MILLIS).build());
+        ScmbMessage redelivered = message(ChangeType.Created, "/rest/enclosures/1");
+
+        batcher.add(1, message(ChangeType.Created, "/rest/enclosures/1"));
+        batcher.recovered();
+        then(ackTracker).should().recovered();
+
+        batcher.add(2, redelivered);
+        scheduledLingers().get(0).run();
+
+        assertThat(batches, is(empty()));
+
+        scheduledLingers().get(1).run();
+
+        assertThat(batches, contains(Arrays.asList(redelivered)));
+        then(ackTracker).should(never()).handled(1);
+        then(ackTracker).should().handled(2);
+    }
+
+    @Test
+    public void shouldKeepPassingAcknowledgedMessagesOnceChannelRecovered() {
+        MessageBatcher batcher = new MessageBatcher(handler,
+                ConsumerOptions.create().withBatch(2, LINGER_MILLIS).build(), null, scheduler);
+        ScmbMessage first = message(ChangeType.Created, "/rest/enclosures/1");
+
+        batcher.add(1, first);
+        batcher.recovered();
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+
+        then(scheduler).should().execute(flush.capture());
+        then(scheduler).should(never()).shutdown();
+
+        flush.getValue().run();
+
+        assertThat(batches, contains(Arrays.asList(first)));
+    }
+
+    @Test
+    public void shouldRejectEveryMessageOfAFailedBatch() {
+        MessageBatcher batcher = new MessageBatcher(new ScmbBatchMessageHandler() {
+            @Override
+            public void handleMessages(List<ScmbMessage> messages) {
+                throw new IllegalStateException("database not reachable");
+            }
+        }, ConsumerOptions.create().withBatch(2, LINGER_MILLIS).build(), ackTracker, scheduler);
+
+        batcher.add(1, message(ChangeType.Created, "/rest/enclosures/1"));
+        batcher.add(2, message(ChangeType.Created, "/rest/enclosures/2"));
+
+        then(ackTracker).should().failed(1);
+        then(ackTracker).should().failed(2);
+        then(ackTracker).should(never()).handled(anyLong());
+    }
+
+    private MessageBatcher batcher(ConsumerOptions options) {
+        return new MessageBatcher(handler, options, ackTracker, scheduler);
+    }
+
+    private List<Runnable> scheduledLingers() {
+        ArgumentCaptor<Runnable> lingers = ArgumentCaptor.forClass(Runnable.class);
+
+        then(scheduler).should(atLeastOnce())
+                .schedule(lingers.capture(), eq(LINGER_MILLIS), eq(TimeUnit.MILLISECONDS));
+
+        return lingers.getAllValues();
+    }
+
+    private ScmbMessage message(ChangeType changeType, String resourceUri) {
+        ScmbMessage message = new ScmbMessage();
+
+        message.seteTag(String.valueOf(++eTag));
+
+        message.setChangeType(changeType);
+        message.setResourceUri(resourceUri);
+
+        return message;
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.messaging.core;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.withSettings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.ShutdownSignalException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MessageDispatcherTest {
+
+    private static final String ENCLOSURE = "/rest/enclosures/random-UUID";
+
+    @Mock
+    private Channel channel;
+
+    @Test
+    public void shouldAssignEveryChangeOfAResourceToTheSameLane() {
+        for (int lanes = 1; lanes <= 16; lanes++) {
+            int lane = MessageDispatcher.laneOf("scmb.enclosures.Created." + ENCLOSURE, lanes);
+
+            assertThat(MessageDispatcher.laneOf("scmb.enclosures.Updated." + ENCLOSURE, lanes), is(lane));
+            assertThat(MessageDispatcher.laneOf("scmb.enclosures.Deleted." + ENCLOSURE, lanes), is(lane));
+        }
+    }
+
+    @Test
+    public void shouldHandleOnDeliveryThreadByDefault() throws Exception {
+        final List<String> handled = new CopyOnWriteArrayList<>();
+        MessageDispatcher dispatcher = new MessageDispatcher(channel, "scmb", ConsumerOptions.defaults(), null,
+                new MessageDispatcher.DeliveryHandler() {
+                    @Override
+                    public void handle(long deliveryTag, String message) {
+                        handled.add(message + "@" + Thread.currentThread().getName());
+                    }
+                });
+
+        deliver(dispatcher, 1, "message");
+
+        assertThat(handled, contains("message@" + Thread.currentThread().getName()));
+        verifyZeroInteractions(channel);
+    }
+
+    @Test
+    public void shouldAcknowledgeOnceEveryMessageIsHandled() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        ConsumerOptions options = ConsumerOptions.create()
+                .withHandlerThreads(4)
+                .withManualAck(10)
+                .build();
+        MessageDispatcher dispatcher = new MessageDispatcher(channel, "scmb", options, new AckTracker(channel, 10, true),
+                new MessageDispatcher.DeliveryHandler() {
+                    @Override
+                    public void handle(long deliveryTag, String message) {
+                        if ("slow".equals(message)) {
+                            awaitQuietly(release);
+                        }
+                    }
+                });
+
+        deliver(dispatcher, 1, "slow");
+
+        for (int tag = 2; tag <= 20; tag++) {
+            deliver(dispatcher, tag, "fast");
+        }
+        verifyZeroInteractions(channel);
+
+        release.countDown();
+
+        verify(channel, timeout(5000)).basicAck(20, true);
+    }
+
+    @Test
+    public void shouldRequeueMessagesWhoseHandlerFailed() throws Exception {
+        ConsumerOptions options = ConsumerOptions.create()
+                .withHandlerThreads(1)
+                .withManualAck(10)
+                .build();
+        MessageDispatcher dispatcher = new MessageDispatcher(channel, "scmb", options, new AckTracker(channel, 10, true),
+                new MessageDispatcher.DeliveryHandler() {
+                    @Override
+                    public void handle(long deliveryTag, String message) {
+                        if ("failing".equals(message)) {
+                            throw new IllegalStateException("database not reachable");
+                        }
+                    }
+                });
+
+        deliver(dispatcher, 1, "failing");
+        deliver(dispatcher, 2, "handled");
+
+        verify(channel, timeout(5000)).basicAck(2, true);
+        verify(channel).basicNack(1, false, true);
+        verify(channel, never()).basicAck(1, true);
+    }
+
+    @Test
+    public void shouldKeepHandlingMessagesOnceChannelRecovered() throws Exception {
+        Channel recoverableChannel = mock(Channel.class, withSettings().extraInterfaces(Recoverable.class));
+        final List<String> handled = new CopyOnWriteArrayList<>();
+        final CountDownLatch release = new CountDownLatch(1);
+        ConsumerOptions options = ConsumerOptions.create()
+                .withHandlerThreads(2)
+                .withManualAck(1)
+                .build();
+        MessageDispatcher dispatcher = new MessageDispatcher(recoverableChannel, "scmb", options,
+                new AckTracker(recoverableChannel, 1, true), new MessageDispatcher.DeliveryHandler() {
+                    @Override
+                    public void handle(long deliveryTag, String message) {
+                        if ("lost".equals(message)) {
+                            awaitQuietly(release);
+                        }
+                        handled.add(message);
+                    }
+                });
+
+        deliver(dispatcher, 1, "lost");
+        dispatcher.handleShutdownSignal("consumer", new ShutdownSignalException(true, false, null, null));
+
+        // the recovered channel numbers its deliveries after the last one it saw
+        deliver(dispatcher, 2, "redelivered");
+
+        verify(recoverableChannel, timeout(5000)).basicAck(2, true);
+
+        release.countDown();
+
+        verify(recoverableChannel, after(200).never()).basicAck(1, true);
+        assertThat(handled, containsInAnyOrder("lost", "redelivered"));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void shouldStopHandlingMessagesOnceChannelClosed() throws Exception {
+        Channel recoverableChannel = mock(Channel.class, withSettings().extraInterfaces(Recoverable.class));
+        ConsumerOptions options = ConsumerOptions.create()
+                .withHandlerThreads(2)
+                .build();
+        MessageDispatcher dispatcher = new MessageDispatcher(recoverableChannel, "scmb", options, null,
+                new MessageDispatcher.DeliveryHandler() {
+                    @Override
+                    public void handle(long deliveryTag, String message) {
+                    }
+                });
+
+        dispatcher.handleShutdownSignal("consumer", new ShutdownSignalException(true, true, null, null));
+
+        deliver(dispatcher, 1, "message");
+    }
+
+    private static void deliver(MessageDispatcher dispatcher, long tag, String message) throws Exception {
+        Envelope envelope = new Envelope(tag, false, "scmb", "scmb.enclosures.Updated./rest/enclosures/" + tag);
+
+        dispatcher.handleDelivery("consumer", envelope, null, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
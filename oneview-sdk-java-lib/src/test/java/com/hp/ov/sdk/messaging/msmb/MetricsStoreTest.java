@@ -0,0 +1,119 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.messaging.msmb;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.Test;
+
+public class MetricsStoreTest {
+
+    private static final String SERVER = "/rest/server-hardware/random-UUID";
+    private static final String OTHER_SERVER = "/rest/server-hardware/other-UUID";
+    private static final String TEMPERATURE = "AmbientTemperature";
+    private static final String POWER = "AveragePower";
+    private static final long START = 1456504800000L;
+    private static final int INTERVAL_SECONDS = 300;
+
+    private final MetricsStore store = new MetricsStore(4);
+
+    @Test
+    public void shouldComputeStatisticsWithinWindow() {
+        store.handleMessage(message(START, resource(SERVER, sample(TEMPERATURE, "20", "22", "n/a", "27"))));
+
+        MetricStatistics all = store.statistics(SERVER, TEMPERATURE, new Date(START), new Date(time(3)));
+        MetricStatistics lastTwo = store.statistics(SERVER, TEMPERATURE, new Date(time(1)), new Date(time(2)));
+
+        assertThat(all.getCount(), is(3));
+        assertThat(all.getMin(), is(20.0));
+        assertThat(all.getMax(), is(27.0));
+        assertThat(all.getAverage(), closeTo(23.0, 0.001));
+        assertThat(all.getFirstTime(), is(START));
+        assertThat(all.getLastTime(), is(time(3)));
+        assertThat(lastTwo.getCount(), is(1));
+        assertThat(lastTwo.getAverage(), is(22.0));
+    }
+
+    @Test
+    public void shouldKeepOnlyTheLatestSamples() {
+        store.handleMessage(message(START, resource(SERVER, sample(POWER, "1", "2", "3"))));
+        store.handleMessage(message(time(2), resource(SERVER, sample(POWER, "30", "4", "5", "6"))));
+
+        MetricStatistics statistics = store.statistics(SERVER, POWER, new Date(0), new Date(time(10)));
+
+        assertThat(statistics.getCount(), is(4));
+        assertThat(statistics.getMin(), is(3.0));
+        assertThat(statistics.getMax(), is(6.0));
+        assertThat(statistics.getFirstTime(), is(time(2)));
+    }
+
+    @Test
+    public void shouldKeepSeriesPerResourceAndMetric() {
+        store.handleMessage(message(START,
+                resource(SERVER, sample(POWER, "100"), sample(TEMPERATURE, "20")),
+                resource(OTHER_SERVER, sample(POWER, "200"))));
+
+        assertThat(store.getResourceIds(), containsInAnyOrder(SERVER, OTHER_SERVER));
+        assertThat(store.getMetricNames(SERVER), containsInAnyOrder(POWER, TEMPERATURE));
+        assertThat(store.statistics(OTHER_SERVER, POWER, new Date(START), new Date(START)).getMax(), is(200.0));
+        assertThat(store.statistics(OTHER_SERVER, TEMPERATURE, new Date(START), new Date(START)).getCount(), is(0));
+        assertThat(Double.isNaN(store.statistics("/rest/unknown", POWER, new Date(0), new Date()).getAverage()),
+                is(true));
+    }
+
+    private static long time(int sample) {
+        return START + sample * INTERVAL_SECONDS * 1000L;
+    }
+
+    private static MsmbMessage message(long startTime, ResourceData... resources) {
+        MetricData data = new MetricData();
+
+        data.setStartTime(new Date(startTime));
+        data.setSampleIntervalInSeconds(INTERVAL_SECONDS);
+        data.setResourceDataList(Arrays.asList(resources));
+
+        MsmbMessage message = new MsmbMessage();
+
+        message.setResource(data);
+
+        return message;
+    }
+
+    private static ResourceData resource(String resourceId, MetricSample... samples) {
+        ResourceData resource = new ResourceData();
+
+        resource.setResourceId(resourceId);
+        resource.setMetricSampleList(Arrays.asList(samples));
+
+        return resource;
+    }
+
+    private static MetricSample sample(String name, String... values) {
+        MetricSample sample = new MetricSample();
+
+        sample.setName(name);
+        sample.setValueArray(Arrays.asList(values));
+
+        return sample;
+    }
+
+}
@@ -0,0 +1,219 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.messaging.scmb;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.google.common.base.Supplier;
+import com.hp.ov.sdk.adaptors.ResourceAdaptor;
+import com.hp.ov.sdk.dto.networking.ethernet.Network;
+import com.hp.ov.sdk.messaging.core.ChangeType;
+
+public class ScmbResourceCacheTest {
+
+    private static final String NETWORK_URI = "/rest/ethernet-networks/random-UUID";
+    private static final String TASK_URI = "/rest/tasks/random-UUID";
+
+    private final ScmbResourceCache cache = new ScmbResourceCache(10);
+
+    @Test
+    public void shouldLoadResourceOnlyOnce() {
+        CountingLoader loader = new CountingLoader(network("network"));
+
+        Network first = cache.getByName("network", Network.class, loader);
+        Network second = cache.getByName("network", Network.class, loader);
+        Network byUri = cache.getByUri(NETWORK_URI, Network.class, loader);
+
+        assertThat(loader.loads, is(1));
+        assertThat(second, is(sameInstance(first)));
+        assertThat(byUri, is(sameInstance(first)));
+    }
+
+    @Test
+    public void shouldReplaceUpdatedResource() {
+        CountingLoader loader = new CountingLoader(network("network"));
+
+        cache.getByName("network", Network.class, loader);
+        cache.handleMessage(message(ChangeType.Updated,
+                "{\"uri\":\"" + NETWORK_URI + "\",\"name\":\"renamed\",\"vlanId\":20}"));
+
+        Network updated = cache.getByUri(NETWORK_URI, Network.class, loader);
+
+        assertThat(loader.loads, is(1));
+        assertThat(updated.getName(), is("renamed"));
+        assertThat(updated.getVlanId(), is(20));
+
+        cache.getByName("network", Network.class, loader);
+
+        assertThat(loader.loads, is(2));
+    }
+
+    @Test
+    public void shouldEvictDeletedResource() {
+        CountingLoader loader = new CountingLoader(network("network"));
+
+        cache.getByUri(NETWORK_URI, Network.class, loader);
+        cache.handleMessage(message(ChangeType.Deleted, null));
+        cache.getByUri(NETWORK_URI, Network.class, loader);
+
+        assertThat(loader.loads, is(2));
+    }
+
+    @Test
+    public void shouldNotKeepResourceChangedWhileLoading() {
+        CountingLoader loader = new CountingLoader(network("network")) {
+            @Override
+            public Network get() {
+                Network network = super.get();
+
+                cache.handleMessage(message(ChangeType.Updated, null));
+                return network;
+            }
+        };
+
+        cache.getByName("network", Network.class, loader);
+        cache.getByName("network", Network.class, loader);
+
+        assertThat(loader.loads, is(2));
+    }
+
+    @Test
+    public void shouldKeepResourceWhenOtherResourcesChangeWhileLoading() {
+        CountingLoader loader = new CountingLoader(network("network")) {
+            @Override
+            public Network get() {
+                Network network = super.get();
+
+                cache.handleMessage(message(TASK_URI, ChangeType.Created, null));
+                return network;
+            }
+        };
+
+        cache.getByName("network", Network.class, loader);
+        cache.getByName("network", Network.class, loader);
+
+        assertThat(loader.loads, is(1));
+    }
+
+    @Test
+    public void shouldNotKeepResourceLoadedDuringInvalidation() {
+        CountingLoader loader = new CountingLoader(network("network")) {
+            @Override
+            public Network get() {
+                Network network = super.get();
+
+                if (loads == 1) {
+                    cache.invalidateAll();
+                }
+                return network;
+            }
+        };
+
+        cache.getByUri(NETWORK_URI, Network.class, loader);
+        cache.getByUri(NETWORK_URI, Network.class, loader);
+        cache.getByUri(NETWORK_URI, Network.class, loader);
+
+        assertThat(loader.loads, is(2));
+    }
+
+    @Test
+    public void shouldKeepLoadsWhileUnrelatedResourcesChurnBeyondMaximumSize() {
+        CountingLoader loader = new CountingLoader(network("network")) {
+            @Override
+            public Network get() {
+                churn(100);
+                return super.get();
+            }
+        };
+
+        churn(100);
+        cache.getByName("network", Network.class, loader);
+        churn(100);
+        cache.getByName("network", Network.class, loader);
+
+        assertThat(loader.loads, is(1));
+    }
+
+    @Test
+    public void shouldNotKeepLoadWhenChangesDuringItOutgrowHistory() {
+        final ScmbResourceCache cache = new ScmbResourceCache(new ResourceAdaptor(), 10, 2);
+        CountingLoader loader = new CountingLoader(network("network")) {
+            @Override
+            public Network get() {
+                if (loads == 0) {
+                    for (int i = 0; i < 3; i++) {
+                        cache.handleMessage(message(TASK_URI + i, ChangeType.Created, null));
+                    }
+                }
+                return super.get();
+            }
+        };
+
+        cache.getByUri(NETWORK_URI, Network.class, loader);
+        cache.getByUri(NETWORK_URI, Network.class, loader);
+        cache.getByUri(NETWORK_URI, Network.class, loader);
+
+        assertThat(loader.loads, is(2));
+    }
+
+    private void churn(int changes) {
+        for (int i = 0; i < changes; i++) {
+            cache.handleMessage(message(TASK_URI + i, ChangeType.Updated, null));
+        }
+    }
+
+    private static Network network(String name) {
+        Network network = new Network();
+
+        network.setUri(NETWORK_URI);
+        network.setName(name);
+        return network;
+    }
+
+    private static ScmbMessage message(ChangeType changeType, String resource) {
+        return message(NETWORK_URI, changeType, resource);
+    }
+
+    private static ScmbMessage message(String resourceUri, ChangeType changeType, String resource) {
+        ScmbMessage message = new ScmbMessage();
+
+        message.setChangeType(changeType);
+        message.setResourceUri(resourceUri);
+        message.setResource(resource);
+        return message;
+    }
+
+    private static class CountingLoader implements Supplier<Network> {
+
+        private final Network network;
+        int loads;
+
+        CountingLoader(Network network) {
+            this.network = network;
+        }
+
+        @Override
+        public Network get() {
+            loads++;
+            return network;
+        }
+    }
+
+}
@@ -18,6 +18,10 @@ package com.hp.ov.sdk.rest.client;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
@@ -26,30 +30,46 @@ import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 import java.lang.reflect.Type;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
 import com.google.common.base.Supplier;
 import com.google.common.reflect.TypeToken;
 import com.hp.ov.sdk.adaptors.ResourceAdaptor;
 import com.hp.ov.sdk.dto.TaskResource;
+import com.hp.ov.sdk.exceptions.SDKErrorEnum;
 import com.hp.ov.sdk.exceptions.SDKInvalidArgumentException;
 import com.hp.ov.sdk.exceptions.SDKNoResponseException;
+import com.hp.ov.sdk.exceptions.SDKUnauthorizedException;
+import com.hp.ov.sdk.rest.client.security.LoginSessionClient;
 import com.hp.ov.sdk.rest.http.core.HttpMethod;
 import com.hp.ov.sdk.rest.http.core.client.HttpRestClient;
 import com.hp.ov.sdk.rest.http.core.client.Request;
+import com.hp.ov.sdk.rest.http.core.client.SDKConfiguration;
+import com.hp.ov.sdk.rest.http.core.client.TaskMonitoring;
 import com.hp.ov.sdk.tasks.TaskMonitor;
 
 @RunWith(MockitoJUnitRunner.class)
 public class BaseClientTest {
 
     private static final String ANY_URI_STRING = "random-URL";
+    private static final String ANY_HOSTNAME = "random-Hostname";
     private static final String ANY_RESPONSE_STRING = "random-Response";
     private static final String ANY_RESOURCE = "{\"type\":\"random-Type\"}";
     private static final String ANY_TASK_RESOURCE = "{\"type\":\"task-resource\"}";
@@ -86,7 +106,7 @@ public class BaseClientTest {
 
     @Test(expected = SDKNoResponseException.class)
     public void shouldThrowExceptionWhenServerReturnsNoResponseForExecuteRequestWithType() {
-        given(httpClient.sendRequest(anyString(), any(Request.class))).willReturn("");
+        given(httpClient.sendRequest(anyString(), any(Request.class), any(Type.class))).willReturn(null);
 
         this.baseClient.executeRequest(new Request(HttpMethod.GET, ANY_URI_STRING),
                 TypeToken.of(Object.class).getType());
@@ -94,31 +114,33 @@ public class BaseClientTest {
 
     @Test(expected = SDKNoResponseException.class)
     public void shouldThrowExceptionWhenServerReturnsNoResponseForExecuteRequestWithClass() {
-        given(httpClient.sendRequest(anyString(), any(Request.class))).willReturn("");
+        given(httpClient.sendRequest(anyString(), any(Request.class), any(Type.class))).willReturn(null);
 
         this.baseClient.executeRequest(new Request(HttpMethod.GET, ANY_URI_STRING), Object.class);
     }
 
     @Test
     public void shouldExecuteRequestWithType() {
-        given(httpClient.sendRequest(anyString(), any(Request.class))).willReturn(ANY_RESOURCE);
+        Type type = TypeToken.of(Object.class).getType();
+
+        given(httpClient.sendRequest(anyString(), any(Request.class), any(Type.class))).willReturn(ANY_RESOURCE);
 
         Request request = new Request(HttpMethod.GET, ANY_URI_STRING);
 
-        this.baseClient.executeRequest(request, TypeToken.of(Object.class).getType());
+        this.baseClient.executeRequest(request, type);
 
-        then(httpClient).should().sendRequest(anyString(), eq(request));
+        then(httpClient).should().sendRequest(anyString(), eq(request), eq(type));
     }
 
     @Test
     public void shouldExecuteRequestWithClass() {
-        given(httpClient.sendRequest(anyString(), any(Request.class))).willReturn(ANY_RESOURCE);
+        given(httpClient.sendRequest(anyString(), any(Request.class), any(Type.class))).willReturn(ANY_RESOURCE);
 
         Request request = new Request(HttpMethod.GET, ANY_URI_STRING);
 
         this.baseClient.executeRequest(request, Object.class);
 
-        then(httpClient).should().sendRequest(anyString(), eq(request));
+        then(httpClient).should().sendRequest(anyString(), eq(request), eq(Object.class));
     }
 
     @Test
@@ -173,4 +195,128 @@ public class BaseClientTest {
         then(httpClient).should().sendRequest(anyString(), eq(request));
     }
 
+    @Test
+    public void shouldReturnTaskWithoutMonitoringWhenMonitoringIsDisabled() {
+        TaskResource task = new TaskResource();
+
+        given(httpClient.sendRequest(anyString(), any(Request.class))).willReturn(ANY_TASK_RESOURCE);
+        given(adaptor.buildResource(anyString(), eq(TaskResource.class))).willReturn(task);
+
+        Request request = new Request(HttpMethod.DELETE, ANY_URI_STRING);
+
+        TaskMonitoring.disabled().apply(request);
+
+        assertThat(this.baseClient.executeMonitorableRequest(request), is(task));
+        then(supplier).should(never()).get();
+    }
+
+    @Test
+    public void shouldSendRequestAgainWithRenewedSession() {
+        SessionManager sessionManager = mock(SessionManager.class);
+
+        given(sessionManager.getSessionId()).willReturn("expired-session");
+        given(sessionManager.renew("expired-session")).willReturn("new-session");
+        given(httpClient.sendRequest(eq("expired-session"), any(Request.class)))
+                .willThrow(new SDKUnauthorizedException(SDKErrorEnum.unauthorized, null));
+        given(httpClient.sendRequest(eq("new-session"), any(Request.class))).willReturn(ANY_RESPONSE_STRING);
+
+        this.baseClient.setSessionManager(sessionManager);
+
+        String response = this.baseClient.executeRequest(new Request(HttpMethod.GET, ANY_URI_STRING), String.class);
+
+        assertThat(response, is(equalTo(ANY_RESPONSE_STRING)));
+        then(sessionManager).should().renew("expired-session");
+    }
+
+    @Test
+    public void shouldFetchPagesSequentiallyByDefault() {
+        SDKConfiguration config = SDKConfiguration.create()
+                .withOneViewHostname(ANY_HOSTNAME)
+                .withOneViewUser("random-User", "random-Password")
+                .withTrustStoreEnabled(false)
+                .build();
+
+        assertThat(new BaseClient(config, ANY_HOSTNAME).getPageExecutor(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldProvidePageExecutorWithParallelPagination() {
+        SDKConfiguration config = SDKConfiguration.create()
+                .withOneViewHostname(ANY_HOSTNAME)
+                .withOneViewUser("random-User", "random-Password")
+                .withTrustStoreEnabled(false)
+                .withParallelPagination(true)
+                .build();
+
+        ExecutorService executor = new BaseClient(config, ANY_HOSTNAME).getPageExecutor();
+
+        assertThat(executor, is(notNullValue()));
+        executor.shutdown();
+    }
+
+    @Test(expected = SDKUnauthorizedException.class)
+    public void shouldNotRenewSessionForLoginRequests() {
+        SessionManager sessionManager = mock(SessionManager.class);
+
+        given(sessionManager.getSessionId()).willReturn("expired-session");
+        given(httpClient.sendRequest(anyString(), any(Request.class), any(Type.class)))
+                .willThrow(new SDKUnauthorizedException(SDKErrorEnum.unauthorized, null));
+
+        this.baseClient.setSessionManager(sessionManager);
+
+        try {
+            this.baseClient.executeRequest(new Request(HttpMethod.POST, LoginSessionClient.LOGIN_SESSIONS_URI),
+                    Object.class);
+        } finally {
+            then(sessionManager).should(never()).renew(anyString());
+            then(httpClient).should().sendRequest(eq((String) null), any(Request.class), any(Type.class));
+        }
+    }
+
+    @Test
+    public void shouldDecodeResourceOfItsOwnForEveryCoalescedCaller() throws Exception {
+        final CountDownLatch sent = new CountDownLatch(1);
+        final CountDownLatch received = new CountDownLatch(1);
+        final BaseClient client = new BaseClient(adaptor, httpClient, supplier, ANY_HOSTNAME, null,
+                new RequestCoalescer());
+        ExecutorService executor = Executors.newCachedThreadPool();
+
+        given(httpClient.sendRequestForBody(anyString(), any(Request.class), eq((Type) Object.class)))
+                .willAnswer(new Answer<String>() {
+                    @Override
+                    public String answer(InvocationOnMock invocation) throws InterruptedException {
+                        sent.countDown();
+                        received.await();
+                        return ANY_RESOURCE;
+                    }
+                });
+        given(httpClient.toResource(ANY_RESOURCE, Object.class)).willAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                return new Object();
+            }
+        });
+
+        try {
+            Callable<Object> get = new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return client.executeRequest(new Request(HttpMethod.GET, ANY_URI_STRING), Object.class);
+                }
+            };
+            Future<Object> first = executor.submit(get);
+            sent.await();
+
+            Future<Object> second = executor.submit(get);
+            TimeUnit.MILLISECONDS.sleep(100);
+            received.countDown();
+
+            assertThat(first.get(), is(not(sameInstance(second.get()))));
+            then(httpClient).should().sendRequestForBody(anyString(), any(Request.class), eq((Type) Object.class));
+            then(httpClient).should(times(2)).toResource(ANY_RESOURCE, Object.class);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
 }
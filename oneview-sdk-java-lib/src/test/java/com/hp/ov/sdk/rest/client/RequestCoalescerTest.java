@@ -0,0 +1,199 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.client;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.base.Supplier;
+import com.hp.ov.sdk.exceptions.SDKErrorEnum;
+import com.hp.ov.sdk.exceptions.SDKNoResponseException;
+import com.hp.ov.sdk.rest.http.core.HttpMethod;
+import com.hp.ov.sdk.rest.http.core.UrlParameter;
+import com.hp.ov.sdk.rest.http.core.client.Request;
+
+public class RequestCoalescerTest {
+
+    private static final String ANY_URI_STRING = "/rest/enclosure-groups";
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldShareResponseOfIdenticalRequests() throws Exception {
+        final CountDownLatch sent = new CountDownLatch(1);
+        final CountDownLatch received = new CountDownLatch(1);
+        final AtomicInteger exchanges = new AtomicInteger();
+        final Object response = new Object();
+
+        Future<Object> first = this.execute(this.newRequest("name", "enclosure-group"), new Supplier<Object>() {
+            @Override
+            public Object get() {
+                exchanges.incrementAndGet();
+                sent.countDown();
+                await(received);
+                return response;
+            }
+        });
+        sent.await();
+
+        Future<Object> second = this.execute(this.newRequest("name", "enclosure-group"), new Supplier<Object>() {
+            @Override
+            public Object get() {
+                exchanges.incrementAndGet();
+                return new Object();
+            }
+        });
+        this.awaitWaiter(second);
+        received.countDown();
+
+        assertThat(first.get(), is(sameInstance(response)));
+        assertThat(second.get(), is(sameInstance(response)));
+        assertThat(exchanges.get(), is(1));
+        assertThat(coalescer.getInFlightCount(), is(0));
+    }
+
+    @Test
+    public void shouldSendRequestsWithDifferentQueries() throws Exception {
+        final CountDownLatch sent = new CountDownLatch(1);
+        final CountDownLatch received = new CountDownLatch(1);
+
+        Future<Object> first = this.execute(this.newRequest("name", "first"), new Supplier<Object>() {
+            @Override
+            public Object get() {
+                sent.countDown();
+                await(received);
+                return "first";
+            }
+        });
+        sent.await();
+
+        Object second = coalescer.execute(this.newRequest("name", "second"), "session", Object.class,
+                new Supplier<Object>() {
+                    @Override
+                    public Object get() {
+                        return "second";
+                    }
+                });
+        received.countDown();
+
+        assertThat(first.get(), is((Object) "first"));
+        assertThat(second, is((Object) "second"));
+    }
+
+    @Test
+    public void shouldPropagateFailureToWaitingRequests() throws Exception {
+        final CountDownLatch sent = new CountDownLatch(1);
+        final CountDownLatch received = new CountDownLatch(1);
+        final SDKNoResponseException failure = new SDKNoResponseException(SDKErrorEnum.noResponseFromAppliance, null);
+
+        Future<Object> first = this.execute(this.newRequest("name", "any"), new Supplier<Object>() {
+            @Override
+            public Object get() {
+                sent.countDown();
+                await(received);
+                throw failure;
+            }
+        });
+        sent.await();
+
+        Future<Object> second = this.execute(this.newRequest("name", "any"), new Supplier<Object>() {
+            @Override
+            public Object get() {
+                return "not-sent";
+            }
+        });
+        this.awaitWaiter(second);
+        received.countDown();
+
+        for (Future<Object> future : new Future[] {first, second}) {
+            try {
+                future.get();
+                fail("Failure of the request not propagated");
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), is(sameInstance((Throwable) failure)));
+            }
+        }
+        assertThat(coalescer.getInFlightCount(), is(0));
+    }
+
+    @Test
+    public void shouldCoalesceOnlyGetRequestsWithoutDownload() {
+        Request request = new Request(HttpMethod.GET, ANY_URI_STRING);
+
+        request.setDownloadPath("/tmp");
+
+        assertThat(RequestCoalescer.accepts(new Request(HttpMethod.GET, ANY_URI_STRING)), is(true));
+        assertThat(RequestCoalescer.accepts(new Request(HttpMethod.POST, ANY_URI_STRING)), is(false));
+        assertThat(RequestCoalescer.accepts(request), is(false));
+    }
+
+    private Request newRequest(String key, String value) {
+        Request request = new Request(HttpMethod.GET, ANY_URI_STRING);
+
+        request.setHostname("oneview");
+        request.addQuery(new UrlParameter(key, value));
+
+        return request;
+    }
+
+    private Future<Object> execute(final Request request, final Supplier<Object> send) {
+        return executor.submit(new Callable<Object>() {
+            @Override
+            public Object call() {
+                return coalescer.execute(request, "session", Object.class, send);
+            }
+        });
+    }
+
+    /*
+     * There is no way to tell when a request starts waiting, so this only makes sure that
+     * it is not done before the request it waits for.
+     */
+    private void awaitWaiter(Future<Object> future) throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        assertThat(future.isDone(), is(false));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
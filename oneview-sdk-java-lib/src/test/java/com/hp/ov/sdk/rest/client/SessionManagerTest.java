@@ -0,0 +1,116 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.client;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.base.Function;
+import com.google.common.base.Supplier;
+
+public class SessionManagerTest {
+
+    private final AtomicInteger logins = new AtomicInteger();
+    private final List<String> logouts = new ArrayList<>();
+
+    private final Supplier<String> login = new Supplier<String>() {
+        @Override
+        public String get() {
+            return "session-" + logins.incrementAndGet();
+        }
+    };
+    private final SessionManager sessionManager = new SessionManager(login, "session-0");
+
+    @Test
+    public void shouldLogInOnceForConcurrentlyRejectedSession() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> renewals = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 8; i++) {
+                renewals.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        start.await();
+
+                        return sessionManager.renew("session-0");
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<String> sessions = new ArrayList<>();
+
+            for (Future<String> renewal : renewals) {
+                sessions.add(renewal.get());
+            }
+            assertThat(sessions, everyItem(is("session-1")));
+            assertThat(logins.get(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldLogInAgainWhenTheRenewedSessionIsRejected() {
+        assertThat(sessionManager.renew("session-0"), is("session-1"));
+        assertThat(sessionManager.renew("session-1"), is("session-2"));
+        assertThat(sessionManager.getSessionId(), is("session-2"));
+    }
+
+    @Test
+    public void shouldLogOutTheSessionReplacedByARefresh() {
+        SessionManager refreshed = new SessionManager(login, new Function<String, Void>() {
+            @Override
+            public Void apply(String sessionId) {
+                logouts.add(sessionId);
+                return null;
+            }
+        }, "session-0");
+
+        assertThat(refreshed.refresh(), is("session-1"));
+        assertThat(refreshed.refresh(), is("session-2"));
+        assertThat(logouts, contains("session-0", "session-1"));
+    }
+
+    @Test
+    public void shouldKeepTheRefreshedSessionWhenLogoutFails() {
+        SessionManager refreshed = new SessionManager(login, new Function<String, Void>() {
+            @Override
+            public Void apply(String sessionId) {
+                throw new IllegalStateException("appliance not reachable");
+            }
+        }, "session-0");
+
+        assertThat(refreshed.refresh(), is("session-1"));
+        assertThat(refreshed.getSessionId(), is("session-1"));
+    }
+
+}
@@ -18,12 +18,17 @@ package com.hp.ov.sdk.rest.client.activity;
 
 import static com.hp.ov.sdk.rest.client.activity.AlertClient.ALERTS_CHANGELOG_URI;
 import static com.hp.ov.sdk.rest.client.activity.AlertClient.ALERTS_URI;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Iterator;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -72,6 +77,38 @@ public class AlertClientTest {
                 new TypeToken<ResourceCollection<AlertResource>>() {}.getType());
     }
 
+    @Test
+    public void shouldIterateAlertsOnePageAtATime() {
+        AlertResource first = new AlertResource();
+        AlertResource second = new AlertResource();
+        String nextPageUri = ALERTS_URI + "?start=1&count=1";
+
+        ResourceCollection<AlertResource> firstPage = new ResourceCollection<>();
+        firstPage.setMembers(Arrays.asList(first));
+        firstPage.setTotal(2);
+        firstPage.setNextPageUri(nextPageUri);
+
+        ResourceCollection<AlertResource> secondPage = new ResourceCollection<>();
+        secondPage.setMembers(Arrays.asList(second));
+        secondPage.setTotal(2);
+
+        given(this.baseClient.executeRequest(any(Request.class), any(Type.class)))
+                .willReturn(firstPage, secondPage);
+
+        Iterator<AlertResource> alerts = client.iterate();
+        Type pageType = new TypeToken<ResourceCollection<AlertResource>>() {}.getType();
+
+        then(baseClient).should(never()).executeRequest(any(Request.class), any(Type.class));
+
+        assertThat(alerts.next(), is(first));
+        then(baseClient).should().executeRequest(new Request(HttpMethod.GET, ALERTS_URI), pageType);
+        then(baseClient).should(never()).executeRequest(new Request(HttpMethod.GET, nextPageUri), pageType);
+
+        assertThat(alerts.next(), is(second));
+        assertThat(alerts.hasNext(), is(false));
+        then(baseClient).should().executeRequest(new Request(HttpMethod.GET, nextPageUri), pageType);
+    }
+
     @Test
     public void shouldUpdateAlert() {
         AlertUpdate alertUpdate = new AlertUpdate();
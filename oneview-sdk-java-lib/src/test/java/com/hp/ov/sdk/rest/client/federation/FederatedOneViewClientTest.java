@@ -0,0 +1,137 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.client.federation;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.hp.ov.sdk.dto.ResourceCollection;
+import com.hp.ov.sdk.exceptions.SDKErrorEnum;
+import com.hp.ov.sdk.exceptions.SDKNoResponseException;
+import com.hp.ov.sdk.rest.client.OneViewClient;
+
+public class FederatedOneViewClientTest {
+
+    private final OneViewClient first = mock(OneViewClient.class);
+    private final OneViewClient second = mock(OneViewClient.class);
+    private final OneViewClient third = mock(OneViewClient.class);
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    private final FederatedOneViewClient federation = new FederatedOneViewClient(appliances());
+
+    @After
+    public void tearDown() {
+        released.countDown();
+        federation.shutdown();
+    }
+
+    @Test
+    public void shouldMergeCollectionsOfEveryAppliance() {
+        FederatedCollection<String> collection = federation.getAll(new Function<OneViewClient, ResourceCollection<String>>() {
+            @Override
+            public ResourceCollection<String> apply(OneViewClient client) {
+                return (client == first) ? collection(5, "a", "b") : collection(1, "c");
+            }
+        }, 10, TimeUnit.SECONDS);
+
+        assertThat(collection.isComplete(), is(true));
+        assertThat(collection.getMembers(), contains(
+                new ApplianceResource<>("first", "a"),
+                new ApplianceResource<>("first", "b"),
+                new ApplianceResource<>("second", "c"),
+                new ApplianceResource<>("third", "c")));
+        assertThat(collection.getCount(), is(4));
+        assertThat(collection.getTotal(), is(7));
+    }
+
+    @Test
+    public void shouldLeaveOutAppliancesThatDoNotAnswerInTime() {
+        long start = System.nanoTime();
+
+        FederatedCollection<String> collection = federation.getAll(new Function<OneViewClient, ResourceCollection<String>>() {
+            @Override
+            public ResourceCollection<String> apply(OneViewClient client) {
+                if (client == second) {
+                    Uninterruptibles.awaitUninterruptibly(released);
+                }
+                return collection(1, "a");
+            }
+        }, 200, TimeUnit.MILLISECONDS);
+
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), is(lessThan(5L)));
+        assertThat(collection.isComplete(), is(false));
+        assertThat(collection.getFailures().keySet(), contains("second"));
+        assertThat(collection.getFailures().get("second"), is(instanceOf(TimeoutException.class)));
+        assertThat(collection.getMembers(), contains(
+                new ApplianceResource<>("first", "a"),
+                new ApplianceResource<>("third", "a")));
+    }
+
+    @Test
+    public void shouldReportFailureOfAppliance() {
+        final SDKNoResponseException failure = new SDKNoResponseException(SDKErrorEnum.noResponseFromAppliance, null);
+
+        FederatedResult<String> result = federation.query(new Function<OneViewClient, String>() {
+            @Override
+            public String apply(OneViewClient client) {
+                if (client == third) {
+                    throw failure;
+                }
+                return (client == first) ? "first-version" : "second-version";
+            }
+        }, 10, TimeUnit.SECONDS);
+
+        assertThat(result.getResults().keySet(), contains("first", "second"));
+        assertThat(result.getResults().get("second"), is("second-version"));
+        assertThat(result.getFailures().get("third"), is((Exception) failure));
+    }
+
+    private Map<String, OneViewClient> appliances() {
+        Map<String, OneViewClient> appliances = new LinkedHashMap<>();
+
+        appliances.put("first", first);
+        appliances.put("second", second);
+        appliances.put("third", third);
+
+        return appliances;
+    }
+
+    private static ResourceCollection<String> collection(int total, String ... members) {
+        ResourceCollection<String> collection = new ResourceCollection<>();
+
+        collection.setMembers(Arrays.asList(members));
+        collection.setTotal(total);
+
+        return collection;
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.http.core.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+
+public class CircuitBreakerTest {
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final CircuitBreaker breaker = new CircuitBreaker(2, 1000, ticker);
+
+    @Test
+    public void shouldOpenAfterConsecutiveFailures() {
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    public void shouldLetASingleTrialThroughOnceOpenIntervalElapsed() {
+        breaker.onFailure();
+        breaker.onFailure();
+        ticker.advance(1000);
+
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onFailure();
+
+        assertFalse(breaker.tryAcquire());
+
+        ticker.advance(1000);
+
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    public void shouldLetAnotherTrialThroughWhenReleased() {
+        breaker.onFailure();
+        breaker.onFailure();
+        ticker.advance(1000);
+
+        assertTrue(breaker.tryAcquire());
+
+        breaker.release();
+
+        assertTrue(breaker.tryAcquire());
+    }
+
+    private static class FakeTicker extends Ticker {
+
+        private long nanos;
+
+        void advance(long millis) {
+            nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+    }
+
+}
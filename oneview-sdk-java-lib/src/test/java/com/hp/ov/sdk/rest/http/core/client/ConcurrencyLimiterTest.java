@@ -0,0 +1,161 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.http.core.client;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+
+public class ConcurrencyLimiterTest {
+
+    private static final String ENDPOINT = "GET /rest/enclosures/{id}";
+    private static final String LISTING_ENDPOINT = "GET /rest/enclosures";
+
+    private final FakeTicker ticker = new FakeTicker();
+
+    @Test
+    public void shouldIncreaseLimitWhenBoundBySuccessfulRequests() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 10, 0, ticker);
+
+        long first = limiter.acquire(false);
+        long second = limiter.acquire(false);
+
+        limiter.release(first, ENDPOINT, ConcurrencyLimiter.Outcome.SUCCESS);
+        limiter.release(second, ENDPOINT, ConcurrencyLimiter.Outcome.SUCCESS);
+
+        assertThat(limiter.getLimit(), is(2.5));
+    }
+
+    @Test
+    public void shouldDecreaseLimitOncePerOverload() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 10, 0, ticker);
+
+        ticker.advance(1);
+
+        long first = limiter.acquire(false);
+        long second = limiter.acquire(false);
+
+        ticker.advance(1);
+        limiter.release(first, ENDPOINT, ConcurrencyLimiter.Outcome.OVERLOAD);
+        limiter.release(second, ENDPOINT, ConcurrencyLimiter.Outcome.OVERLOAD);
+
+        assertThat(limiter.getLimit(), is(closeTo(2.8, 0.001)));
+    }
+
+    @Test
+    public void shouldDecreaseLimitWhenLatencyClimbs() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 10, 0, ticker);
+
+        for (int i = 0; i < 30; i++) {
+            this.send(limiter, 10);
+        }
+        assertThat(limiter.getLimit(), is(4.0));
+
+        for (int i = 0; i < 5; i++) {
+            this.send(limiter, 100);
+        }
+        assertThat(limiter.getLimit(), is(lessThan(4.0)));
+    }
+
+    @Test
+    public void shouldCompareLatenciesOfTheSameEndpointOnly() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 10, 0, ticker);
+
+        for (int i = 0; i < 30; i++) {
+            this.send(limiter, ENDPOINT, 10);
+        }
+        for (int i = 0; i < 5; i++) {
+            this.send(limiter, LISTING_ENDPOINT, 100);
+            this.send(limiter, ENDPOINT, 10);
+        }
+        assertThat(limiter.getLimit(), is(4.0));
+    }
+
+    @Test
+    public void shouldAdmitPriorityRequestsBeyondLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 10, 10, ticker);
+
+        assertThat(limiter.acquire(false), is(notNullValue()));
+        assertThat(limiter.acquire(false), is(nullValue()));
+        assertThat(limiter.acquire(true), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldGiveUpOnRequestNotAdmittedWithinMaximumWait() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 10, 50, ticker);
+        long admittedAt = limiter.acquire(false);
+        long waitingSince = System.nanoTime();
+
+        assertThat(limiter.acquire(false), is(nullValue()));
+        assertThat(System.nanoTime() - waitingSince, is(greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50))));
+
+        limiter.release(admittedAt, ENDPOINT, ConcurrencyLimiter.Outcome.SUCCESS);
+
+        assertThat(limiter.acquire(false), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldKeepAConnectionForPriorityRequests() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 4, 0, ticker);
+
+        assertThat(limiter.getLimit(), is(3.0));
+
+        for (int i = 0; i < 10; i++) {
+            long admittedAt = limiter.acquire(false);
+
+            limiter.release(admittedAt, ENDPOINT, ConcurrencyLimiter.Outcome.SUCCESS);
+        }
+        assertThat(limiter.getLimit(), is(greaterThan(0.0)));
+        assertThat(limiter.getLimit(), is(lessThan(3.0001)));
+    }
+
+    private void send(ConcurrencyLimiter limiter, long latencyMillis) throws Exception {
+        this.send(limiter, ENDPOINT, latencyMillis);
+    }
+
+    private void send(ConcurrencyLimiter limiter, String endpoint, long latencyMillis) throws Exception {
+        long admittedAt = limiter.acquire(false);
+
+        ticker.advance(latencyMillis);
+        limiter.release(admittedAt, endpoint, ConcurrencyLimiter.Outcome.SUCCESS);
+    }
+
+    private static class FakeTicker extends Ticker {
+
+        private long nanos;
+
+        void advance(long millis) {
+            nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+    }
+
+}
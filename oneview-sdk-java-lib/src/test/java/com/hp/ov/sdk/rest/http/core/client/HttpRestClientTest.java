@@ -1,33 +1,55 @@
 package com.hp.ov.sdk.rest.http.core.client;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.util.List;
 
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.StatusLine;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.protocol.HttpContext;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
+import com.hp.ov.sdk.dto.BaseModelResource;
 import com.hp.ov.sdk.exceptions.SDKApplianceNotReachableException;
 import com.hp.ov.sdk.exceptions.SDKBadRequestException;
+import com.hp.ov.sdk.exceptions.SDKErrorEnum;
 import com.hp.ov.sdk.exceptions.SDKForbiddenException;
+import com.hp.ov.sdk.exceptions.SDKInternalException;
 import com.hp.ov.sdk.exceptions.SDKInternalServerErrorException;
 import com.hp.ov.sdk.exceptions.SDKMethodNotAllowed;
 import com.hp.ov.sdk.exceptions.SDKResourceNotFoundException;
 import com.hp.ov.sdk.exceptions.SDKUnauthorizedException;
+import com.hp.ov.sdk.rest.http.core.ContentType;
 import com.hp.ov.sdk.rest.http.core.HttpMethod;
 import com.hp.ov.sdk.rest.http.core.UrlParameter;
+import com.hp.ov.sdk.rest.http.core.metrics.EndpointSnapshot;
+import com.hp.ov.sdk.rest.http.core.metrics.RequestMetricsRecorder;
 import com.hp.ov.sdk.util.ObjectToJsonConverter;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -47,6 +69,14 @@ public class HttpRestClientTest {
     private HttpEntity responseEntity;
     @Mock
     private Header locationHeader;
+    @Mock
+    private ObjectToJsonConverter converter;
+
+    @Mock
+    private DownloadListener downloadListener;
+
+    @Rule
+    public TemporaryFolder downloadFolder = new TemporaryFolder();
 
     private HttpRestClient restClient;
 
@@ -54,14 +84,15 @@ public class HttpRestClientTest {
 
     @Before
     public void setUp() throws Exception {
-        this.restClient = new HttpRestClient(sdkConfiguration, Mockito.mock(ObjectToJsonConverter.class), httpClient);
+        this.restClient = new HttpRestClient(sdkConfiguration, converter, httpClient);
 
         Mockito.when(sdkConfiguration.getClientMaxNumberOfConnections()).thenReturn(20);
         Mockito.when(sdkConfiguration.getClientSocketTimeout()).thenReturn(60);
         Mockito.when(sdkConfiguration.getOneViewHostname()).thenReturn("1.1.1.1");
         Mockito.when(sdkConfiguration.getOneViewApiVersion()).thenReturn(ApiVersion.V_300);
 
-        Mockito.when(httpClient.execute(Mockito.any(HttpUriRequest.class))).thenReturn(response);
+        Mockito.when(httpClient.execute(Mockito.any(HttpUriRequest.class), Mockito.any(HttpContext.class)))
+                .thenReturn(response);
         Mockito.when(response.getStatusLine()).thenReturn(responseStatus);
         Mockito.when(locationHeader.getValue()).thenReturn("/rest/tasks/task-id");
         Mockito.when(response.getFirstHeader("Location")).thenReturn(locationHeader);
@@ -420,6 +451,260 @@ public class HttpRestClientTest {
         assertNotNull(result);
     }
 
+    @Test
+    public void testSendRequestStreamsResponseIntoReturnType() {
+        Object resource = new Object();
+
+        Mockito.when(converter.jsonToResource(Mockito.any(Reader.class), Mockito.eq(Object.class)))
+                .thenReturn(resource);
+
+        Object result = restClient.sendRequest(SESSION_ID, new Request(HttpMethod.GET, ""), Object.class);
+
+        assertSame(resource, result);
+        Mockito.verify(converter, Mockito.never()).jsonToResource(Mockito.anyString(), Mockito.any(Type.class));
+        assertEquals(1L, restClient.getTransferStatistics().getDecodedResponses());
+    }
+
+    @Test
+    public void testSendRequestRevalidatesCachedResource() throws Exception {
+        BaseModelResource resource = new BaseModelResource();
+        resource.setETag("etag-1");
+
+        Mockito.when(sdkConfiguration.getClientResponseCacheSize()).thenReturn(10);
+        Mockito.when(sdkConfiguration.getClientResponseCacheTtl()).thenReturn(60);
+        Mockito.when(converter.jsonToResource(responseContent, (Type) BaseModelResource.class)).thenReturn(resource);
+
+        HttpRestClient cachingClient = new HttpRestClient(sdkConfiguration, converter, httpClient);
+
+        assertSame(resource, cachingClient.sendRequest(SESSION_ID,
+                new Request(HttpMethod.GET, "/rest/enclosures/id"), BaseModelResource.class));
+
+        Mockito.when(responseStatus.getStatusCode()).thenReturn(304);
+
+        assertSame(resource, cachingClient.sendRequest(SESSION_ID,
+                new Request(HttpMethod.GET, "/rest/enclosures/id"), BaseModelResource.class));
+
+        ArgumentCaptor<HttpUriRequest> requests = ArgumentCaptor.forClass(HttpUriRequest.class);
+
+        Mockito.verify(httpClient, Mockito.times(2)).execute(requests.capture(), Mockito.any(HttpContext.class));
+        Mockito.verify(converter, Mockito.times(2)).jsonToResource(responseContent, (Type) BaseModelResource.class);
+        Mockito.verify(converter, Mockito.never()).jsonToResource(Mockito.any(Reader.class),
+                Mockito.any(Type.class));
+
+        assertFalse(requests.getAllValues().get(0).containsHeader(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("etag-1", requests.getAllValues().get(1).getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue());
+    }
+
+    @Test
+    public void testSendRequestReturnsOwnCopyOfCachedResource() throws Exception {
+        Mockito.when(sdkConfiguration.getClientResponseCacheSize()).thenReturn(10);
+        Mockito.when(sdkConfiguration.getClientResponseCacheTtl()).thenReturn(60);
+        Mockito.when(responseEntity.getContent()).thenReturn(
+                new ByteArrayInputStream("{\"eTag\":\"etag-1\",\"name\":\"enclosure\"}".getBytes()));
+
+        HttpRestClient cachingClient = new HttpRestClient(sdkConfiguration,
+                ObjectToJsonConverter.getInstance(), httpClient);
+
+        BaseModelResource modified = (BaseModelResource) cachingClient.sendRequest(SESSION_ID,
+                new Request(HttpMethod.GET, "/rest/enclosures/id"), BaseModelResource.class);
+
+        modified.setName("modified, never updated");
+
+        Mockito.when(responseStatus.getStatusCode()).thenReturn(304);
+
+        BaseModelResource cached = (BaseModelResource) cachingClient.sendRequest(SESSION_ID,
+                new Request(HttpMethod.GET, "/rest/enclosures/id"), BaseModelResource.class);
+
+        assertEquals("enclosure", cached.getName());
+        assertEquals("etag-1", cached.getETag());
+    }
+
+    @Test
+    public void testSendRequestDoesNotCacheResourceWithoutETag() throws Exception {
+        Mockito.when(sdkConfiguration.getClientResponseCacheSize()).thenReturn(10);
+        Mockito.when(sdkConfiguration.getClientResponseCacheTtl()).thenReturn(60);
+        Mockito.when(converter.jsonToResource(Mockito.any(Reader.class), Mockito.eq(BaseModelResource.class)))
+                .thenReturn(new BaseModelResource());
+
+        HttpRestClient cachingClient = new HttpRestClient(sdkConfiguration, converter, httpClient);
+
+        cachingClient.sendRequest(SESSION_ID, new Request(HttpMethod.GET, "/rest/enclosures/id"),
+                BaseModelResource.class);
+        cachingClient.sendRequest(SESSION_ID, new Request(HttpMethod.GET, "/rest/enclosures/id"),
+                BaseModelResource.class);
+
+        ArgumentCaptor<HttpUriRequest> requests = ArgumentCaptor.forClass(HttpUriRequest.class);
+
+        Mockito.verify(httpClient, Mockito.times(2)).execute(requests.capture(), Mockito.any(HttpContext.class));
+        assertFalse(requests.getValue().containsHeader(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    public void testSendRequestReportsMetricsByEndpoint() {
+        RequestMetricsRecorder recorder = new RequestMetricsRecorder();
+
+        restClient.setRequestMetricsListener(recorder);
+
+        Request request = new Request(HttpMethod.GET, "/rest/enclosures/random-UUID");
+        request.setEndpoint("/rest/enclosures/{resourceId}");
+
+        restClient.sendRequest(SESSION_ID, request, Object.class);
+        restClient.sendRequest(SESSION_ID, request, Object.class);
+
+        Mockito.when(responseStatus.getStatusCode()).thenReturn(404);
+
+        try {
+            restClient.sendRequest(SESSION_ID, request, Object.class);
+            fail("Exception should have been raised");
+        } catch (SDKResourceNotFoundException e) {
+            // expected
+        }
+
+        List<EndpointSnapshot> endpoints = recorder.getEndpoints();
+
+        assertEquals(1, endpoints.size());
+        assertEquals("GET /rest/enclosures/{resourceId}", endpoints.get(0).getEndpoint());
+        assertEquals(3, endpoints.get(0).getRequests());
+        assertEquals(1, endpoints.get(0).getFailures());
+        assertEquals(Long.valueOf(2), endpoints.get(0).getStatuses().get("2xx"));
+        assertEquals(Long.valueOf(1), endpoints.get(0).getStatuses().get("4xx"));
+    }
+
+    @Test
+    public void testEndpointOfRequestWithoutTemplate() {
+        assertEquals("/rest/tasks/{id}",
+                HttpRestClient.endpointOf(new Request(HttpMethod.GET, "/rest/tasks/4f2e1a3b-0001")));
+        assertEquals("/rest/server-hardware",
+                HttpRestClient.endpointOf(new Request(HttpMethod.GET, "/rest/server-hardware")));
+    }
+
+    @Test
+    public void testSendRequestRetriesUnavailableGet() throws Exception {
+        Mockito.when(sdkConfiguration.getClientRetryMaxAttempts()).thenReturn(3);
+        Mockito.when(sdkConfiguration.getClientRetryInitialBackoff()).thenReturn(1);
+        Mockito.when(sdkConfiguration.getClientRetryMaxBackoff()).thenReturn(5);
+        Mockito.when(responseStatus.getStatusCode()).thenReturn(503, 502, 200);
+        Mockito.when(response.getFirstHeader(HttpHeaders.RETRY_AFTER))
+                .thenReturn(new BasicHeader(HttpHeaders.RETRY_AFTER, "0"));
+
+        HttpRestClient retryingClient = new HttpRestClient(sdkConfiguration, converter, httpClient);
+
+        assertNotNull(retryingClient.sendRequest(SESSION_ID, new Request(HttpMethod.GET, "")));
+        Mockito.verify(httpClient, Mockito.times(3)).execute(Mockito.any(HttpUriRequest.class),
+                Mockito.any(HttpContext.class));
+    }
+
+    @Test
+    public void testSendRequestDoesNotRetryPost() throws Exception {
+        Mockito.when(sdkConfiguration.getClientRetryMaxAttempts()).thenReturn(3);
+        Mockito.when(responseStatus.getStatusCode()).thenReturn(503, 200);
+
+        HttpRestClient retryingClient = new HttpRestClient(sdkConfiguration, converter, httpClient);
+
+        try {
+            retryingClient.sendRequest(SESSION_ID, new Request(HttpMethod.POST, ""));
+            fail("Exception should have been raised");
+        } catch (SDKInternalServerErrorException e) {
+            Mockito.verify(httpClient).execute(Mockito.any(HttpUriRequest.class), Mockito.any(HttpContext.class));
+        }
+    }
+
+    @Test
+    public void testSendRequestFailsFastWhileApplianceIsFailing() throws Exception {
+        Mockito.when(sdkConfiguration.getClientCircuitBreakerFailureThreshold()).thenReturn(2);
+        Mockito.when(sdkConfiguration.getClientCircuitBreakerOpenInterval()).thenReturn(60);
+        Mockito.when(responseStatus.getStatusCode()).thenReturn(504);
+
+        HttpRestClient breakingClient = new HttpRestClient(sdkConfiguration, converter, httpClient);
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                breakingClient.sendRequest(SESSION_ID, new Request(HttpMethod.GET, ""));
+                fail("Exception should have been raised");
+            } catch (SDKApplianceNotReachableException e) {
+                // expected
+            }
+        }
+        Mockito.verify(httpClient, Mockito.times(2)).execute(Mockito.any(HttpUriRequest.class),
+                Mockito.any(HttpContext.class));
+    }
+
+    @Test (expected = SDKResourceNotFoundException.class)
+    public void testSendRequestWithReturnTypeNotFoundResponse() {
+        Mockito.when(responseStatus.getStatusCode()).thenReturn(404);
+
+        restClient.sendRequest(SESSION_ID, new Request(HttpMethod.GET, ""), Object.class);
+        fail("Exception should have been raised");
+    }
+
+    @Test
+    public void testSendRequestDownloadsFileReportingProgress() throws Exception {
+        byte[] fileContent = "binary-file-content".getBytes();
+
+        this.mockDownloadResponse(fileContent.length);
+        Mockito.when(responseEntity.getContent()).thenReturn(new ByteArrayInputStream(fileContent));
+
+        Request request = new Request(HttpMethod.GET, "");
+
+        DownloadPath.at(downloadFolder.getRoot().getPath() + File.separator).apply(request);
+        DownloadProgress.with(downloadListener).apply(request);
+
+        String result = restClient.sendRequest(SESSION_ID, request);
+
+        assertArrayEquals(fileContent, Files.readAllBytes(new File(result).toPath()));
+        Mockito.verify(downloadListener).onProgress("file.bin", fileContent.length, fileContent.length);
+    }
+
+    @Test
+    public void testSendRequestResumesInterruptedDownload() throws Exception {
+        byte[] fileContent = "binary-file-content".getBytes();
+
+        this.mockDownloadResponse(fileContent.length);
+        Mockito.when(responseStatus.getStatusCode()).thenReturn(200, 206);
+        Mockito.when(responseEntity.getContent()).thenReturn(
+                new ByteArrayInputStream(fileContent, 0, 6),
+                new ByteArrayInputStream(fileContent, 6, fileContent.length - 6));
+
+        Request request = new Request(HttpMethod.GET, "");
+
+        DownloadPath.at(downloadFolder.getRoot().getPath() + File.separator).apply(request);
+
+        String result = restClient.sendRequest(SESSION_ID, request);
+
+        ArgumentCaptor<HttpUriRequest> requests = ArgumentCaptor.forClass(HttpUriRequest.class);
+
+        Mockito.verify(httpClient, Mockito.times(2)).execute(requests.capture(), Mockito.any(HttpContext.class));
+        assertEquals("bytes=6-", requests.getAllValues().get(1).getFirstHeader(HttpHeaders.RANGE).getValue());
+        assertArrayEquals(fileContent, Files.readAllBytes(new File(result).toPath()));
+    }
+
+    @Test
+    public void testSendRequestIncompleteDownload() throws Exception {
+        this.mockDownloadResponse(100);
+        Mockito.when(responseStatus.getStatusCode()).thenReturn(200);
+        Mockito.when(responseEntity.getContent()).thenReturn(new ByteArrayInputStream("truncated".getBytes()));
+
+        Request request = new Request(HttpMethod.GET, "");
+
+        DownloadPath.at(downloadFolder.getRoot().getPath() + File.separator).apply(request);
+
+        try {
+            restClient.sendRequest(SESSION_ID, request);
+            fail("Exception should have been raised");
+        } catch (SDKInternalException e) {
+            assertFalse(new File(downloadFolder.getRoot(), "file.bin").exists());
+        }
+    }
+
+    private void mockDownloadResponse(long contentLength) {
+        Mockito.when(responseEntity.getContentType()).thenReturn(
+                new BasicHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_OCTET_STREAM.getMimeType()));
+        Mockito.when(response.getFirstHeader(HttpHeaders.CONTENT_LENGTH)).thenReturn(
+                new BasicHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(contentLength)));
+        Mockito.when(response.getFirstHeader("Content-Disposition")).thenReturn(
+                new BasicHeader("Content-Disposition", "attachment; filename=file.bin"));
+    }
+
     @Test (expected = SDKBadRequestException.class)
     public void testSendRequestWithBadUriParameters() {
         Request request = new Request(HttpMethod.GET, "http :");
@@ -429,4 +714,41 @@ public class HttpRestClientTest {
         String result = restClient.sendRequest(SESSION_ID, request);
         assertNotNull(result);
     }
+
+    @Test
+    public void testSendRequestNotSentWhenLimiterQueueTimesOut() throws Exception {
+        final Request request = new Request(HttpMethod.GET, "/rest/enclosures");
+        final SDKApplianceNotReachableException[] failure = new SDKApplianceNotReachableException[1];
+
+        request.setHostname("1.1.1.1");
+
+        Mockito.when(sdkConfiguration.isClientAdaptiveConcurrencyEnabled()).thenReturn(true);
+        Mockito.when(sdkConfiguration.getClientConcurrencyInitialLimit()).thenReturn(1);
+        Mockito.when(sdkConfiguration.getClientConcurrencyMaxWait()).thenReturn(0);
+        Mockito.when(httpClient.execute(Mockito.any(HttpUriRequest.class), Mockito.any(HttpContext.class)))
+                .thenAnswer(new Answer<CloseableHttpResponse>() {
+                    @Override
+                    public CloseableHttpResponse answer(InvocationOnMock invocation) {
+                        Request queued = new Request(HttpMethod.GET, request.getUri());
+
+                        queued.setHostname(request.getHostname());
+
+                        // the only request allowed in flight is this one
+                        try {
+                            restClient.sendRequest(null, queued);
+                        } catch (SDKApplianceNotReachableException e) {
+                            failure[0] = e;
+                        }
+                        return response;
+                    }
+                });
+
+        restClient.sendRequest(null, request);
+
+        assertNotNull(failure[0]);
+        assertEquals(SDKErrorEnum.requestQueueTimeout, failure[0].getErrorKey());
+        Mockito.verify(httpClient, Mockito.times(1))
+                .execute(Mockito.any(HttpUriRequest.class), Mockito.any(HttpContext.class));
+    }
+
 }
@@ -0,0 +1,72 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.http.core.client;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.client.entity.GzipDecompressingEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+
+public class TransferStatisticsTest {
+
+    private final TransferStatistics statistics = new TransferStatistics();
+
+    @Test
+    public void shouldCountWireAndContentBytes() throws Exception {
+        StringBuilder content = new StringBuilder("[");
+
+        for (int i = 0; i < 100; i++) {
+            content.append("{\"name\":\"server-hardware-").append(i).append("\",\"state\":\"Monitored\"},");
+        }
+        byte[] plain = content.append("{}]").toString().getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = gzip(plain);
+
+        HttpEntity entity = statistics.countContentBytes(
+                new GzipDecompressingEntity(statistics.countWireBytes(new ByteArrayEntity(compressed))));
+
+        assertThat(EntityUtils.toByteArray(entity).length, is(plain.length));
+        assertThat(statistics.getWireBytes(), is((long) compressed.length));
+        assertThat(statistics.getContentBytes(), is((long) plain.length));
+        assertThat(statistics.getWireBytes(), is(lessThan(statistics.getContentBytes())));
+    }
+
+    @Test
+    public void shouldRecordDecodes() {
+        statistics.recordDecode(1000L);
+        statistics.recordDecode(1000L);
+
+        assertThat(statistics.getDecodedResponses(), is(2L));
+    }
+
+    private static byte[] gzip(byte[] content) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(content);
+        }
+        return output.toByteArray();
+    }
+
+}
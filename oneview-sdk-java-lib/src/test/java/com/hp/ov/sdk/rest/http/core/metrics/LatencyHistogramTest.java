@@ -0,0 +1,67 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.http.core.metrics;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void shouldMapEveryValueToTheBucketContainingIt() {
+        long[] values = {0, 1, 15, 16, 17, 31, 32, 33, 1000, 123456789L, Long.MAX_VALUE};
+
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            long lowest = LatencyHistogram.lowestValueOf(index);
+
+            assertThat(value, is(allOf(greaterThanOrEqualTo(lowest),
+                    lessThanOrEqualTo(lowest + (LatencyHistogram.widthOf(index) - 1)))));
+        }
+        assertThat(LatencyHistogram.indexOf(Long.MAX_VALUE), is(LatencyHistogram.indexOf(Long.MAX_VALUE - 1)));
+    }
+
+    @Test
+    public void shouldComputePercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount(), is(1000L));
+        assertThat(snapshot.getMean(), is(500.5));
+        assertThat(snapshot.getMax(), is(1000L));
+        assertThat(snapshot.getMedian(), is(allOf(greaterThanOrEqualTo(470L), lessThanOrEqualTo(530L))));
+        assertThat(snapshot.getPercentile99(), is(allOf(greaterThanOrEqualTo(930L), lessThanOrEqualTo(1050L))));
+    }
+
+    @Test
+    public void shouldReportEmptyHistogram() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertThat(snapshot.getCount(), is(0L));
+        assertThat(snapshot.getMean(), is(0.0));
+        assertThat(snapshot.getPercentile90(), is(0L));
+    }
+
+}
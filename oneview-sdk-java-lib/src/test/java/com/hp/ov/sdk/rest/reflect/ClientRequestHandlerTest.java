@@ -0,0 +1,178 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.reflect;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import com.google.common.reflect.Reflection;
+import com.hp.ov.sdk.dto.ResourceCollection;
+import com.hp.ov.sdk.exceptions.SDKErrorEnum;
+import com.hp.ov.sdk.exceptions.SDKResourceNotFoundException;
+import com.hp.ov.sdk.rest.client.BaseClient;
+import com.hp.ov.sdk.rest.http.core.URIQuery;
+import com.hp.ov.sdk.rest.http.core.client.Request;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClientRequestHandlerTest {
+
+    private static final String BASE_URI = "/rest/samples";
+    private static final List<String> MEMBERS = Arrays.asList("a", "b", "c", "d", "e", "f", "g");
+    private static final int PAGE_SIZE = 2;
+
+    @Mock
+    private BaseClient baseClient;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+    private final List<Integer> requestedStarts = Collections.synchronizedList(new ArrayList<Integer>());
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldFetchPagesSequentiallyWithoutPageExecutor() {
+        given(baseClient.executeRequest(any(Request.class), any(Type.class))).willAnswer(new PageAnswer());
+
+        ResourceCollection<String> collection = this.newClient().getAll();
+
+        assertThat(collection.getMembers(), is(MEMBERS));
+        assertThat(requestedStarts, contains(0, 2, 4, 6));
+    }
+
+    @Test
+    public void shouldComputePageOffsetsFromFirstPage() {
+        given(baseClient.getPageExecutor()).willReturn(executor);
+        given(baseClient.executeRequest(any(Request.class), any(Type.class))).willAnswer(new PageAnswer());
+
+        ResourceCollection<String> collection = this.newClient().getAll();
+
+        assertThat(collection.getMembers(), is(MEMBERS));
+        assertThat(collection.getTotal(), is(MEMBERS.size()));
+        assertThat(requestedStarts, containsInAnyOrder(0, 2, 4, 6));
+    }
+
+    @Test
+    public void shouldKeepOffsetOrderOfPagesCompletedOutOfOrder() {
+        final CountDownLatch lastPageSent = new CountDownLatch(1);
+
+        given(baseClient.getPageExecutor()).willReturn(executor);
+        given(baseClient.executeRequest(any(Request.class), any(Type.class))).willAnswer(new PageAnswer() {
+            @Override
+            ResourceCollection<String> page(int start) throws InterruptedException {
+                if (start == 2) {
+                    lastPageSent.await(5, TimeUnit.SECONDS);
+                } else if (start == 6) {
+                    lastPageSent.countDown();
+                }
+                return super.page(start);
+            }
+        });
+
+        ResourceCollection<String> collection = this.newClient().getAll();
+
+        assertThat(collection.getMembers(), is(MEMBERS));
+    }
+
+    @Test(expected = SDKResourceNotFoundException.class)
+    public void shouldPropagateFailureOfPage() {
+        given(baseClient.getPageExecutor()).willReturn(executor);
+        given(baseClient.executeRequest(any(Request.class), any(Type.class))).willAnswer(new PageAnswer() {
+            @Override
+            ResourceCollection<String> page(int start) throws InterruptedException {
+                if (start == 4) {
+                    throw new SDKResourceNotFoundException(SDKErrorEnum.resourceNotFound, null);
+                }
+                return super.page(start);
+            }
+        });
+
+        this.newClient().getAll();
+    }
+
+    private SampleClient newClient() {
+        return Reflection.newProxy(SampleClient.class,
+                new ClientRequestHandler<>(baseClient, SampleClient.class));
+    }
+
+    private class PageAnswer implements Answer<ResourceCollection<String>> {
+
+        @Override
+        public ResourceCollection<String> answer(InvocationOnMock invocation) throws Throwable {
+            String uri = ((Request) invocation.getArguments()[0]).getUri();
+            int start = 0;
+
+            if (uri.contains("?")) {
+                for (NameValuePair parameter : URLEncodedUtils.parse(uri.substring(uri.indexOf('?') + 1), null)) {
+                    if (URIQuery.START.equals(parameter.getName())) {
+                        start = Integer.parseInt(parameter.getValue());
+                    }
+                }
+            }
+            requestedStarts.add(start);
+
+            return this.page(start);
+        }
+
+        ResourceCollection<String> page(int start) throws InterruptedException {
+            ResourceCollection<String> page = new ResourceCollection<>();
+            int end = Math.min(start + PAGE_SIZE, MEMBERS.size());
+
+            page.setMembers(MEMBERS.subList(start, end));
+            page.setStart(start);
+            page.setTotal(MEMBERS.size());
+
+            if (end < MEMBERS.size()) {
+                page.setNextPageUri(BASE_URI + "?start=" + end + "&count=" + PAGE_SIZE);
+            }
+            return page;
+        }
+    }
+
+    @Api(BASE_URI)
+    interface SampleClient {
+
+        @Endpoint
+        ResourceCollection<String> getAll();
+
+    }
+
+}
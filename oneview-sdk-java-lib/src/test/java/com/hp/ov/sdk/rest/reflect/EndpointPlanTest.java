@@ -0,0 +1,112 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hp.ov.sdk.rest.reflect;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.google.common.reflect.Parameter;
+import com.hp.ov.sdk.rest.client.BaseClient;
+import com.hp.ov.sdk.rest.http.core.HttpMethod;
+import com.hp.ov.sdk.rest.http.core.RequestInterceptor;
+import com.hp.ov.sdk.rest.http.core.UrlParameter;
+import com.hp.ov.sdk.rest.http.core.client.Request;
+import com.hp.ov.sdk.rest.http.core.client.RequestOption;
+import com.hp.ov.sdk.rest.http.core.client.TaskTimeout;
+
+public class EndpointPlanTest {
+
+    private final ClientRequestHandler<SampleClient> handler = new ClientRequestHandler<>(
+            Mockito.mock(BaseClient.class), SampleClient.class);
+
+    @Test
+    public void shouldExpandPathParamsRegardlessOfTheirOrder() throws Exception {
+        Request request = handler.buildRequest(method("getPort", String.class, String.class),
+                new Object[] {"port$1", "random-UUID"});
+
+        assertThat(request.getUri(), is("/rest/samples/random-UUID/ports/port$1"));
+        assertThat(request.getType(), is(HttpMethod.GET));
+    }
+
+    @Test
+    public void shouldKeepUnboundUriVariables() throws Exception {
+        Request request = handler.buildRequest(method("getUnbound", String.class),
+                new Object[] {"random-UUID"});
+
+        assertThat(request.getUri(), is("/rest/samples/random-UUID/{unbound}"));
+    }
+
+    @Test
+    public void shouldReuseInterceptorsAcrossInvocations() throws Exception {
+        Method method = method("getByName", String.class, RequestOption[].class);
+
+        CountingInterceptor.INSTANCES.set(0);
+
+        Request first = handler.buildRequest(method,
+                new Object[] {"first", new RequestOption[] {TaskTimeout.of(1000)}});
+        Request second = handler.buildRequest(method,
+                new Object[] {"second", new RequestOption[0]});
+
+        assertThat(CountingInterceptor.INSTANCES.get(), is(1));
+        assertThat(first.getQuery(), contains(new UrlParameter("name", "first")));
+        assertThat(first.getTimeout(), is(1000));
+        assertThat(second.getQuery(), contains(new UrlParameter("name", "second")));
+        assertThat(second.isForceReturnTask(), is(true));
+    }
+
+    private static Method method(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return SampleClient.class.getMethod(name, parameterTypes);
+    }
+
+    @Api("/rest/samples")
+    interface SampleClient {
+
+        @Endpoint(uri = "/{resourceId}/ports/{portName}")
+        Object getPort(@PathParam("portName") String portName, @PathParam("resourceId") String resourceId);
+
+        @Endpoint(uri = "/{resourceId}/{unbound}")
+        Object getUnbound(@PathParam("resourceId") String resourceId);
+
+        @Endpoint(requestInterceptor = CountingInterceptor.class)
+        Object getByName(@QueryParam(key = "name") String name, RequestOption ... options);
+
+    }
+
+    static class CountingInterceptor implements RequestInterceptor {
+
+        static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        public CountingInterceptor() {
+            INSTANCES.incrementAndGet();
+        }
+
+        @Override
+        public Request intercept(Request request, List<Parameter> params, Object[] args) {
+            request.setForceReturnTask(true);
+
+            return request;
+        }
+    }
+
+}
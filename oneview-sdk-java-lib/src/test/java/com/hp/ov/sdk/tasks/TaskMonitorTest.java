@@ -0,0 +1,137 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.tasks;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.hp.ov.sdk.constants.SdkConstants;
+import com.hp.ov.sdk.dto.TaskResource;
+import com.hp.ov.sdk.dto.TaskState;
+import com.hp.ov.sdk.exceptions.SDKTasksException;
+import com.hp.ov.sdk.messaging.scmb.ScmbMessage;
+import com.hp.ov.sdk.rest.client.BaseClient;
+import com.hp.ov.sdk.rest.http.core.client.Request;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TaskMonitorTest {
+
+    private static final String ANY_TASK_URI = "/rest/tasks/random-UUID";
+
+    @Mock
+    private BaseClient client;
+
+    @Test
+    public void shouldStopMonitoringWhenTaskReachesFinalState() {
+        given(client.executeRequest(any(Request.class), eq(TaskResource.class)))
+                .willReturn(task(TaskState.Running, 10), task(TaskState.Warning, 50));
+
+        TaskResource result = new TaskMonitor(1, 1).execute(client, task(TaskState.Running, 0),
+                SdkConstants.NO_TASK_TIMEOUT);
+
+        assertThat(result.getTaskState(), is(TaskState.Warning));
+        then(client).should(times(2)).executeRequest(any(Request.class), eq(TaskResource.class));
+    }
+
+    @Test
+    public void shouldNotPollTaskAlreadyFinishedWithDefaultIntervals() {
+        TaskResource result = new TaskMonitor().execute(client, task(TaskState.Completed, 100),
+                SdkConstants.NO_TASK_TIMEOUT);
+
+        assertThat(result.getTaskState(), is(TaskState.Completed));
+        then(client).should(never()).executeRequest(any(Request.class), eq(TaskResource.class));
+    }
+
+    @Test
+    public void shouldWakeUpWhenTaskChangeIsNotified() {
+        final TaskChangeNotifier notifier = new TaskChangeNotifier();
+
+        given(client.getTaskChangeNotifier()).willReturn(notifier);
+        given(client.executeRequest(any(Request.class), eq(TaskResource.class)))
+                .willReturn(task(TaskState.Running, 10), task(TaskState.Completed, 100));
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ScmbMessage message = new ScmbMessage();
+
+                message.setResourceUri(ANY_TASK_URI);
+                notifier.handleMessage(message);
+            }
+        }).start();
+
+        long start = System.currentTimeMillis();
+        TaskResource result = new TaskMonitor(60000, 60000).execute(client, task(TaskState.Running, 0),
+                SdkConstants.NO_TASK_TIMEOUT);
+
+        assertThat(result.getTaskState(), is(TaskState.Completed));
+        assertThat(System.currentTimeMillis() - start, is(lessThan(30000L)));
+    }
+
+    @Test
+    public void shouldStopMonitoringWhenInterrupted() {
+        given(client.executeRequest(any(Request.class), eq(TaskResource.class)))
+                .willReturn(task(TaskState.Running, 10));
+
+        Thread.currentThread().interrupt();
+
+        try {
+            new TaskMonitor(60000, 60000).execute(client, task(TaskState.Running, 0),
+                    SdkConstants.NO_TASK_TIMEOUT);
+            fail("Exception should have been raised");
+        } catch (SDKTasksException e) {
+            assertThat(Thread.interrupted(), is(true));
+        }
+    }
+
+    @Test(expected = SDKTasksException.class)
+    public void shouldThrowExceptionWhenTaskTimeoutIsExceeded() {
+        given(client.executeRequest(any(Request.class), eq(TaskResource.class)))
+                .willReturn(task(TaskState.Running, 10));
+
+        new TaskMonitor(1, 1).execute(client, task(TaskState.Running, 0), 50);
+    }
+
+    private static TaskResource task(TaskState state, int percentComplete) {
+        TaskResource task = new TaskResource();
+
+        task.setUri(ANY_TASK_URI);
+        task.setTaskState(state);
+        task.setPercentComplete(percentComplete);
+
+        return task;
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.tasks;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.hp.ov.sdk.dto.ResourceCollection;
+import com.hp.ov.sdk.dto.TaskResource;
+import com.hp.ov.sdk.dto.TaskState;
+import com.hp.ov.sdk.exceptions.SDKTasksException;
+import com.hp.ov.sdk.rest.client.BaseClient;
+import com.hp.ov.sdk.rest.http.core.UrlParameter;
+import com.hp.ov.sdk.rest.http.core.client.Request;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TaskWaiterTest {
+
+    private static final String ANY_TASK_URI = "/rest/tasks/random-UUID-1";
+    private static final String ANOTHER_TASK_URI = "/rest/tasks/random-UUID-2";
+
+    @Mock
+    private BaseClient client;
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    private TaskWaiter waiter;
+
+    @Before
+    public void setUp() {
+        this.waiter = new TaskWaiter(client, scheduler, 1000);
+    }
+
+    @Test
+    public void shouldQueryAllPendingTasksWithSingleRequest() throws Exception {
+        given(client.executeRequest(any(Request.class), any(Type.class))).willReturn(
+                collection(task(ANY_TASK_URI, TaskState.Running), task(ANOTHER_TASK_URI, TaskState.Running)),
+                collection(task(ANY_TASK_URI, TaskState.Completed), task(ANOTHER_TASK_URI, TaskState.Completed)));
+
+        ListenableFuture<List<TaskResource>> future = this.waiter.watchAll(Arrays.asList(
+                task(ANY_TASK_URI, TaskState.Running), task(ANOTHER_TASK_URI, TaskState.Starting)));
+
+        this.waiter.poll();
+        assertThat(future.isDone(), is(false));
+
+        this.waiter.poll();
+        assertThat(future.isDone(), is(true));
+        assertThat(future.get().get(0).getUri(), is(ANY_TASK_URI));
+        assertThat(future.get().get(1).getUri(), is(ANOTHER_TASK_URI));
+
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+
+        then(client).should(times(2)).executeRequest(request.capture(), any(Type.class));
+        UrlParameter filter = request.getValue().getQuery().get(0);
+
+        assertThat(filter.getValue(), containsString("uri='" + ANY_TASK_URI + "'"));
+        assertThat(filter.getValue(), containsString(" OR "));
+        assertThat(filter.getValue(), containsString("uri='" + ANOTHER_TASK_URI + "'"));
+        assertThat(request.getValue().getQuery().get(1), is(new UrlParameter("count", "2")));
+    }
+
+    @Test
+    public void shouldFailFutureWhenTaskEndsInError() throws Exception {
+        given(client.executeRequest(any(Request.class), any(Type.class))).willReturn(
+                collection(task(ANY_TASK_URI, TaskState.Error)));
+
+        ListenableFuture<TaskResource> future = this.waiter.watch(task(ANY_TASK_URI, TaskState.Running));
+
+        this.waiter.poll();
+
+        try {
+            future.get();
+            fail("Exception should have been raised");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(SDKTasksException.class)));
+        }
+    }
+
+    @Test
+    public void shouldCompleteFinishedTaskWithoutPolling() throws Exception {
+        ListenableFuture<TaskResource> future = this.waiter.watch(task(ANY_TASK_URI, TaskState.Completed));
+
+        assertThat(future.get().getTaskState(), is(TaskState.Completed));
+        verifyZeroInteractions(scheduler);
+    }
+
+    private static ResourceCollection<TaskResource> collection(TaskResource... tasks) {
+        ResourceCollection<TaskResource> collection = new ResourceCollection<>();
+
+        collection.setMembers(Arrays.asList(tasks));
+        collection.setCount(tasks.length);
+
+        return collection;
+    }
+
+    private static TaskResource task(String uri, TaskState state) {
+        TaskResource task = new TaskResource();
+
+        task.setUri(uri);
+        task.setTaskState(state);
+        task.setPercentComplete(0);
+
+        return task;
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hp.ov.sdk.util;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.hp.ov.sdk.dto.fcsans.SanResponse;
+import com.hp.ov.sdk.dto.fcsans.ZoningState;
+import com.hp.ov.sdk.dto.networking.interconnect.FcStatistics;
+import com.hp.ov.sdk.dto.networking.interconnect.Interconnect;
+import com.hp.ov.sdk.dto.networking.interconnect.PowerStatus;
+import com.hp.ov.sdk.dto.networking.logicalinterconnectgroup.LogicalInterconnectGroup;
+import com.hp.ov.sdk.dto.servers.enclosure.Enclosure;
+import com.hp.ov.sdk.dto.servers.enclosure.InterconnectBay;
+import com.hp.ov.sdk.dto.servers.enclosure.UidState;
+import com.hp.ov.sdk.dto.servers.serverhardware.PhysicalServerPowerState;
+import com.hp.ov.sdk.dto.servers.serverhardware.ServerHardware;
+
+public class ObjectToJsonConverterTest {
+
+    private static final String SINCE_200_FIELD = "\"fabricUri\"";
+
+    private final ObjectToJsonConverter converter = ObjectToJsonConverter.getInstance();
+
+    @Test
+    public void shouldSerializeAccordingToEachApiVersion() {
+        LogicalInterconnectGroup group = new LogicalInterconnectGroup();
+
+        group.setFabricUri("/rest/fabrics/random-UUID");
+
+        assertThat(converter.resourceToJson(group, 200), containsString(SINCE_200_FIELD));
+        assertThat(converter.resourceToJson(group, 120), not(containsString(SINCE_200_FIELD)));
+        assertThat(converter.resourceToJson(group, 300), containsString(SINCE_200_FIELD));
+    }
+
+    @Test
+    public void shouldSerializeWithUnlistedApiVersion() {
+        LogicalInterconnectGroup group = new LogicalInterconnectGroup();
+
+        group.setFabricUri("/rest/fabrics/random-UUID");
+
+        assertThat(converter.resourceToJson(group, 100), not(containsString(SINCE_200_FIELD)));
+        assertThat(converter.resourceToJson(group, 250), containsString(SINCE_200_FIELD));
+    }
+
+    @Test
+    public void shouldReadGeneratedAdapterResourcesAsTheyAreWritten() {
+        ServerHardware serverHardware = new ServerHardware();
+
+        serverHardware.setName("random-Name");
+        serverHardware.setETag("random-ETag");
+        serverHardware.setModified(new Date(1234567890123L));
+        serverHardware.setMemoryMb(32768);
+        serverHardware.setPowerState(PhysicalServerPowerState.On);
+        serverHardware.setScopeUris(Arrays.asList("/rest/scopes/random-UUID"));
+
+        String json = converter.resourceToJson(serverHardware, 300);
+
+        assertThat(converter.jsonToResource(json, ServerHardware.class), is(serverHardware));
+    }
+
+    @Test
+    public void shouldReadGeneratedAdapterEnclosuresAsTheyAreWritten() {
+        Enclosure enclosure = new Enclosure();
+        InterconnectBay bay = new InterconnectBay();
+
+        bay.setBayNumber(1);
+        bay.setInterconnectUri("/rest/interconnects/random-UUID");
+
+        enclosure.setName("random-Name");
+        enclosure.setUuid("random-UUID");
+        enclosure.setFanBayCount(10);
+        enclosure.setVcmMode(Boolean.TRUE);
+        enclosure.setUidState(UidState.Blink);
+        enclosure.setInterconnectBays(Arrays.asList(bay));
+
+        String json = converter.resourceToJson(enclosure, 300);
+
+        assertThat(converter.jsonToResource(json, Enclosure.class), is(enclosure));
+    }
+
+    @Test
+    public void shouldReadGeneratedAdapterInterconnectsAsTheyAreWritten() {
+        Interconnect interconnect = new Interconnect();
+
+        interconnect.setName("random-Name");
+        interconnect.setModified(new Date(1234567890123L));
+        interconnect.setPortCount(8);
+        interconnect.setPowerStatus(PowerStatus.On);
+        interconnect.setEnableIgmpSnooping(Boolean.FALSE);
+        interconnect.setRoles(Arrays.asList("random-Role", "other-Role"));
+
+        String json = converter.resourceToJson(interconnect, 300);
+
+        assertThat(converter.jsonToResource(json, Interconnect.class), is(interconnect));
+    }
+
+    @Test
+    public void shouldReadGeneratedAdapterSansAsTheyAreWritten() {
+        SanResponse san = new SanResponse();
+
+        san.setName("random-Name");
+        san.setvLanId(100);
+        san.setIsFcoeCapable(Boolean.TRUE);
+        san.setZoneCount(3);
+        san.setZoningState(ZoningState.Zoned);
+
+        String json = converter.resourceToJson(san, 300);
+
+        assertThat(converter.jsonToResource(json, SanResponse.class), is(san));
+    }
+
+    @Test
+    public void shouldReadGeneratedAdapterStatisticsAsTheyAreWritten() {
+        FcStatistics statistics = new FcStatistics();
+
+        statistics.setFcTotalRxBytes(new BigInteger("18446744073709551615"));
+        statistics.setExtendedStatistics(Collections.singletonMap("random-Key", "random-Value"));
+
+        FcStatistics result = converter.jsonToResource(converter.resourceToJson(statistics, 300), FcStatistics.class);
+
+        assertThat(result.getFcTotalRxBytes(), is(statistics.getFcTotalRxBytes()));
+        assertThat(result.getExtendedStatistics(), is(statistics.getExtendedStatistics()));
+        assertThat(result.getFcTotalTxBytes(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldSkipUnknownPropertiesWithGeneratedAdapters() {
+        ServerHardware serverHardware = converter.jsonToResource(
+                "{\"unknown\":{\"nested\":[1,2]},\"name\":\"random-Name\",\"scopeUris\":null}",
+                ServerHardware.class);
+
+        assertThat(serverHardware.getName(), is("random-Name"));
+        assertThat(serverHardware.getScopeUris(), is(nullValue()));
+    }
+
+}
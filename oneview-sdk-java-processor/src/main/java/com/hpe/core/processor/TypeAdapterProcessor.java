@@ -0,0 +1,362 @@
+/*
+ * (C) Copyright 2016 Hewlett Packard Enterprise Development LP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hpe.core.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates, for each class annotated with {@link GenerateTypeAdapter}, a Gson
+ * {@code TypeAdapter} that reads the JSON representation of the class with a streaming
+ * parser and plain setter calls, instead of the reflection based adapter of Gson.
+ *
+ * <p>Only the read side is generated: writing is delegated to the adapter Gson would
+ * otherwise use, so the serialized payloads (and the {@code @Since}/{@code @Until}
+ * versioning applied to them) stay exactly the same.
+ *
+ * <p>All the generated adapters are registered in a single {@code TypeAdapterFactory},
+ * named after the {@value #FACTORY_OPTION} option (by default {@value #DEFAULT_FACTORY}).
+ */
+@SupportedAnnotationTypes("com.hpe.core.processor.GenerateTypeAdapter")
+@SupportedOptions(TypeAdapterProcessor.FACTORY_OPTION)
+public class TypeAdapterProcessor extends AbstractProcessor {
+
+    static final String FACTORY_OPTION = "oneview.typeAdapterFactory";
+    static final String DEFAULT_FACTORY = "com.hp.ov.sdk.adaptors.GeneratedTypeAdapterFactory";
+
+    private static final String ADAPTER_SUFFIX = "TypeAdapter";
+
+    private final Set<String> adaptedTypes = new TreeSet<>();
+    private boolean factoryWritten;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        boolean generated = false;
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateTypeAdapter.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                this.error(element, "@GenerateTypeAdapter can only be applied to classes");
+            } else if (this.generateAdapter((TypeElement) element)) {
+                this.adaptedTypes.add(((TypeElement) element).getQualifiedName().toString());
+                generated = true;
+            }
+        }
+
+        // every annotated resource is a source file of the same compilation, so they
+        // are all seen in the first round, where the factory can still be compiled
+        if (generated && !this.factoryWritten) {
+            this.generateFactory();
+            this.factoryWritten = true;
+        }
+        return true;
+    }
+
+    private boolean generateAdapter(TypeElement type) {
+        if (!this.hasPublicNoArgConstructor(type)) {
+            this.error(type, "A public no-argument constructor is required to generate a type adapter");
+            return false;
+        }
+
+        Map<VariableElement, ExecutableElement> setters = new LinkedHashMap<>();
+
+        for (VariableElement field : this.serializableFields(type)) {
+            ExecutableElement setter = this.findSetter(type, field);
+
+            if (setter == null) {
+                this.error(field, "A public setter is required for field " + field.getSimpleName()
+                        + " to generate a type adapter");
+                return false;
+            }
+            if (!this.isConcrete(field.asType())) {
+                this.error(field, "Field " + field.getSimpleName() + " has a type that depends on a type variable");
+                return false;
+            }
+            setters.put(field, setter);
+        }
+
+        String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String adapterName = type.getSimpleName() + ADAPTER_SUFFIX;
+
+        StringBuilder source = new StringBuilder();
+
+        source.append("package ").append(packageName).append(";\n\n")
+                .append("import java.io.IOException;\n\n")
+                .append("import com.google.gson.Gson;\n")
+                .append("import com.google.gson.TypeAdapter;\n")
+                .append("import com.google.gson.reflect.TypeToken;\n")
+                .append("import com.google.gson.stream.JsonReader;\n")
+                .append("import com.google.gson.stream.JsonToken;\n")
+                .append("import com.google.gson.stream.JsonWriter;\n\n")
+                .append("/**\n")
+                .append(" * Streaming type adapter for {@link ").append(typeName).append("}.\n")
+                .append(" * Generated by {@code ").append(TypeAdapterProcessor.class.getName())
+                .append("}, do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(adapterName)
+                .append(" extends TypeAdapter<").append(typeName).append("> {\n\n")
+                .append("    private final TypeAdapter<").append(typeName).append("> delegate;\n");
+
+        for (VariableElement field : setters.keySet()) {
+            source.append("    private final TypeAdapter<").append(this.boxedName(field.asType())).append("> ")
+                    .append(this.adapterField(field)).append(";\n");
+        }
+
+        source.append("\n    public ").append(adapterName).append("(Gson gson, TypeAdapter<")
+                .append(typeName).append("> delegate) {\n")
+                .append("        this.delegate = delegate;\n");
+
+        for (VariableElement field : setters.keySet()) {
+            source.append("        this.").append(this.adapterField(field)).append(" = gson.getAdapter(")
+                    .append(this.typeLiteral(field.asType())).append(");\n");
+        }
+
+        source.append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void write(JsonWriter out, ").append(typeName)
+                .append(" value) throws IOException {\n")
+                .append("        this.delegate.write(out, value);\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public ").append(typeName).append(" read(JsonReader in) throws IOException {\n")
+                .append("        if (in.peek() == JsonToken.NULL) {\n")
+                .append("            in.nextNull();\n")
+                .append("            return null;\n")
+                .append("        }\n\n")
+                .append("        ").append(typeName).append(" value = new ").append(typeName).append("();\n\n")
+                .append("        in.beginObject();\n\n")
+                .append("        while (in.hasNext()) {\n")
+                .append("            switch (in.nextName()) {\n");
+
+        for (Map.Entry<VariableElement, ExecutableElement> entry : setters.entrySet()) {
+            VariableElement field = entry.getKey();
+            String read = "this." + this.adapterField(field) + ".read(in)";
+
+            source.append("            case \"").append(field.getSimpleName()).append("\": {\n");
+
+            if (field.asType().getKind().isPrimitive()) {
+                // as with the reflective adapter, a null value leaves primitive fields untouched
+                source.append("                ").append(this.boxedName(field.asType()))
+                        .append(" fieldValue = ").append(read).append(";\n\n")
+                        .append("                if (fieldValue != null) {\n")
+                        .append("                    value.").append(entry.getValue().getSimpleName())
+                        .append("(fieldValue);\n")
+                        .append("                }\n");
+            } else {
+                source.append("                value.").append(entry.getValue().getSimpleName())
+                        .append("(").append(read).append(");\n");
+            }
+            source.append("                break;\n")
+                    .append("            }\n");
+        }
+
+        source.append("            default:\n")
+                .append("                in.skipValue();\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("        in.endObject();\n\n")
+                .append("        return value;\n")
+                .append("    }\n\n")
+                .append("}\n");
+
+        return this.writeSource(packageName + "." + adapterName, source, type);
+    }
+
+    private void generateFactory() {
+        String factoryName = this.processingEnv.getOptions().get(FACTORY_OPTION);
+
+        if (factoryName == null) {
+            factoryName = DEFAULT_FACTORY;
+        }
+
+        int separator = factoryName.lastIndexOf('.');
+        StringBuilder source = new StringBuilder();
+
+        if (separator > 0) {
+            source.append("package ").append(factoryName.substring(0, separator)).append(";\n\n");
+        }
+
+        source.append("import com.google.gson.Gson;\n")
+                .append("import com.google.gson.TypeAdapter;\n")
+                .append("import com.google.gson.TypeAdapterFactory;\n")
+                .append("import com.google.gson.reflect.TypeToken;\n\n")
+                .append("/**\n")
+                .append(" * Provides the type adapters generated for the classes annotated with\n")
+                .append(" * {@code @").append(GenerateTypeAdapter.class.getName()).append("}.\n")
+                .append(" * Generated by {@code ").append(TypeAdapterProcessor.class.getName())
+                .append("}, do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(factoryName.substring(separator + 1))
+                .append(" implements TypeAdapterFactory {\n\n")
+                .append("    @Override\n")
+                .append("    @SuppressWarnings(\"unchecked\")\n")
+                .append("    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {\n")
+                .append("        Class<? super T> rawType = type.getRawType();\n\n");
+
+        for (String typeName : this.adaptedTypes) {
+            source.append("        if (rawType == ").append(typeName).append(".class) {\n")
+                    .append("            return (TypeAdapter<T>) new ").append(typeName).append(ADAPTER_SUFFIX)
+                    .append("(gson, gson.getDelegateAdapter(this, TypeToken.get(")
+                    .append(typeName).append(".class)));\n")
+                    .append("        }\n");
+        }
+
+        source.append("        return null;\n")
+                .append("    }\n\n")
+                .append("}\n");
+
+        this.writeSource(factoryName, source, null);
+    }
+
+    private List<VariableElement> serializableFields(TypeElement type) {
+        List<VariableElement> fields = new ArrayList<>();
+        TypeElement current = type;
+
+        while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+
+                if (!modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.TRANSIENT)) {
+                    fields.add(field);
+                }
+            }
+
+            TypeMirror superclass = current.getSuperclass();
+
+            current = (superclass.getKind() == TypeKind.DECLARED)
+                    ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return fields;
+    }
+
+    /*
+     * Setters are matched ignoring case, since fields such as eTag have setters like setETag.
+     */
+    private ExecutableElement findSetter(TypeElement type, VariableElement field) {
+        String setterName = "set" + field.getSimpleName();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(
+                this.processingEnv.getElementUtils().getAllMembers(type))) {
+
+            if (method.getSimpleName().toString().equalsIgnoreCase(setterName)
+                    && method.getModifiers().contains(Modifier.PUBLIC)
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && method.getParameters().size() == 1
+                    && this.processingEnv.getTypeUtils().isSameType(
+                            method.getParameters().get(0).asType(), field.asType())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasPublicNoArgConstructor(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isConcrete(TypeMirror type) {
+        switch (type.getKind()) {
+        case TYPEVAR:
+            return false;
+        case ARRAY:
+            return this.isConcrete(((ArrayType) type).getComponentType());
+        case DECLARED:
+            for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+                if (argument.getKind() != TypeKind.WILDCARD && !this.isConcrete(argument)) {
+                    return false;
+                }
+            }
+            return true;
+        default:
+            return true;
+        }
+    }
+
+    private String adapterField(VariableElement field) {
+        return field.getSimpleName() + "Adapter";
+    }
+
+    private String boxedName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return this.processingEnv.getTypeUtils().boxedClass(
+                    this.processingEnv.getTypeUtils().getPrimitiveType(type.getKind())).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    private String typeLiteral(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty()) {
+            return "new TypeToken<" + type + ">() {}";
+        }
+        return this.processingEnv.getTypeUtils().erasure(type) + ".class";
+    }
+
+    private boolean writeSource(String name, CharSequence source, Element originatingElement) {
+        try (Writer writer = (originatingElement == null)
+                ? this.processingEnv.getFiler().createSourceFile(name).openWriter()
+                : this.processingEnv.getFiler().createSourceFile(name, originatingElement).openWriter()) {
+
+            writer.write(source.toString());
+            return true;
+        } catch (IOException e) {
+            this.error(originatingElement, "Could not write " + name + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void error(Element element, String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+}
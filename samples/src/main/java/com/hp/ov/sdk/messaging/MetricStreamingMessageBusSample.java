@@ -16,12 +16,15 @@
 
 package com.hp.ov.sdk.messaging;
 
+import java.util.Date;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.hp.ov.sdk.OneViewClientSample;
 import com.hp.ov.sdk.messaging.core.MessageBusClient;
 import com.hp.ov.sdk.messaging.msmb.MsmbMessage;
+import com.hp.ov.sdk.messaging.msmb.MetricsStore;
 import com.hp.ov.sdk.messaging.msmb.MsmbMessageHandler;
 import com.hp.ov.sdk.rest.client.OneViewClient;
 import com.hp.ov.sdk.rest.http.core.client.SDKConfiguration;
@@ -32,6 +35,8 @@ public class MetricStreamingMessageBusSample {
     private static final Logger LOGGER = LoggerFactory.getLogger(MetricStreamingMessageBusSample.class);
 
     private final MessageBusClient client;
+    // keeps up to 720 samples (e.g. one hour of 5 seconds samples) of each metric
+    private final MetricsStore store = new MetricsStore(720);
 
     public MetricStreamingMessageBusSample() {
         OneViewClientSample sample = new OneViewClientSample();
@@ -51,6 +56,19 @@ public class MetricStreamingMessageBusSample {
         });
     }
 
+    private void storeMetricStreamingMessageBus() {
+        this.client.addMsmbHandler("msmb.#", this.store);
+    }
+
+    private void logStoredMetrics(Date from, Date to) {
+        for (String resourceId : this.store.getResourceIds()) {
+            for (String metricName : this.store.getMetricNames(resourceId)) {
+                LOGGER.info("{} {}: {}", resourceId, metricName,
+                        this.store.statistics(resourceId, metricName, from, to));
+            }
+        }
+    }
+
     private void disconnect() {
         this.client.disconnect();
     }
@@ -58,10 +76,14 @@ public class MetricStreamingMessageBusSample {
     public static void main(String[] args) throws InterruptedException {
         MetricStreamingMessageBusSample sample = new MetricStreamingMessageBusSample();
 
+        Date start = new Date();
+
         sample.subscribeToMetricStreamingMessageBus();
+        sample.storeMetricStreamingMessageBus();
 
         Thread.sleep(10 * 60 * 1000); //waits 10 minutes
 
+        sample.logStoredMetrics(start, new Date());
         sample.disconnect();
     }
 
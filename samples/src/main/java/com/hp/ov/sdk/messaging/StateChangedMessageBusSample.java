@@ -25,6 +25,7 @@ import com.google.gson.JsonParser;
 import com.hp.ov.sdk.OneViewClientSample;
 import com.hp.ov.sdk.dto.TaskResource;
 import com.hp.ov.sdk.dto.networking.fcnetworks.FcNetwork;
+import com.hp.ov.sdk.messaging.core.ConsumerOptions;
 import com.hp.ov.sdk.messaging.core.MessageBusClient;
 import com.hp.ov.sdk.messaging.scmb.ScmbMessage;
 import com.hp.ov.sdk.messaging.scmb.ScmbMessageHandler;
@@ -80,6 +81,13 @@ public class StateChangedMessageBusSample {
     }
 
     private void subscribeToAllCreatedResourcesMessageBus() {
+        // handles bursts of messages on 4 threads, acknowledging them once handled
+        ConsumerOptions options = ConsumerOptions.create()
+                .withPrefetchCount(200)
+                .withHandlerThreads(4)
+                .withManualAck(20)
+                .build();
+
         this.client.addScmbHandler("scmb.*.Created.#", new ScmbMessageHandler() {
             @Override
             public void handleMessage(ScmbMessage message) {
@@ -90,7 +98,7 @@ public class StateChangedMessageBusSample {
                 LOGGER.info("Created resource message received in State-Changed Message Bus: {}",
                         JsonPrettyPrinter.print(element));
             }
-        });
+        }, options);
     }
 
     private void disconnect() {